@@ -1,5 +1,11 @@
 package com.jvyou.mybatis.annotations;
 
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheBuilder;
+import com.jvyou.mybatis.cache.Eviction;
+import com.jvyou.mybatis.cache.PerpetualCache;
+import com.jvyou.mybatis.cache.ReferenceType;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -14,4 +20,51 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface CacheNamespace {
+
+    /**
+     * 缓存的实现类，需要有一个参数为缓存 ID 的构造方法。
+     * 不是 PerpetualCache 时由实现类自己控制容量，size、eviction、references 不生效
+     */
+    Class<? extends Cache> implementation() default PerpetualCache.class;
+
+    /**
+     * 设置到实现类上的属性
+     */
+    Property[] properties() default {};
+
+    /**
+     * 最多缓存的条目数量
+     */
+    int size() default CacheBuilder.DEFAULT_SIZE;
+
+    /**
+     * 缓存满了之后的淘汰策略
+     */
+    Eviction eviction() default Eviction.LRU;
+
+    /**
+     * 缓存值的引用类型，SOFT、WEAK 允许垃圾回收器在内存紧张时回收缓存
+     */
+    ReferenceType references() default ReferenceType.STRONG;
+
+    /**
+     * 定时清空的间隔，单位毫秒，默认 0 表示不定时清空
+     */
+    long flushInterval() default 0;
+
+    /**
+     * 是否合并并发的未命中，同一个键只有一个线程查询数据库，其他线程等待它的结果
+     */
+    boolean blocking() default false;
+
+    /**
+     * 合并未命中时等待的最长时间，单位毫秒，超时后自己查询数据库
+     */
+    long blockingTimeout() default CacheBuilder.DEFAULT_BLOCKING_TIMEOUT;
+
+    /**
+     * 是否在内存缓存之后加一级持久化缓存，进程重启后仍然可以命中，缓存值和参数值需要可以序列化
+     */
+    boolean persistent() default false;
+
 }
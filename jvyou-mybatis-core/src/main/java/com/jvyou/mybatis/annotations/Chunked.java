@@ -0,0 +1,30 @@
+package com.jvyou.mybatis.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 19:50
+ * ---description 把集合参数拆分成多批执行
+ * 集合元素个数超过 size 时，每批传入 size 个元素执行一次语句，查询结果合并成一个集合，增删改的影响行数累加。
+ * 所有批次在同一个会话中执行，并复用同一个预编译语句，避免一次传入几万个参数超过驱动的占位符上限
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Chunked {
+
+    /**
+     * 每批的元素个数
+     */
+    int size() default 1000;
+
+    /**
+     * 要拆分的参数名称（Param 注解的值或参数名），默认拆分第一个集合或数组参数
+     */
+    String param() default "";
+
+}
@@ -0,0 +1,18 @@
+package com.jvyou.mybatis.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 16:30
+ * ---description Mapper 接口标记注解
+ * 方法上带有 Select、Insert、Update、Delete 注解的接口会自动生成实现类，SQL 只写在 XML 中的接口需要加上这个注解
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Mapper {
+}
@@ -0,0 +1,36 @@
+package com.jvyou.mybatis.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 11:10
+ * ---description 映射语句的附加选项
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Options {
+
+    /**
+     * 每次从数据库获取的行数，默认 -1 表示使用全局配置；
+     * MySQL 需要设置为 Integer.MIN_VALUE 才会逐行流式读取
+     */
+    int fetchSize() default -1;
+
+    /**
+     * 二级缓存条目的存活时间，单位毫秒，默认 0 表示一直有效，直到依赖的表被写入；
+     * 能够容忍一段时间旧数据的查询（如字典数据）可以设置，超过后重新查询数据库
+     */
+    long cacheTtl() default 0;
+
+    /**
+     * 在过期前多少毫秒提前刷新，默认 0 表示不提前刷新，需要同时设置 cacheTtl。
+     * 条目进入这段时间后被命中时仍然返回旧的结果，同时在后台重新查询
+     */
+    long refreshAhead() default 0;
+
+}
@@ -0,0 +1,28 @@
+package com.jvyou.mybatis.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 22:45
+ * ---description 缓存实现类的属性，通过 setter 设置，值按属性类型转换
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({})
+public @interface Property {
+
+    /**
+     * 属性名称
+     */
+    String name();
+
+    /**
+     * 属性值
+     */
+    String value();
+
+}
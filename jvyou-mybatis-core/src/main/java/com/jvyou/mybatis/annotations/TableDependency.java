@@ -0,0 +1,25 @@
+package com.jvyou.mybatis.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 21:45
+ * ---description 声明语句依赖的表，代替从 SQL 中扫描出来的表名
+ * 查询语句是读取的表，增删改语句是写入的表。二级缓存按表失效，表名使用 ${} 拼接、
+ * 通过视图读取或者由触发器写入其他表时需要手动声明，否则缓存可能读到旧数据
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface TableDependency {
+
+    /**
+     * 表名，不区分大小写
+     */
+    String[] value();
+
+}
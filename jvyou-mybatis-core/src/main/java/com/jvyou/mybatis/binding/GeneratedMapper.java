@@ -0,0 +1,68 @@
+package com.jvyou.mybatis.binding;
+
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+import com.jvyou.mybatis.session.SqlSession;
+
+import java.lang.reflect.Method;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 16:30
+ * ---description 编译期生成的 Mapper 实现类的父类
+ * 实现类的每个方法按下标直接调用对应的 MapperMethod，不再经过动态代理和 InvocationHandler，
+ * MapperMethod 在第一次调用时创建，同一个接口的所有实现类对象共享
+ */
+public abstract class GeneratedMapper {
+
+    protected final SqlSession sqlSession;
+
+    private final MapperMethod[] methods;
+
+    protected GeneratedMapper(SqlSession sqlSession, MapperMethod[] methods) {
+        this.sqlSession = sqlSession;
+        this.methods = methods;
+    }
+
+    /**
+     * 执行 Mapper 方法
+     *
+     * @param index 方法下标，由生成的代码传入
+     * @param args  方法参数
+     * @return 方法返回值
+     */
+    protected final Object execute(int index, Object[] args) {
+        MapperMethod method = methods[index];
+        if (method == null) {
+            // MapperMethod 的字段都是 final 的，多个线程同时创建时后写入的覆盖先写入的即可
+            method = createMethod(index);
+            methods[index] = method;
+        }
+        return method.execute(sqlSession, args);
+    }
+
+    /**
+     * 创建方法下标对应的 MapperMethod，由生成的代码实现
+     *
+     * @param index 方法下标
+     * @return MapperMethod
+     */
+    protected abstract MapperMethod createMethod(int index);
+
+    /**
+     * 获取接口方法，参数名称需要在运行时解析的方法由生成的代码通过它创建 MapperMethod
+     *
+     * @param type           Mapper 接口
+     * @param name           方法名
+     * @param parameterTypes 擦除后的参数类型
+     * @return 接口方法
+     */
+    protected static Method getMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new JvyouMybatisException("Mapper method " + type.getName() + "." + name + " not found, nested exception is:\n" + e, e);
+        }
+    }
+
+}
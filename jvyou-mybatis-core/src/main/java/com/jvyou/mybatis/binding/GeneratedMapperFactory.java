@@ -0,0 +1,28 @@
+package com.jvyou.mybatis.binding;
+
+import com.jvyou.mybatis.session.SqlSession;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 16:30
+ * ---description 编译期生成的 Mapper 实现类工厂
+ * 生成的实现类名为 接口名_Impl，工厂是其中名为 Factory 的静态内部类
+ */
+public interface GeneratedMapperFactory<T> {
+
+    /**
+     * 接口中需要实现的方法数量
+     */
+    int getMethodCount();
+
+    /**
+     * 创建实现类对象
+     *
+     * @param sqlSession SqlSession
+     * @param methods    同一个接口共享的 MapperMethod 数组
+     * @return 实现类对象
+     */
+    T newInstance(SqlSession sqlSession, MapperMethod[] methods);
+
+}
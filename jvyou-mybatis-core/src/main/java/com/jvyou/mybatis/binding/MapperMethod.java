@@ -0,0 +1,330 @@
+package com.jvyou.mybatis.binding;
+
+import com.jvyou.mybatis.annotations.Chunked;
+import com.jvyou.mybatis.annotations.Param;
+import com.jvyou.mybatis.cursor.Cursor;
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+import com.jvyou.mybatis.exception.UnknownSqlCommandException;
+import com.jvyou.mybatis.executor.BatchExecutor;
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.mapping.SqlCommandType;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.ResultHandler;
+import com.jvyou.mybatis.session.SqlSession;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 15:50
+ * ---description Mapper 方法的元信息
+ * 第一次调用时解析好 MappedStatement、参数名称、结果处理器参数的位置、执行方式和返回值转换，
+ * 之后每次调用只需要把参数数组包装成 Map 再交给 SqlSession。
+ * 方法上有 Chunked 注解时，集合参数超过每批的大小会拆分成多批执行，再合并结果
+ */
+public class MapperMethod {
+
+    /**
+     * 查询的执行方式
+     */
+    private enum SelectMode {
+        RESULT_HANDLER, CURSOR, MANY, ONE
+    }
+
+    private final MappedStatement ms;
+
+    private final String statementId;
+
+    private final SqlCommandType sqlCommandType;
+
+    /**
+     * 参数名称，下标和方法参数一一对应，结果处理器参数为 null
+     */
+    private final String[] paramNames;
+
+    /**
+     * 结果处理器参数的下标，没有时为 -1
+     */
+    private final int resultHandlerIndex;
+
+    private final SelectMode selectMode;
+
+    /**
+     * 增删改影响行数的类型转换
+     */
+    private final Function<Object, Object> resultConverter;
+
+    /**
+     * 每批的元素个数，不拆分时为 0
+     */
+    private final int chunkSize;
+
+    /**
+     * 要拆分的参数下标，不拆分时为 -1
+     */
+    private final int chunkIndex;
+
+    public MapperMethod(Configuration configuration, Class<?> mapperInterface, Method method) {
+        this(configuration, mapperInterface.getName() + "." + method.getName(), resolveParamNames(method),
+                resolveResultHandlerIndex(method), method.getReturnType(),
+                method.isAnnotationPresent(Chunked.class) ? method.getAnnotation(Chunked.class).size() : 0,
+                resolveChunkIndex(method));
+    }
+
+    /**
+     * 编译期生成的 Mapper 实现类使用的构造方法，参数名称等信息在编译期已经解析好，不需要再反射读取方法
+     *
+     * @param configuration      配置对象
+     * @param statementId        MappedStatement 的 id
+     * @param paramNames         参数名称，下标和方法参数一一对应，结果处理器参数为 null
+     * @param resultHandlerIndex 结果处理器参数的下标，没有时为 -1
+     * @param returnType         方法的返回值类型
+     */
+    public MapperMethod(Configuration configuration, String statementId, String[] paramNames, int resultHandlerIndex, Class<?> returnType) {
+        this(configuration, statementId, paramNames, resultHandlerIndex, returnType, 0, -1);
+    }
+
+    /**
+     * 编译期生成的 Mapper 实现类中带有 Chunked 注解的方法使用的构造方法
+     *
+     * @param configuration      配置对象
+     * @param statementId        MappedStatement 的 id
+     * @param paramNames         参数名称，下标和方法参数一一对应，结果处理器参数为 null
+     * @param resultHandlerIndex 结果处理器参数的下标，没有时为 -1
+     * @param returnType         方法的返回值类型
+     * @param chunkSize          每批的元素个数，不拆分时为 0
+     * @param chunkIndex         要拆分的参数下标，不拆分时为 -1
+     */
+    public MapperMethod(Configuration configuration, String statementId, String[] paramNames, int resultHandlerIndex,
+                        Class<?> returnType, int chunkSize, int chunkIndex) {
+        this.statementId = statementId;
+        this.ms = configuration.getMappedStatement(statementId);
+        if (ms == null) {
+            throw new JvyouMybatisException("Invalid bound statement (not found): " + statementId);
+        }
+        this.sqlCommandType = ms.getSqlCommandType();
+        if (sqlCommandType == null) {
+            // 如果检查不到 SQL 命令类型，则抛出异常
+            throw new UnknownSqlCommandException("Unknown SQL command type，Or not detected Select、Insert、Update、Delete annotation");
+        }
+        this.paramNames = paramNames;
+        this.resultHandlerIndex = resultHandlerIndex;
+
+        if (returnType == void.class && resultHandlerIndex >= 0) {
+            this.selectMode = SelectMode.RESULT_HANDLER;
+        } else if (Cursor.class.isAssignableFrom(returnType)) {
+            this.selectMode = SelectMode.CURSOR;
+        } else if (ms.isSelectMany()) {
+            this.selectMode = SelectMode.MANY;
+        } else {
+            this.selectMode = SelectMode.ONE;
+        }
+        this.resultConverter = resolveConverter(ms.getResultType());
+
+        if (chunkSize > 0 && (chunkIndex < 0 || sqlCommandType == SqlCommandType.SELECT
+                && selectMode != SelectMode.MANY && selectMode != SelectMode.RESULT_HANDLER)) {
+            throw new JvyouMybatisException("@Chunked 只能用于有集合参数的增删改、返回集合或使用 ResultHandler 的查询：" + statementId);
+        }
+        this.chunkSize = chunkSize;
+        this.chunkIndex = chunkSize > 0 ? chunkIndex : -1;
+    }
+
+    /**
+     * 执行 Mapper 方法
+     *
+     * @param sqlSession SqlSession
+     * @param args       方法参数
+     * @return 方法返回值
+     */
+    public Object execute(SqlSession sqlSession, Object[] args) {
+        if (chunkIndex >= 0 && args[chunkIndex] != null && sizeOf(args[chunkIndex]) > chunkSize) {
+            return executeChunked(sqlSession, args);
+        }
+        return executeOnce(sqlSession, args);
+    }
+
+    private Object executeOnce(SqlSession sqlSession, Object[] args) {
+        Map<String, Object> paramMap = toParamMap(args);
+        switch (sqlCommandType) {
+            case INSERT:
+                return resultConverter.apply(sqlSession.insert(statementId, paramMap));
+            case UPDATE:
+                return resultConverter.apply(sqlSession.update(statementId, paramMap));
+            case DELETE:
+                return resultConverter.apply(sqlSession.delete(statementId, paramMap));
+            case SELECT:
+                switch (selectMode) {
+                    case RESULT_HANDLER:
+                        sqlSession.select(statementId, paramMap, (ResultHandler<?>) args[resultHandlerIndex]);
+                        return null;
+                    case CURSOR:
+                        return sqlSession.selectCursor(statementId, paramMap);
+                    case MANY:
+                        return sqlSession.selectList(statementId, paramMap);
+                    default:
+                        return sqlSession.selectOne(statementId, paramMap);
+                }
+            default:
+                throw new UnknownSqlCommandException("Unknown SQL command type，Or not detected Select、Insert、Update、Delete annotation");
+        }
+    }
+
+    /**
+     * 分批执行，所有批次在同一个会话中执行并复用预编译语句，查询结果合并成一个集合，增删改的影响行数累加，
+     * 批处理模式下返回 BatchExecutor#BATCH_UPDATE_RETURN_VALUE
+     */
+    private Object executeChunked(SqlSession sqlSession, Object[] args) {
+        Object source = args[chunkIndex];
+        int size = sizeOf(source);
+        List<?> items = source instanceof List ? (List<?>) source
+                : source instanceof Collection ? new ArrayList<>((Collection<?>) source) : null;
+        return sqlSession.reuseStatements(() -> {
+            Object[] chunkArgs = args.clone();
+            List<Object> results = selectMode == SelectMode.MANY ? new ArrayList<>(size) : null;
+            int updateCount = 0;
+            for (int from = 0; from < size; from += chunkSize) {
+                int to = Math.min(from + chunkSize, size);
+                chunkArgs[chunkIndex] = items != null ? items.subList(from, to) : copyOfRange(source, from, to);
+                Map<String, Object> paramMap = toParamMap(chunkArgs);
+                switch (sqlCommandType) {
+                    case INSERT:
+                        updateCount = addUpdateCount(updateCount, sqlSession.insert(statementId, paramMap));
+                        break;
+                    case UPDATE:
+                        updateCount = addUpdateCount(updateCount, sqlSession.update(statementId, paramMap));
+                        break;
+                    case DELETE:
+                        updateCount = addUpdateCount(updateCount, sqlSession.delete(statementId, paramMap));
+                        break;
+                    default:
+                        if (results != null) {
+                            results.addAll(sqlSession.selectList(statementId, paramMap));
+                        } else {
+                            sqlSession.select(statementId, paramMap, (ResultHandler<?>) args[resultHandlerIndex]);
+                        }
+                }
+            }
+            if (sqlCommandType == SqlCommandType.SELECT) {
+                return results;
+            }
+            return resultConverter.apply(updateCount);
+        });
+    }
+
+    /**
+     * 累加影响行数。批处理执行器的 update 返回的是标记值，真实的行数要通过 flushStatements 获取，
+     * 有一批返回标记值时整体也返回标记值，不能相加
+     */
+    private static int addUpdateCount(int total, int count) {
+        if (total == BatchExecutor.BATCH_UPDATE_RETURN_VALUE || count == BatchExecutor.BATCH_UPDATE_RETURN_VALUE) {
+            return BatchExecutor.BATCH_UPDATE_RETURN_VALUE;
+        }
+        return total + count;
+    }
+
+    private static int sizeOf(Object value) {
+        return value instanceof Collection ? ((Collection<?>) value).size() : Array.getLength(value);
+    }
+
+    private static Object copyOfRange(Object array, int from, int to) {
+        Object chunk = Array.newInstance(array.getClass().getComponentType(), to - from);
+        System.arraycopy(array, from, chunk, 0, to - from);
+        return chunk;
+    }
+
+    public MappedStatement getMappedStatement() {
+        return ms;
+    }
+
+    public String[] getParamNames() {
+        return paramNames.clone();
+    }
+
+    private Map<String, Object> toParamMap(Object[] args) {
+        // 从参数名称中获取参数值
+        Map<String, Object> paramMap = new HashMap<>(paramNames.length * 2);
+        for (int i = 0; i < paramNames.length; i++) {
+            if (paramNames[i] != null) {
+                paramMap.put(paramNames[i], args[i]);
+            }
+        }
+        return paramMap;
+    }
+
+    private static String[] resolveParamNames(Method method) {
+        Parameter[] parameters = method.getParameters();
+        String[] names = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            if (ResultHandler.class.isAssignableFrom(parameter.getType())) {
+                continue;
+            }
+            if (parameter.isAnnotationPresent(Param.class)) {
+                // key 值为 Param 注解的 value
+                names[i] = parameter.getAnnotation(Param.class).value();
+            } else {
+                // 没有 Param 注解时使用参数名，编译时没有 -parameters 参数则为 arg0、arg1...
+                names[i] = parameter.getName();
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Chunked 注解指定的参数下标，没有指定名称时为第一个集合或数组参数，没有注解时为 -1
+     */
+    private static int resolveChunkIndex(Method method) {
+        Chunked chunked = method.getAnnotation(Chunked.class);
+        if (chunked == null) {
+            return -1;
+        }
+        String[] paramNames = resolveParamNames(method);
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            boolean collection = Collection.class.isAssignableFrom(parameterTypes[i]) || parameterTypes[i].isArray();
+            if (collection && (chunked.param().isEmpty() || chunked.param().equals(paramNames[i]))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int resolveResultHandlerIndex(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (ResultHandler.class.isAssignableFrom(parameterTypes[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Function<Object, Object> resolveConverter(Class<?> type) {
+        if (type == null || type == void.class) {
+            return value -> null;
+        }
+        if (type == Long.class || type == long.class) {
+            return value -> value == null ? null : Long.parseLong(value.toString());
+        }
+        if (type == Short.class || type == short.class) {
+            return value -> value == null ? null : Short.parseShort(value.toString());
+        }
+        if (type == Float.class || type == float.class) {
+            return value -> value == null ? null : Float.parseFloat(value.toString());
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return value -> value == null ? null : Integer.parseInt(value.toString()) >= 1;
+        }
+        // Integer 以及其他类型原样返回
+        return Function.identity();
+    }
+}
@@ -1,33 +1,113 @@
 package com.jvyou.mybatis.binding;
 
-import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.exception.JvyouMybatisException;
 import com.jvyou.mybatis.session.SqlSession;
 
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author 橘柚
  * @version 1.0-SNAPSHOT
  * @since 2024/4/25 23:31
- * ---description Mapper 代理对象工厂类
+ * ---description Mapper 代理对象工厂类，每个 Mapper 接口一个工厂，由 Configuration 缓存
+ * 存在编译期生成的实现类时直接创建实现类对象，否则使用 JDK 动态代理
  */
-public class MapperProxyFactory {
+public class MapperProxyFactory<T> {
+
+    private final Class<T> mapperInterface;
+
+    /**
+     * Mapper 方法元信息缓存，同一个接口的所有代理对象共享
+     */
+    private final Map<Method, MapperMethod> methodCache = new ConcurrentHashMap<>();
+
+    /**
+     * 编译期生成的实现类工厂，没有生成实现类时为 null
+     */
+    private final GeneratedMapperFactory<T> generatedFactory;
+
+    /**
+     * 生成的实现类使用的 MapperMethod，下标和生成代码中的方法下标一致
+     */
+    private final MapperMethod[] generatedMethods;
+
+    public MapperProxyFactory(Class<T> mapperInterface) {
+        this(mapperInterface, true);
+    }
+
+    public MapperProxyFactory(Class<T> mapperInterface, boolean useGeneratedMapper) {
+        this.mapperInterface = mapperInterface;
+        this.generatedFactory = useGeneratedMapper ? loadGeneratedFactory(mapperInterface) : null;
+        this.generatedMethods = generatedFactory == null ? null : new MapperMethod[generatedFactory.getMethodCount()];
+    }
+
+    public Class<T> getMapperInterface() {
+        return mapperInterface;
+    }
+
+    public Map<Method, MapperMethod> getMethodCache() {
+        return methodCache;
+    }
 
     /**
      * 获取 Mapper 接口的代理对象
      *
-     * @param mapperClass mapper 接口类型
+     * @param sqlSession 代理对象使用的 SqlSession
      * @return 获取 Mapper 接口的代理对象
      */
-    public <T> T getProxy(Class<T> mapperClass, SqlSession sqlSession) {
+    public T getProxy(SqlSession sqlSession) {
+        if (generatedFactory != null) {
+            return generatedFactory.newInstance(sqlSession, generatedMethods);
+        }
 
         Object o = Proxy.newProxyInstance(
-                mapperClass.getClassLoader(),
-                new Class[]{mapperClass},
-                new MapperProxyInvocationHandler(sqlSession,mapperClass)
+                mapperInterface.getClassLoader(),
+                new Class[]{mapperInterface},
+                new MapperProxyInvocationHandler(sqlSession, mapperInterface, methodCache)
         );
         // 使用 cast 转换类型而不是类型强制转换可以避免警告
         // cast 类型转换提供了更强的类型检查机，处理泛型时更具灵活性
-        return mapperClass.cast(o);
+        return mapperInterface.cast(o);
+    }
+
+    /**
+     * 是否使用编译期生成的实现类
+     */
+    public boolean isGenerated() {
+        return generatedFactory != null;
+    }
+
+    /**
+     * 生成的实现类名，和注解处理器的命名规则保持一致：同一个包下，嵌套接口的 $ 替换为 _，再加上 _Impl 后缀
+     *
+     * @param mapperInterface Mapper 接口
+     * @return 实现类的全限定类名
+     */
+    public static String getGeneratedClassName(Class<?> mapperInterface) {
+        String name = mapperInterface.getName();
+        int packageEnd = name.lastIndexOf('.');
+        return name.substring(0, packageEnd + 1) + name.substring(packageEnd + 1).replace('$', '_') + "_Impl";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> GeneratedMapperFactory<T> loadGeneratedFactory(Class<T> mapperInterface) {
+        Class<?> factoryClass;
+        try {
+            factoryClass = Class.forName(getGeneratedClassName(mapperInterface) + "$Factory", true, mapperInterface.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            // 没有生成实现类，使用动态代理
+            return null;
+        }
+        if (!GeneratedMapperFactory.class.isAssignableFrom(factoryClass)) {
+            return null;
+        }
+        try {
+            return (GeneratedMapperFactory<T>) factoryClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new JvyouMybatisException("Failed to instantiate generated mapper factory " + factoryClass.getName() + ", nested exception is:\n" + e);
+        }
     }
 }
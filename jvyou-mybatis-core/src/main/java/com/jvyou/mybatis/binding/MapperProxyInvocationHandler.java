@@ -1,18 +1,10 @@
 package com.jvyou.mybatis.binding;
 
-import com.jvyou.mybatis.annotations.Param;
 import com.jvyou.mybatis.constant.SQLKeyword;
-import com.jvyou.mybatis.exception.UnknownSqlCommandException;
-import com.jvyou.mybatis.mapping.MappedStatement;
-import com.jvyou.mybatis.mapping.SqlCommandType;
-import com.jvyou.mybatis.session.Configuration;
 import com.jvyou.mybatis.session.SqlSession;
-import com.jvyou.mybatis.xml.DynamicContext;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -28,69 +20,29 @@ public class MapperProxyInvocationHandler implements InvocationHandler, SQLKeywo
 
     private final Class<?> mapperClass;
 
-    public MapperProxyInvocationHandler(SqlSession sqlSession, Class<?> mapperClass) {
+    private final Map<Method, MapperMethod> methodCache;
+
+    public MapperProxyInvocationHandler(SqlSession sqlSession, Class<?> mapperClass, Map<Method, MapperMethod> methodCache) {
         this.mapperClass = mapperClass;
         this.sqlSession = sqlSession;
+        this.methodCache = methodCache;
     }
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        // 从参数名称中获取参数值
-        Map<String, Object> paramMap = new HashMap<>();
-        // key 值为 Param 注解的 value
-        Parameter[] parameters = method.getParameters();
-        for (int i = 0; i < parameters.length; i++) {
-            Parameter parameter = parameters[i];
-            if (parameter.isAnnotationPresent(Param.class)) {
-                Param annotation = parameter.getAnnotation(Param.class);
-                String value = annotation.value();
-                paramMap.put(value, args[i]);
-            }
+        if (method.getDeclaringClass() == Object.class) {
+            // toString、hashCode、equals 等方法不需要执行 SQL
+            return method.invoke(this, args);
         }
-
-        Configuration configuration = sqlSession.getConfiguration();
-        MappedStatement ms = configuration.getMappedStatement(mapperClass.getName() + "." + method.getName());
-        SqlCommandType sqlCommandType = ms.getSqlCommandType();
-        Class<?> resultType = ms.getResultType();
-
-        switch (sqlCommandType) {
-            case INSERT:
-                return convertType(sqlSession.insert(ms.getId(), paramMap), resultType);
-            case UPDATE:
-                return convertType(sqlSession.update(ms.getId(), paramMap), resultType);
-            case DELETE:
-                return convertType(sqlSession.delete(ms.getId(), paramMap), resultType);
-            case SELECT:
-                if (ms.isSelectMany()) {
-                    return sqlSession.selectList(ms.getId(), paramMap);
-                } else {
-                    return sqlSession.selectOne(ms.getId(), paramMap);
-                }
-        }
-        // 如果检查不到 SQL 命令类型，则抛出异常
-        throw new UnknownSqlCommandException("Unknown SQL command type，Or not detected Select、Insert、Update、Delete annotation");
+        return cachedMapperMethod(method).execute(sqlSession, args);
     }
 
-
-    private Object convertType(Object value, Class<?> type) {
-        if (value == null || type == void.class) {
-            return null;
-        }
-        if (type == Integer.class || type == int.class) {
-            return value;
-        }
-        if (type == Long.class || type == long.class) {
-            return Long.parseLong(value.toString());
-        }
-        if (type == Short.class || type == short.class) {
-            return Short.parseShort(value.toString());
-        }
-        if (type == Float.class || type == float.class) {
-            return Float.parseFloat(value.toString());
-        }
-        if (type == Boolean.class || type == boolean.class) {
-            return Integer.parseInt(value.toString()) >= 1;
+    private MapperMethod cachedMapperMethod(Method method) {
+        // 先 get 再 computeIfAbsent，JDK 8 的 computeIfAbsent 在键已存在时也会加锁
+        MapperMethod mapperMethod = methodCache.get(method);
+        if (mapperMethod == null) {
+            mapperMethod = methodCache.computeIfAbsent(method, m -> new MapperMethod(sqlSession.getConfiguration(), mapperClass, m));
         }
-        return value;
+        return mapperMethod;
     }
 }
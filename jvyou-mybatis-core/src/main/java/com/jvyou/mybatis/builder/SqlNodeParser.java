@@ -1,10 +1,16 @@
 package com.jvyou.mybatis.builder;
 
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+import com.jvyou.mybatis.mapping.SqlSource;
+import com.jvyou.mybatis.mapping.StaticSqlSource;
+import com.jvyou.mybatis.xml.DynamicContext;
+import com.jvyou.mybatis.xml.DynamicSqlSource;
 import com.jvyou.mybatis.xml.tag.*;
 import org.dom4j.Element;
 import org.dom4j.Node;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 
 /**
@@ -15,6 +21,28 @@ import java.util.List;
  */
 public class SqlNodeParser {
 
+    /**
+     * 是否解析到了动态节点（if、where、set、trim、foreach、choose 以及带有 ${} 的文本）
+     */
+    private boolean dynamic;
+
+    /**
+     * 将 select、update、insert、delete 标签解析成 SqlSource，没有动态节点时在构建阶段直接解析成静态 SQL
+     *
+     * @param element select、update、insert、delete 标签
+     * @return SqlSource
+     */
+    public SqlSource parseSqlSource(Element element) {
+        this.dynamic = false;
+        MixedSqlNode rootSqlNode = parseXml(element);
+        if (dynamic) {
+            return new DynamicSqlSource(rootSqlNode);
+        }
+        DynamicContext context = new DynamicContext(new HashMap<>());
+        rootSqlNode.apply(context);
+        return new StaticSqlSource(context.getSql(), context.getParamNames());
+    }
+
     public MixedSqlNode parseXml(Element element) {
         // 主SQL语句和下面的子标签都是 Node
         List<Node> childrenNodes = element.content();
@@ -31,16 +59,35 @@ public class SqlNodeParser {
                         throw new RuntimeException("if标签的test属性不能为空");
                     }
                     sqlNode = new IfSqlNode(test, parseXml(childElement));
+                    dynamic = true;
                 } else if (nodeName.equals("where")) {
                     sqlNode = new WhereSqlNode(parseXml(childElement));
+                    dynamic = true;
+                } else if (nodeName.equals("set")) {
+                    sqlNode = new SetSqlNode(parseXml(childElement));
+                    dynamic = true;
+                } else if (nodeName.equals("trim")) {
+                    sqlNode = new TrimSqlNode(parseXml(childElement),
+                            childElement.attributeValue("prefix"), childElement.attributeValue("prefixOverrides"),
+                            childElement.attributeValue("suffix"), childElement.attributeValue("suffixOverrides"));
+                    dynamic = true;
+                } else if (nodeName.equals("foreach")) {
+                    sqlNode = parseForEach(childElement);
+                    dynamic = true;
+                } else if (nodeName.equals("choose")) {
+                    sqlNode = parseChoose(childElement);
+                    dynamic = true;
                 }
             } else {
                 String sql = childNode.getText().trim();
                 if (sql.length() == 0) {
                     continue;
                 }
+                // 静态文本的空白字符只在加载时合并一次
+                sql = DynamicContext.normalizeWhitespace(sql);
                 if (sql.contains("$")) {
                     sqlNode = new TextSqlNode(sql);
+                    dynamic = true;
                 } else {
                     sqlNode = new StaticTextSqlNode(sql);
                 }
@@ -52,4 +99,37 @@ public class SqlNodeParser {
         return new MixedSqlNode(sqlNodes);
     }
 
+    private ForEachSqlNode parseForEach(Element element) {
+        String collection = element.attributeValue("collection");
+        if (collection == null) {
+            throw new JvyouMybatisException("foreach标签的collection属性不能为空");
+        }
+        return new ForEachSqlNode(parseXml(element), collection,
+                element.attributeValue("item"), element.attributeValue("index"),
+                element.attributeValue("open"), element.attributeValue("close"), element.attributeValue("separator"),
+                Boolean.parseBoolean(element.attributeValue("bucketed")));
+    }
+
+    private ChooseSqlNode parseChoose(Element element) {
+        List<IfSqlNode> whenSqlNodes = new ArrayList<>();
+        SqlNode otherwiseSqlNode = null;
+        for (Object child : element.elements()) {
+            Element childElement = (Element) child;
+            String nodeName = childElement.getName();
+            if (nodeName.equals("when")) {
+                String test = childElement.attributeValue("test");
+                if (test == null) {
+                    throw new JvyouMybatisException("when标签的test属性不能为空");
+                }
+                whenSqlNodes.add(new IfSqlNode(test, parseXml(childElement)));
+            } else if (nodeName.equals("otherwise")) {
+                if (otherwiseSqlNode != null) {
+                    throw new JvyouMybatisException("choose标签中只能有一个otherwise标签");
+                }
+                otherwiseSqlNode = parseXml(childElement);
+            }
+        }
+        return new ChooseSqlNode(whenSqlNodes, otherwiseSqlNode);
+    }
+
 }
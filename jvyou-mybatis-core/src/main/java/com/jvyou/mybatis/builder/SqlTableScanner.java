@@ -0,0 +1,216 @@
+package com.jvyou.mybatis.builder;
+
+import org.dom4j.Element;
+import org.dom4j.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 21:40
+ * ---description SQL 表名扫描器
+ * 构建 MappedStatement 时从 SQL 中找出 from、join、into、update 后面的表名，不做完整的语法分析。
+ * 子查询中的表同样会被找到，insert ... select 读取的表也会算作写入的表，多算只会让缓存多失效一些；
+ * 表名位置出现 ${} 时无法确定，返回 null，视图、触发器等扫描不到的依赖需要通过 TableDependency 注解声明
+ */
+public final class SqlTableScanner {
+
+    /**
+     * 后面紧跟表名的关键字
+     */
+    private static final Set<String> TABLE_KEYWORDS = new HashSet<>(Arrays.asList("from", "join", "into", "update", "truncate"));
+
+    /**
+     * 表名后面可能出现的关键字，不会被当成别名
+     */
+    private static final Set<String> CLAUSE_KEYWORDS = new HashSet<>(Arrays.asList(
+            "where", "set", "values", "value", "on", "using", "group", "order", "limit", "having", "union", "select",
+            "left", "right", "inner", "outer", "cross", "natural", "join", "straight_join", "for", "lock", "partition",
+            "force", "use", "ignore", "low_priority", "table", "as", "window", "offset", "fetch", "except", "intersect"
+    ));
+
+    /**
+     * 表名位置出现的 ${} 替换成这个记号
+     */
+    private static final String DYNAMIC = "${";
+
+    private SqlTableScanner() {
+    }
+
+    /**
+     * 扫描 SQL 中的表名
+     *
+     * @param sql SQL 语句，可以包含 #{} 和 ${} 占位符
+     * @return 小写且去掉库名和引号的表名集合，无法确定时返回 null
+     */
+    public static Set<String> scan(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        List<String> tokens = tokenize(sql);
+        Set<String> tables = new LinkedHashSet<>();
+        int i = 0;
+        while (i < tokens.size()) {
+            String previous = i == 0 ? "" : tokens.get(i - 1).toLowerCase(Locale.ROOT);
+            String keyword = tokens.get(i++).toLowerCase(Locale.ROOT);
+            if (!TABLE_KEYWORDS.contains(keyword)) {
+                continue;
+            }
+            if (keyword.equals("update") && (previous.equals("for") || previous.equals("key"))) {
+                // select ... for update 和 on duplicate key update 后面不是表名
+                continue;
+            }
+            // update ignore t_user、truncate table t_user
+            while (i < tokens.size() && isModifier(tokens.get(i))) {
+                i++;
+            }
+            while (i < tokens.size()) {
+                String token = tokens.get(i);
+                if (token.equals(DYNAMIC)) {
+                    return null;
+                }
+                if (!isIdentifier(token)) {
+                    // 子查询等，继续扫描里面的关键字
+                    break;
+                }
+                tables.add(normalize(token));
+                i++;
+                // 跳过别名
+                if (i < tokens.size() && tokens.get(i).equalsIgnoreCase("as")) {
+                    i++;
+                }
+                if (i < tokens.size() && isIdentifier(tokens.get(i))) {
+                    i++;
+                }
+                // from a, b 和 update a, b set 的多个表
+                if (i < tokens.size() && tokens.get(i).equals(",") && (keyword.equals("from") || keyword.equals("update"))) {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+        }
+        return Collections.unmodifiableSet(tables);
+    }
+
+    /**
+     * 扫描 XML 语句中所有分支的表名，相邻的文本节点之间用空白分隔，
+     * 避免元素前后的文本被直接连接，eg: {@code from t_user<where>and} 会被扫描成 t_userand
+     *
+     * @param element 语句元素
+     * @return 小写且去掉库名和引号的表名集合，无法确定时返回 null
+     */
+    public static Set<String> scan(Element element) {
+        StringBuilder sql = new StringBuilder();
+        appendText(element, sql);
+        return scan(sql.toString());
+    }
+
+    private static void appendText(Element element, StringBuilder sql) {
+        for (int i = 0, size = element.nodeCount(); i < size; i++) {
+            Node node = element.node(i);
+            if (node instanceof Element) {
+                appendText((Element) node, sql);
+            } else if (node.getNodeType() == Node.TEXT_NODE || node.getNodeType() == Node.CDATA_SECTION_NODE) {
+                sql.append(' ').append(node.getText());
+            }
+        }
+        sql.append(' ');
+    }
+
+    private static boolean isModifier(String token) {
+        String lower = token.toLowerCase(Locale.ROOT);
+        return lower.equals("ignore") || lower.equals("low_priority") || lower.equals("table") || lower.equals("only");
+    }
+
+    /**
+     * 是否是表名或者别名，关键字和符号不是
+     */
+    private static boolean isIdentifier(String token) {
+        char first = token.charAt(0);
+        if (first == '`' || first == '"') {
+            return true;
+        }
+        return (Character.isLetter(first) || first == '_') && !CLAUSE_KEYWORDS.contains(token.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 去掉引号和库名并转成小写，eg: `db`.`t_user` -> t_user
+     */
+    private static String normalize(String identifier) {
+        String name = identifier.replace("`", "").replace("\"", "");
+        int dot = name.lastIndexOf('.');
+        return (dot == -1 ? name : name.substring(dot + 1)).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 拆分成记号，跳过注释和字符串字面量，#{} 变成 ?，和标识符相连的 ${} 让整个标识符变成 DYNAMIC
+     */
+    private static List<String> tokenize(String sql) {
+        List<String> tokens = new ArrayList<>();
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '-' && sql.startsWith("--", i)) {
+                int end = sql.indexOf('\n', i);
+                i = end == -1 ? length : end + 1;
+            } else if (c == '/' && sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end == -1 ? length : end + 2;
+            } else if (c == '\'') {
+                // 字符串字面量中的内容不参与扫描，'' 是转义的单引号
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'' && !(i + 1 < length && sql.charAt(i + 1) == '\'')) {
+                        break;
+                    }
+                    i += sql.charAt(i) == '\'' ? 2 : 1;
+                }
+                i++;
+                tokens.add("''");
+            } else if (c == '#' && sql.startsWith("#{", i)) {
+                int end = sql.indexOf('}', i);
+                i = end == -1 ? length : end + 1;
+                tokens.add("?");
+            } else if (isIdentifierPart(c) || c == '`' || c == '"' || c == '$' && sql.startsWith("${", i)) {
+                int start = i;
+                boolean dynamic = false;
+                while (i < length) {
+                    char current = sql.charAt(i);
+                    if (current == '`' || current == '"') {
+                        int end = sql.indexOf(current, i + 1);
+                        i = end == -1 ? length : end + 1;
+                    } else if (current == '$' && sql.startsWith("${", i)) {
+                        int end = sql.indexOf('}', i);
+                        i = end == -1 ? length : end + 1;
+                        dynamic = true;
+                    } else if (isIdentifierPart(current) || current == '.') {
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                tokens.add(dynamic ? DYNAMIC : sql.substring(start, i));
+            } else {
+                tokens.add(String.valueOf(c));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
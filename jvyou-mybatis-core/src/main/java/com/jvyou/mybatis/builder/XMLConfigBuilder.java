@@ -3,12 +3,15 @@ package com.jvyou.mybatis.builder;
 import cn.hutool.core.util.ClassUtil;
 import com.jvyou.mybatis.annotations.*;
 import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheBuilder;
 import com.jvyou.mybatis.datasource.PooledDataSource;
 import com.jvyou.mybatis.exception.XmlMapperException;
 import com.jvyou.mybatis.mapping.MappedStatement;
 import com.jvyou.mybatis.mapping.SqlCommandType;
+import com.jvyou.mybatis.mapping.SqlSource;
+import com.jvyou.mybatis.mapping.StaticSqlSource;
 import com.jvyou.mybatis.session.Configuration;
-import com.jvyou.mybatis.xml.tag.MixedSqlNode;
+import com.jvyou.mybatis.session.ResultHandler;
 import lombok.SneakyThrows;
 import org.dom4j.Document;
 import org.dom4j.Element;
@@ -17,10 +20,15 @@ import org.xml.sax.InputSource;
 
 import java.io.InputStream;
 import java.io.StringReader;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
 /**
@@ -68,7 +76,14 @@ public class XMLConfigBuilder {
         for (Class<?> aClass : classes) {
             // 判断configuration是否默认开启二级缓存，如果不开启，还要判断 Mapper 是否有CacheNamespace.class注解
             boolean isCache = configuration.isCacheEnabled() ? true : aClass.isAnnotationPresent(CacheNamespace.class);
-            Cache cache = isCache ? configuration.getCache(aClass.getName()) : null;
+            Cache cache = isCache
+                    ? configuration.getCache(aClass.getName(), id -> CacheBuilder.of(id, aClass.getAnnotation(CacheNamespace.class))
+                    .persistentDirectory(configuration.getPersistentCacheDirectory())
+                    .persistentAllowedClasses(configuration.getPersistentCacheAllowedClasses())
+                    .persistentAllowedClasses(signatureTypes(aClass))
+                    .tableWriteTracker(configuration.getTableWriteTracker())
+                    .build())
+                    : null;
 
             Method[] methods = aClass.getMethods();
             for (Method method : methods) {
@@ -102,14 +117,42 @@ public class XMLConfigBuilder {
                             ? (Class<?>) ((ParameterizedType) genericReturnType).getActualTypeArguments()[0]
                             : (Class<?>) ((ParameterizedType) genericReturnType).getRawType();
                 }
+                if (returnType == void.class) {
+                    // void 方法通过 ResultHandler<User> 参数逐行接收结果，实体类型从结果处理器的泛型中获取
+                    for (Type parameterType : method.getGenericParameterTypes()) {
+                        if (parameterType instanceof ParameterizedType
+                                && ((ParameterizedType) parameterType).getRawType() == ResultHandler.class
+                                && ((ParameterizedType) parameterType).getActualTypeArguments()[0] instanceof Class) {
+                            returnType = (Class<?>) ((ParameterizedType) parameterType).getActualTypeArguments()[0];
+                        }
+                    }
+                }
+                Integer fetchSize = null;
+                long cacheTtl = 0;
+                long refreshAhead = 0;
+                if (method.isAnnotationPresent(Options.class)) {
+                    Options options = method.getAnnotation(Options.class);
+                    int optionFetchSize = options.fetchSize();
+                    // -1 表示使用全局配置，Integer.MIN_VALUE 是 MySQL 的流式读取
+                    fetchSize = optionFetchSize > -1 || optionFetchSize == Integer.MIN_VALUE ? optionFetchSize : null;
+                    cacheTtl = options.cacheTtl();
+                    refreshAhead = options.refreshAhead();
+                }
                 // 构建 MappedStatement
                 MappedStatement mappedStatement = MappedStatement.builder()
                         .id(aClass.getName() + "." + method.getName())
                         .sql(originalSql)
+                        .sqlSource(new StaticSqlSource(originalSql))
                         .resultType(returnType)
                         .isSelectMany(isSelectMany)
+                        .fetchSize(fetchSize)
+                        .cacheTtl(cacheTtl)
+                        .refreshAhead(refreshAhead)
                         .sqlCommandType(sqlCommandType)
                         .cache(cache)
+                        .tables(method.isAnnotationPresent(TableDependency.class)
+                                ? normalizeTables(method.getAnnotation(TableDependency.class).value())
+                                : SqlTableScanner.scan(originalSql))
                         .build();
                 configuration.addMappedStatement(mappedStatement);
             }
@@ -156,22 +199,87 @@ public class XMLConfigBuilder {
                 } else if (element.getName().equals("delete")) {
                     sqlCommandType = SqlCommandType.DELETE;
                 }
-                MixedSqlNode mixedSqlNode = new SqlNodeParser().parseXml(element);
+                SqlSource sqlSource = new SqlNodeParser().parseSqlSource(element);
+                String fetchSize = element.attributeValue("fetchSize");
+                String cacheTtl = element.attributeValue("cacheTtl");
+                String refreshAhead = element.attributeValue("refreshAhead");
+                // 动态 SQL 扫描所有分支的文本，tables 属性可以手动声明依赖的表
+                String tables = element.attributeValue("tables");
 
                 // 构建 MappedStatement
                 MappedStatement mappedStatement = MappedStatement.builder()
                         .id(id)
-                        .sql("") // 获取 BoundSql 时会解析 SQL
+                        .sql("") // XML 语句的 SQL 由 sqlSource 生成
                         .resultType(resultType)
                         .isSelectMany(false)
-                        .sqlSource(mixedSqlNode)
+                        .fetchSize(fetchSize == null ? null : Integer.valueOf(fetchSize))
+                        .cacheTtl(cacheTtl == null ? 0 : Long.parseLong(cacheTtl))
+                        .refreshAhead(refreshAhead == null ? 0 : Long.parseLong(refreshAhead))
+                        .sqlSource(sqlSource)
                         .sqlCommandType(sqlCommandType)
                         .cache(null)
+                        .tables(tables == null ? SqlTableScanner.scan(element) : normalizeTables(tables.split(",")))
+                        .fingerprint(MappedStatement.fingerprint(id + "\n" + element.asXML(), resultType))
                         .build();
                 configuration.addMappedStatement(mappedStatement);
             }
         }
     }
 
+    /**
+     * Mapper 方法的返回值和参数中用到的非 JDK 类，持久化缓存允许反序列化这些类
+     *
+     * @param mapper Mapper 接口
+     * @return 类名集合
+     */
+    private Set<String> signatureTypes(Class<?> mapper) {
+        Set<String> names = new LinkedHashSet<>();
+        for (Method method : mapper.getMethods()) {
+            collectTypes(method.getGenericReturnType(), names);
+            for (Type type : method.getGenericParameterTypes()) {
+                collectTypes(type, names);
+            }
+        }
+        return names;
+    }
+
+    private void collectTypes(Type type, Set<String> names) {
+        if (type instanceof Class) {
+            Class<?> clazz = (Class<?>) type;
+            while (clazz.isArray()) {
+                clazz = clazz.getComponentType();
+            }
+            if (!clazz.isPrimitive() && !clazz.getName().startsWith("java.")) {
+                names.add(clazz.getName());
+            }
+        } else if (type instanceof ParameterizedType) {
+            collectTypes(((ParameterizedType) type).getRawType(), names);
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                collectTypes(argument, names);
+            }
+        } else if (type instanceof GenericArrayType) {
+            collectTypes(((GenericArrayType) type).getGenericComponentType(), names);
+        } else if (type instanceof WildcardType) {
+            for (Type bound : ((WildcardType) type).getUpperBounds()) {
+                collectTypes(bound, names);
+            }
+        }
+    }
+
+    /**
+     * 手动声明的表名去掉空白并转成小写
+     *
+     * @param tables 表名
+     * @return 表名集合
+     */
+    private Set<String> normalizeTables(String[] tables) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String table : tables) {
+            if (!table.trim().isEmpty()) {
+                result.add(table.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
 
 }
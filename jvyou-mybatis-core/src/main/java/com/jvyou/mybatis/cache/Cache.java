@@ -10,12 +10,28 @@ public interface Cache {
 
     String getId();
 
-    void putObject(String key, Object value);
+    void putObject(CacheKey key, Object value);
 
-    Object getObject(String key);
+    Object getObject(CacheKey key);
 
-    Object removeObject(String key);
+    Object removeObject(CacheKey key);
 
     void clear();
 
+    /**
+     * 获取当前缓存的条目数量
+     *
+     * @return 条目数量
+     */
+    int getSize();
+
+    /**
+     * 获取统计数据的快照，默认只有条目数量，装饰器转发给被装饰的缓存
+     *
+     * @return 统计数据
+     */
+    default CacheStats getStats() {
+        return CacheStats.ofStorage(getSize(), 0, 0);
+    }
+
 }
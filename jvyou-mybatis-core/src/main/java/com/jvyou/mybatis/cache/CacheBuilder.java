@@ -0,0 +1,274 @@
+package com.jvyou.mybatis.cache;
+
+import com.jvyou.mybatis.annotations.CacheNamespace;
+import com.jvyou.mybatis.annotations.Property;
+import com.jvyou.mybatis.cache.decorators.BlockingCache;
+import com.jvyou.mybatis.cache.decorators.FifoCache;
+import com.jvyou.mybatis.cache.decorators.LruCache;
+import com.jvyou.mybatis.cache.decorators.ScheduledCache;
+import com.jvyou.mybatis.cache.decorators.SoftCache;
+import com.jvyou.mybatis.cache.decorators.StatisticsCache;
+import com.jvyou.mybatis.cache.decorators.TieredCache;
+import com.jvyou.mybatis.cache.decorators.TinyLfuCache;
+import com.jvyou.mybatis.cache.decorators.WeakCache;
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+import com.jvyou.mybatis.reflection.Reflector;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 21:00
+ * ---description 二级缓存构建器
+ * 以 PerpetualCache 为底层存储，由内到外依次套上引用类型、淘汰策略、持久化、定时清空、合并加载和统计的装饰器；
+ * 指定了其他实现类时，容量由实现类自己控制，不套引用类型和淘汰策略的装饰器
+ */
+public class CacheBuilder {
+
+    public static final int DEFAULT_SIZE = 1024;
+
+    public static final long DEFAULT_BLOCKING_TIMEOUT = 5000;
+
+    public static final int DEFAULT_PERSISTENT_CAPACITY = 64 * 1024 * 1024;
+
+    public static final long DEFAULT_PERSISTENT_MAX_AGE = 30 * 60 * 1000L;
+
+    private final String id;
+
+    private Class<? extends Cache> implementation = PerpetualCache.class;
+
+    private final Properties properties = new Properties();
+
+    private int size = DEFAULT_SIZE;
+
+    private Eviction eviction = Eviction.LRU;
+
+    private ReferenceType references = ReferenceType.STRONG;
+
+    private long flushInterval;
+
+    private boolean blocking;
+
+    private long blockingTimeout = DEFAULT_BLOCKING_TIMEOUT;
+
+    private boolean persistent;
+
+    private File persistentDirectory = PersistentCache.DEFAULT_DIRECTORY;
+
+    private final Set<String> persistentAllowedClasses = new LinkedHashSet<>();
+
+    private int persistentCapacity = DEFAULT_PERSISTENT_CAPACITY;
+
+    private long persistentMaxAge = DEFAULT_PERSISTENT_MAX_AGE;
+
+    private TableWriteTracker tableWriteTracker;
+
+    public CacheBuilder(String id) {
+        this.id = id;
+    }
+
+    /**
+     * 根据 CacheNamespace 注解的属性创建构建器
+     *
+     * @param id             缓存ID
+     * @param cacheNamespace 注解，为空时使用默认配置
+     * @return 构建器
+     */
+    public static CacheBuilder of(String id, CacheNamespace cacheNamespace) {
+        CacheBuilder builder = new CacheBuilder(id);
+        if (cacheNamespace != null) {
+            builder.implementation(cacheNamespace.implementation())
+                    .size(cacheNamespace.size())
+                    .eviction(cacheNamespace.eviction())
+                    .references(cacheNamespace.references())
+                    .flushInterval(cacheNamespace.flushInterval())
+                    .blocking(cacheNamespace.blocking())
+                    .blockingTimeout(cacheNamespace.blockingTimeout())
+                    .persistent(cacheNamespace.persistent());
+            for (Property property : cacheNamespace.properties()) {
+                builder.property(property.name(), property.value());
+            }
+        }
+        return builder;
+    }
+
+    public CacheBuilder implementation(Class<? extends Cache> implementation) {
+        this.implementation = implementation;
+        return this;
+    }
+
+    /**
+     * 设置到实现类上的属性，值按 setter 的参数类型转换
+     */
+    public CacheBuilder property(String name, String value) {
+        this.properties.setProperty(name, value);
+        return this;
+    }
+
+    public CacheBuilder size(int size) {
+        this.size = size;
+        return this;
+    }
+
+    public CacheBuilder eviction(Eviction eviction) {
+        this.eviction = eviction;
+        return this;
+    }
+
+    public CacheBuilder references(ReferenceType references) {
+        this.references = references;
+        return this;
+    }
+
+    /**
+     * @param flushInterval 定时清空的间隔，单位毫秒，0 表示不定时清空
+     */
+    public CacheBuilder flushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+        return this;
+    }
+
+    public CacheBuilder blocking(boolean blocking) {
+        this.blocking = blocking;
+        return this;
+    }
+
+    /**
+     * @param blockingTimeout 合并未命中时等待的最长时间，单位毫秒
+     */
+    public CacheBuilder blockingTimeout(long blockingTimeout) {
+        this.blockingTimeout = blockingTimeout;
+        return this;
+    }
+
+    public CacheBuilder persistent(boolean persistent) {
+        this.persistent = persistent;
+        return this;
+    }
+
+    /**
+     * @param persistentDirectory 持久化缓存文件所在的目录
+     */
+    public CacheBuilder persistentDirectory(File persistentDirectory) {
+        this.persistentDirectory = persistentDirectory;
+        return this;
+    }
+
+    /**
+     * @param persistentAllowedClasses 持久化缓存允许反序列化的类名或者包名，查询结果和参数中用到的非 JDK 类都需要允许
+     */
+    public CacheBuilder persistentAllowedClasses(Collection<String> persistentAllowedClasses) {
+        this.persistentAllowedClasses.addAll(persistentAllowedClasses);
+        return this;
+    }
+
+    /**
+     * @param persistentCapacity 持久化缓存文件的大小，单位字节
+     */
+    public CacheBuilder persistentCapacity(int persistentCapacity) {
+        this.persistentCapacity = persistentCapacity;
+        return this;
+    }
+
+    /**
+     * @param persistentMaxAge 持久化缓存条目的最长使用时间，单位毫秒
+     */
+    public CacheBuilder persistentMaxAge(long persistentMaxAge) {
+        this.persistentMaxAge = persistentMaxAge;
+        return this;
+    }
+
+    /**
+     * @param tableWriteTracker 持久化缓存监听它的写入，删除依赖写入的表的条目
+     */
+    public CacheBuilder tableWriteTracker(TableWriteTracker tableWriteTracker) {
+        this.tableWriteTracker = tableWriteTracker;
+        return this;
+    }
+
+    public Cache build() {
+        Cache cache = newBaseCache();
+        if (implementation == PerpetualCache.class) {
+            cache = decorateStorage(cache);
+        }
+        if (persistent) {
+            PersistentCache disk = new PersistentCache(id, persistentDirectory, persistentCapacity, persistentMaxAge, persistentAllowedClasses);
+            if (tableWriteTracker != null) {
+                tableWriteTracker.addListener(disk::invalidateTables);
+            }
+            cache = new TieredCache(cache, disk);
+        }
+        if (flushInterval > 0) {
+            cache = new ScheduledCache(cache, flushInterval);
+        }
+        if (blocking) {
+            // 放在最外层，CachingExecutor 通过它合并并发的未命中
+            cache = new BlockingCache(cache, blockingTimeout);
+        }
+        // 放在最外层，CachingExecutor 通过它记录命中和加载
+        return new StatisticsCache(cache);
+    }
+
+    private Cache newBaseCache() {
+        Cache cache;
+        try {
+            cache = implementation.getConstructor(String.class).newInstance(id);
+        } catch (ReflectiveOperationException e) {
+            throw new JvyouMybatisException("Could not instantiate cache implementation " + implementation.getName()
+                    + ", it must have a public constructor that takes a String id", e);
+        }
+        Reflector reflector = Reflector.forClass(implementation);
+        for (String name : properties.stringPropertyNames()) {
+            if (!reflector.hasSetter(name)) {
+                throw new JvyouMybatisException("Unknown property '" + name + "' on cache implementation " + implementation.getName());
+            }
+            reflector.getSetter(name).set(cache, convert(properties.getProperty(name), reflector.getPropertyType(name)));
+        }
+        return cache;
+    }
+
+    private static Object convert(String value, Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return Integer.valueOf(value.trim());
+        } else if (type == long.class || type == Long.class) {
+            return Long.valueOf(value.trim());
+        } else if (type == boolean.class || type == Boolean.class) {
+            return Boolean.valueOf(value.trim());
+        } else if (type == double.class || type == Double.class) {
+            return Double.valueOf(value.trim());
+        } else if (type == String.class) {
+            return value;
+        }
+        throw new JvyouMybatisException("Unsupported cache property type " + type.getName());
+    }
+
+    private Cache decorateStorage(Cache cache) {
+        switch (references) {
+            case SOFT:
+                cache = new SoftCache(cache);
+                break;
+            case WEAK:
+                cache = new WeakCache(cache);
+                break;
+            default:
+                break;
+        }
+        switch (eviction) {
+            case FIFO:
+                cache = new FifoCache(cache, size);
+                break;
+            case TINY_LFU:
+                cache = new TinyLfuCache(cache, size);
+                break;
+            default:
+                cache = new LruCache(cache, size);
+                break;
+        }
+        return cache;
+    }
+}
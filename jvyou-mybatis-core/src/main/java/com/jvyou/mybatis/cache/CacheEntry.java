@@ -0,0 +1,37 @@
+package com.jvyou.mybatis.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 21:55
+ * ---description 二级缓存中的条目，记录查询结果依赖的表和查询开始时的时间戳
+ * 堆外缓存会把整个条目序列化，查询结果中的实体类需要实现 Serializable
+ */
+@Getter
+@AllArgsConstructor
+public class CacheEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 查询结果
+     */
+    private final Object value;
+
+    /**
+     * 依赖的表，null 表示未知
+     */
+    private final Set<String> tables;
+
+    /**
+     * 查询开始时 TableWriteTracker 的时间戳
+     */
+    private final long stamp;
+
+}
@@ -0,0 +1,119 @@
+package com.jvyou.mybatis.cache;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 22:20
+ * ---description 缓存的键
+ * 由语句 ID、解析后的 SQL、每个占位符的参数值和环境 ID 依次组成，每加入一个元素就更新哈希值和校验和，
+ * equals 先比较哈希值、校验和和元素个数，都相同时才逐个比较元素。数组按内容比较，参数值需要正确实现 equals 和 hashCode，
+ * 持久化的缓存还要求参数值可以序列化。反序列化时按元素重新计算哈希值和校验和，
+ * 枚举等使用对象标识哈希值的参数在进程重启后哈希值会改变
+ */
+public class CacheKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int MULTIPLIER = 37;
+
+    private static final int DEFAULT_HASHCODE = 17;
+
+    private int hashcode = DEFAULT_HASHCODE;
+
+    private long checksum;
+
+    private int count;
+
+    private final List<Object> updateList;
+
+    public CacheKey() {
+        this.updateList = new ArrayList<>();
+    }
+
+    /**
+     * @param objects 依次加入的元素
+     */
+    public CacheKey(Object... objects) {
+        this.updateList = new ArrayList<>(objects.length);
+        for (Object object : objects) {
+            update(object);
+        }
+    }
+
+    /**
+     * 加入一个元素
+     *
+     * @param object 元素，可以为 null 或数组
+     */
+    public void update(Object object) {
+        int baseHashCode = object == null ? 1 : object.getClass().isArray() ? Arrays.deepHashCode(new Object[]{object}) : object.hashCode();
+        count++;
+        checksum += baseHashCode;
+        baseHashCode *= count;
+        hashcode = MULTIPLIER * hashcode + baseHashCode;
+        updateList.add(object);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (updateList == null) {
+            throw new InvalidObjectException("CacheKey without elements");
+        }
+        List<Object> objects = new ArrayList<>(updateList);
+        updateList.clear();
+        hashcode = DEFAULT_HASHCODE;
+        checksum = 0;
+        count = 0;
+        for (Object object : objects) {
+            update(object);
+        }
+    }
+
+    public int getUpdateCount() {
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof CacheKey)) {
+            return false;
+        }
+        CacheKey other = (CacheKey) object;
+        if (hashcode != other.hashcode || checksum != other.checksum || count != other.count) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (!Objects.deepEquals(updateList.get(i), other.updateList.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashcode;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(":", hashcode + ":" + checksum + ":", "");
+        for (Object object : updateList) {
+            joiner.add(object != null && object.getClass().isArray() ? Arrays.deepToString(new Object[]{object}) : String.valueOf(object));
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package com.jvyou.mybatis.cache;
+
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.function.Predicate;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 23:00
+ * ---description 序列化存储的缓存（堆外缓存、持久化缓存）共用的序列化工具
+ */
+final class CacheSerializer {
+
+    private CacheSerializer() {
+    }
+
+    /**
+     * 序列化
+     *
+     * @param value 对象
+     * @return 字节数组，对象中有不能序列化的类时返回 null
+     */
+    static byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (NotSerializableException e) {
+            return null;
+        } catch (IOException e) {
+            throw new JvyouMybatisException("Error serializing cache value", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 反序列化
+     *
+     * @param bytes 字节数组
+     * @return 对象
+     */
+    static Object deserialize(byte[] bytes) {
+        return deserialize(bytes, null);
+    }
+
+    /**
+     * 只允许反序列化白名单中的类，用于读取来自文件等进程外部的数据
+     *
+     * @param bytes          字节数组
+     * @param allowedClasses 判断类名是否允许反序列化，数组传入的是元素类型的类名；为 null 时不限制
+     * @return 对象
+     */
+    static Object deserialize(byte[] bytes, Predicate<String> allowedClasses) {
+        try (ObjectInputStream in = new ContextObjectInputStream(new ByteArrayInputStream(bytes), allowedClasses)) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new JvyouMybatisException("Error deserializing cache value", e);
+        }
+    }
+
+    /**
+     * 优先使用线程上下文类加载器加载缓存值的类，指定了白名单时拒绝白名单以外的类和动态代理
+     */
+    private static class ContextObjectInputStream extends ObjectInputStream {
+
+        private final Predicate<String> allowedClasses;
+
+        ContextObjectInputStream(InputStream in, Predicate<String> allowedClasses) throws IOException {
+            super(in);
+            this.allowedClasses = allowedClasses;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (allowedClasses != null) {
+                String name = desc.getName();
+                int dimensions = 0;
+                while (dimensions < name.length() && name.charAt(dimensions) == '[') {
+                    dimensions++;
+                }
+                // [Ljava.lang.String; 取元素类型，基本类型的数组 [I 总是允许
+                String elementName = dimensions == 0 ? name
+                        : name.charAt(dimensions) == 'L' ? name.substring(dimensions + 1, name.length() - 1) : null;
+                if (elementName != null && !allowedClasses.test(elementName)) {
+                    throw new InvalidClassException(name, "Class is not allowed to be deserialized from the cache");
+                }
+            }
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // 交给默认的类加载器
+                }
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+            if (allowedClasses != null) {
+                throw new InvalidClassException("Proxy classes are not allowed to be deserialized from the cache");
+            }
+            return super.resolveProxyClass(interfaces);
+        }
+    }
+}
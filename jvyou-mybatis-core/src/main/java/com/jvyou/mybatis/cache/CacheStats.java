@@ -0,0 +1,107 @@
+package com.jvyou.mybatis.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 23:40
+ * ---description 缓存统计的快照，不可变
+ * 命中、未命中和加载由 CachingExecutor 通过 StatisticsCache 记录，写入、淘汰、条目数量和字节数来自底层存储；
+ * 没有经过 StatisticsCache 的缓存只有存储相关的数据。字节数只有序列化存放的缓存（堆外、持久化）才能统计，堆上的缓存为 0
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class CacheStats {
+
+    /**
+     * 命中次数
+     */
+    private final long hitCount;
+
+    /**
+     * 未命中次数，包括条目已经失效的情况
+     */
+    private final long missCount;
+
+    /**
+     * 写入次数
+     */
+    private final long putCount;
+
+    /**
+     * 因为容量不足或者被垃圾回收而移除的条目数量
+     */
+    private final long evictionCount;
+
+    /**
+     * 未命中后查询数据库的次数
+     */
+    private final long loadCount;
+
+    /**
+     * 查询数据库的总耗时，单位纳秒
+     */
+    private final long totalLoadTime;
+
+    /**
+     * 后台提前刷新失败的次数，失败时保留旧的条目
+     */
+    private final long refreshFailureCount;
+
+    /**
+     * 条目数量
+     */
+    private final int size;
+
+    /**
+     * 缓存数据占用的字节数
+     */
+    private final long estimatedBytes;
+
+    /**
+     * 只有存储相关数据的统计
+     *
+     * @param size           条目数量
+     * @param evictionCount  淘汰的条目数量
+     * @param estimatedBytes 占用的字节数
+     * @return 统计
+     */
+    public static CacheStats ofStorage(int size, long evictionCount, long estimatedBytes) {
+        return new CacheStats(0, 0, 0, evictionCount, 0, 0, 0, size, estimatedBytes);
+    }
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return 命中率，没有请求时为 1
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return 平均每次查询数据库的耗时，单位纳秒
+     */
+    public double getAverageLoadTime() {
+        return loadCount == 0 ? 0.0 : (double) totalLoadTime / loadCount;
+    }
+
+    /**
+     * 逐项相加，用于合并多个缓存的统计
+     *
+     * @param other 另一个统计
+     * @return 新的统计
+     */
+    public CacheStats plus(CacheStats other) {
+        return new CacheStats(hitCount + other.hitCount, missCount + other.missCount, putCount + other.putCount,
+                evictionCount + other.evictionCount, loadCount + other.loadCount, totalLoadTime + other.totalLoadTime,
+                refreshFailureCount + other.refreshFailureCount, size + other.size, estimatedBytes + other.estimatedBytes);
+    }
+}
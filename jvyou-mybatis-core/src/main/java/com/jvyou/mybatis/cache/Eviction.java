@@ -0,0 +1,27 @@
+package com.jvyou.mybatis.cache;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 20:10
+ * ---description 缓存满了之后的淘汰策略
+ */
+public enum Eviction {
+
+    /**
+     * 淘汰最久没有访问的条目
+     */
+    LRU,
+
+    /**
+     * 淘汰最早放入的条目
+     */
+    FIFO,
+
+    /**
+     * W-TinyLFU：新条目先进入窗口区，被挤出窗口时和主区的淘汰候选比较访问频率，频率更高的才能留下，
+     * 一次性的大范围扫描不会把热点数据挤出缓存
+     */
+    TINY_LFU
+
+}
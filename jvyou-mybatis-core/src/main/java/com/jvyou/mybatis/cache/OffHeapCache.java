@@ -0,0 +1,289 @@
+package com.jvyou.mybatis.cache;
+
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 22:40
+ * ---description 堆外缓存
+ * 缓存值序列化后存放在直接内存的 slab 中，堆上只保留键和块的索引，大量缓存数据不再进入老年代，也不会拉长 GC 停顿。
+ * 每个 slab 按 blockSize 切成固定大小的块，一个条目占用若干个块；总字节数超过 capacity 时按最近最少使用淘汰条目。
+ * 命中时反序列化出一份新的对象，调用方修改结果不会影响缓存。缓存值必须可以序列化，不能序列化的值不会被缓存。
+ * 通过 CacheNamespace 注解的 implementation 选用，properties 设置 capacity、slabSize、blockSize
+ */
+public class OffHeapCache implements Cache {
+
+    private final String id;
+
+    /**
+     * 最多占用的直接内存字节数
+     */
+    private long capacity = 64L * 1024 * 1024;
+
+    /**
+     * 每次向操作系统申请的直接内存大小
+     */
+    private int slabSize = 4 * 1024 * 1024;
+
+    /**
+     * 分配的最小单位，条目的最后一个块平均浪费一半
+     */
+    private int blockSize = 512;
+
+    /**
+     * 键 -> 条目所在的块，按访问顺序排列，最前面的是最久没有访问的
+     */
+    private final LinkedHashMap<CacheKey, Slot> index = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+
+    /**
+     * 空闲块的编号，当作栈使用
+     */
+    private int[] freeBlocks = new int[0];
+
+    private int freeCount;
+
+    private long usedBytes;
+
+    private long evictionCount;
+
+    private long rejectedCount;
+
+    public OffHeapCache(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(CacheKey key, Object value) {
+        if (value == null) {
+            removeObject(key);
+            return;
+        }
+        // 序列化在锁外进行
+        byte[] bytes = CacheSerializer.serialize(value);
+        synchronized (this) {
+            remove(key);
+            int blocks = bytes == null ? 0 : blockCount(bytes.length);
+            if (bytes == null || blocks > maxBlocks()) {
+                // 不能序列化或者比整个缓存还大
+                rejectedCount++;
+                return;
+            }
+            while (freeCount < blocks) {
+                if (!allocateSlab()) {
+                    evictEldest();
+                }
+            }
+            int[] slot = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                slot[i] = freeBlocks[--freeCount];
+                int offset = i * blockSize;
+                ByteBuffer slab = slabs.get(slot[i] / blocksPerSlab());
+                slab.position(slot[i] % blocksPerSlab() * blockSize);
+                slab.put(bytes, offset, Math.min(blockSize, bytes.length - offset));
+            }
+            index.put(key, new Slot(slot, bytes.length));
+            usedBytes += (long) blocks * blockSize;
+        }
+    }
+
+    @Override
+    public Object getObject(CacheKey key) {
+        byte[] bytes;
+        synchronized (this) {
+            Slot slot = index.get(key);
+            if (slot == null) {
+                return null;
+            }
+            bytes = new byte[slot.length];
+            for (int i = 0; i < slot.blocks.length; i++) {
+                int offset = i * blockSize;
+                ByteBuffer slab = slabs.get(slot.blocks[i] / blocksPerSlab());
+                slab.position(slot.blocks[i] % blocksPerSlab() * blockSize);
+                slab.get(bytes, offset, Math.min(blockSize, bytes.length - offset));
+            }
+        }
+        // 反序列化在锁外进行
+        return CacheSerializer.deserialize(bytes);
+    }
+
+    /**
+     * 删除条目，为了避免反序列化不返回旧的值
+     */
+    @Override
+    public synchronized Object removeObject(CacheKey key) {
+        remove(key);
+        return null;
+    }
+
+    @Override
+    public synchronized void clear() {
+        index.clear();
+        int total = slabs.size() * blocksPerSlab();
+        for (int i = 0; i < total; i++) {
+            freeBlocks[i] = i;
+        }
+        freeCount = total;
+        usedBytes = 0;
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return index.size();
+    }
+
+    @Override
+    public synchronized CacheStats getStats() {
+        return CacheStats.ofStorage(index.size(), evictionCount, usedBytes);
+    }
+
+    /**
+     * 条目实际占用的直接内存字节数
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * 已经申请的直接内存字节数
+     */
+    public synchronized long getAllocatedBytes() {
+        return (long) slabs.size() * blocksPerSlab() * blockSize;
+    }
+
+    /**
+     * 因为空间不足被淘汰的条目数量
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * 不能序列化或者太大没有缓存的条目数量
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public synchronized void setCapacity(long capacity) {
+        checkNotAllocated();
+        this.capacity = capacity;
+    }
+
+    public int getSlabSize() {
+        return slabSize;
+    }
+
+    public synchronized void setSlabSize(int slabSize) {
+        checkNotAllocated();
+        this.slabSize = slabSize;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public synchronized void setBlockSize(int blockSize) {
+        checkNotAllocated();
+        this.blockSize = blockSize;
+    }
+
+    private void checkNotAllocated() {
+        if (!slabs.isEmpty()) {
+            throw new JvyouMybatisException("Off-heap cache '" + id + "' is already in use");
+        }
+    }
+
+    /**
+     * 容量比 slabSize 小时 slab 只申请容量大小
+     */
+    private int blocksPerSlab() {
+        return (int) Math.max(1, Math.min(slabSize, capacity) / blockSize);
+    }
+
+    /**
+     * 所有 slab 加起来最多的块数
+     */
+    private long maxBlocks() {
+        long slabBytes = (long) blocksPerSlab() * blockSize;
+        return Math.max(1, capacity / slabBytes) * blocksPerSlab();
+    }
+
+    private int blockCount(int length) {
+        return Math.max(1, (length + blockSize - 1) / blockSize);
+    }
+
+    /**
+     * 还没有达到容量时再申请一个 slab
+     */
+    private boolean allocateSlab() {
+        int blocksPerSlab = blocksPerSlab();
+        if ((long) (slabs.size() + 1) * blocksPerSlab > maxBlocks()) {
+            return false;
+        }
+        int first = slabs.size() * blocksPerSlab;
+        slabs.add(ByteBuffer.allocateDirect(blocksPerSlab * blockSize));
+        int[] blocks = new int[first + blocksPerSlab];
+        System.arraycopy(freeBlocks, 0, blocks, 0, freeCount);
+        freeBlocks = blocks;
+        for (int i = first + blocksPerSlab - 1; i >= first; i--) {
+            freeBlocks[freeCount++] = i;
+        }
+        return true;
+    }
+
+    private void evictEldest() {
+        Iterator<Map.Entry<CacheKey, Slot>> iterator = index.entrySet().iterator();
+        Map.Entry<CacheKey, Slot> eldest = iterator.next();
+        iterator.remove();
+        release(eldest.getValue());
+        evictionCount++;
+    }
+
+    private void remove(CacheKey key) {
+        Slot slot = index.remove(key);
+        if (slot != null) {
+            release(slot);
+        }
+    }
+
+    private void release(Slot slot) {
+        for (int block : slot.blocks) {
+            freeBlocks[freeCount++] = block;
+        }
+        usedBytes -= (long) slot.blocks.length * blockSize;
+    }
+
+    /**
+     * 条目占用的块和序列化后的字节数
+     */
+    private static class Slot {
+
+        private final int[] blocks;
+
+        private final int length;
+
+        Slot(int[] blocks, int length) {
+            this.blocks = blocks;
+            this.length = length;
+        }
+    }
+}
@@ -1,19 +1,20 @@
 package com.jvyou.mybatis.cache;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author 橘柚
  * @version 1.0-SNAPSHOT
  * @since 2024/5/21 13:46
  * ---description 永久缓存
+ * 二级缓存被同一个命名空间的所有会话共享，使用 ConcurrentHashMap 保证线程安全，本身不淘汰数据，容量由外层的装饰器限制
  */
 public class PerpetualCache implements Cache {
 
     private final String id;
 
-    private final Map<String, Object> cache = new HashMap<>();
+    private final Map<CacheKey, Object> cache = new ConcurrentHashMap<>();
 
     public PerpetualCache(String id) {
         this.id = id;
@@ -25,17 +26,22 @@ public class PerpetualCache implements Cache {
     }
 
     @Override
-    public void putObject(String key, Object value) {
+    public void putObject(CacheKey key, Object value) {
+        if (value == null) {
+            // ConcurrentHashMap 不支持 null 值，缓存 null 等同于移除
+            cache.remove(key);
+            return;
+        }
         cache.put(key, value);
     }
 
     @Override
-    public Object getObject(String key) {
+    public Object getObject(CacheKey key) {
         return cache.get(key);
     }
 
     @Override
-    public Object removeObject(String key) {
+    public Object removeObject(CacheKey key) {
         return cache.remove(key);
     }
 
@@ -43,4 +49,9 @@ public class PerpetualCache implements Cache {
     public void clear() {
         cache.clear();
     }
+
+    @Override
+    public int getSize() {
+        return cache.size();
+    }
 }
@@ -0,0 +1,627 @@
+package com.jvyou.mybatis.cache;
+
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 23:05
+ * ---description 持久化缓存
+ * 每个命名空间一个内存映射文件，条目序列化后追加写入，进程重启后扫描文件重建索引，新启动的实例不用从空缓存开始。
+ * 删除和失效通过追加删除标记实现，文件写满时整个清空重新开始。条目记录了依赖的表，
+ * 通过 TableWriteTracker 的监听器在写入提交时删除，不会在重启后复活；进程没有运行期间或者其他实例的写入无法感知，
+ * 所以超过 maxAge 的条目不再使用。语句的指纹是缓存键的一部分，SQL 或返回类型改变后旧的条目不会被命中。
+ * 同一个文件只能被一个进程使用，拿不到文件锁时缓存不生效。
+ * 文件中的数据会被反序列化，所以目录必须只有当前用户可以写入，并且只反序列化白名单中的类：
+ * 常用的 JDK 值类型和集合、缓存自身的类，以及构造时允许的类或包（查询结果的实体类、参数中的枚举等）
+ */
+public class PersistentCache implements Cache {
+
+    private static final int MAGIC = 0x4A564348;
+
+    private static final int VERSION = 1;
+
+    /**
+     * 文件头：魔数、版本、写入位置、保留
+     */
+    private static final int HEADER = 16;
+
+    private static final int POSITION_OFFSET = 8;
+
+    /**
+     * 值不是 CacheEntry，没有表依赖信息
+     */
+    private static final int UNTRACKED = -2;
+
+    /**
+     * 依赖的表未知
+     */
+    private static final int UNKNOWN_TABLES = -1;
+
+    /**
+     * decodeTables 返回的依赖的表未知的标记，和 null（没有表依赖信息）区分
+     */
+    private static final Set<String> UNKNOWN = Collections.unmodifiableSet(new HashSet<>());
+
+    /**
+     * 默认的缓存目录，在当前用户的主目录下
+     */
+    public static final File DEFAULT_DIRECTORY = new File(System.getProperty("user.home"), ".jvyou-mybatis" + File.separator + "cache");
+
+    /**
+     * 总是允许反序列化的类
+     */
+    private static final Set<String> ALLOWED_CLASSES = new HashSet<>(Arrays.asList(
+            "java.lang.String", "java.lang.Boolean", "java.lang.Character", "java.lang.Number", "java.lang.Byte",
+            "java.lang.Short", "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double", "java.lang.Enum",
+            "java.sql.Date", "java.sql.Time", "java.sql.Timestamp",
+            CacheKey.class.getName(), CacheEntry.class.getName()
+    ));
+
+    /**
+     * 总是允许反序列化的包，java.util 不包括子包
+     */
+    private static final List<String> ALLOWED_PACKAGES = Arrays.asList("java.util.", "java.math.", "java.time.");
+
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+
+    private final String id;
+
+    private final File file;
+
+    private final long maxAge;
+
+    private final int capacity;
+
+    /**
+     * 构造时允许反序列化的类或包
+     */
+    private final Set<String> allowedClasses;
+
+    private RandomAccessFile randomAccessFile;
+
+    private FileLock lock;
+
+    private MappedByteBuffer buffer;
+
+    private int writePosition;
+
+    /**
+     * 键 -> 记录在文件中的位置和依赖的表
+     */
+    private final Map<CacheKey, Record> index = new HashMap<>();
+
+    /**
+     * 表 -> 依赖这张表的键
+     */
+    private final Map<String, Set<CacheKey>> keysByTable = new HashMap<>();
+
+    /**
+     * 依赖的表未知的键，任何写入都会使它们失效
+     */
+    private final Set<CacheKey> unknownTableKeys = new HashSet<>();
+
+    private long rejectedCount;
+
+    /**
+     * @param id        缓存ID，也是文件名
+     * @param directory 文件所在的目录
+     * @param capacity  文件大小，单位字节
+     * @param maxAge    条目的最长使用时间，单位毫秒
+     */
+    public PersistentCache(String id, File directory, int capacity, long maxAge) {
+        this(id, directory, capacity, maxAge, Collections.emptySet());
+    }
+
+    /**
+     * @param id             缓存ID，也是文件名
+     * @param directory      文件所在的目录，不存在时创建为只有当前用户可以访问的目录，已经存在时必须属于当前用户并且其他用户不能写入
+     * @param capacity       文件大小，单位字节
+     * @param maxAge         条目的最长使用时间，单位毫秒
+     * @param allowedClasses 允许反序列化的类名或者包名，包名包括子包，类名包括它的内部类
+     */
+    public PersistentCache(String id, File directory, int capacity, long maxAge, Collection<String> allowedClasses) {
+        this.id = id;
+        this.file = new File(directory, id.replaceAll("[^A-Za-z0-9._-]", "_") + ".cache");
+        this.capacity = capacity;
+        this.maxAge = maxAge;
+        this.allowedClasses = new HashSet<>(allowedClasses);
+        open(directory);
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(CacheKey key, Object value) {
+        if (buffer == null) {
+            return;
+        }
+        if (value == null) {
+            removeObject(key);
+            return;
+        }
+        // 序列化在锁外进行
+        byte[] keyBytes = CacheSerializer.serialize(key);
+        byte[] valueBytes = CacheSerializer.serialize(value);
+        Set<String> tables = value instanceof CacheEntry ? ((CacheEntry) value).getTables() : null;
+        byte[] tableBytes = encodeTables(value instanceof CacheEntry, tables);
+        synchronized (this) {
+            if (keyBytes == null || valueBytes == null) {
+                rejectedCount++;
+                remove(key);
+                return;
+            }
+            append(key, keyBytes, tableBytes, valueBytes, System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public Object getObject(CacheKey key) {
+        byte[] bytes;
+        synchronized (this) {
+            Record record = index.get(key);
+            if (record == null) {
+                return null;
+            }
+            if (isExpired(buffer.getLong(record.position + 4))) {
+                remove(key);
+                return null;
+            }
+            bytes = new byte[record.valueLength];
+            buffer.position(record.valueOffset);
+            buffer.get(bytes);
+        }
+        try {
+            return CacheSerializer.deserialize(bytes, this::isAllowedClass);
+        } catch (JvyouMybatisException e) {
+            // 实体类改变了，旧的数据不能再使用
+            removeObject(key);
+            return null;
+        }
+    }
+
+    /**
+     * 删除条目，为了避免反序列化不返回旧的值
+     */
+    @Override
+    public synchronized Object removeObject(CacheKey key) {
+        remove(key);
+        return null;
+    }
+
+    @Override
+    public synchronized void clear() {
+        if (buffer != null) {
+            reset();
+        }
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return index.size();
+    }
+
+    /**
+     * 字节数是文件中已经写入的部分，包括被覆盖和删除的记录
+     */
+    @Override
+    public synchronized CacheStats getStats() {
+        return CacheStats.ofStorage(index.size(), 0, getWrittenBytes());
+    }
+
+    /**
+     * 删除依赖写入的表的条目，注册为 TableWriteTracker 的监听器
+     *
+     * @param tables 写入的表，为空时表示写入的表未知
+     */
+    public synchronized void invalidateTables(Set<String> tables) {
+        List<CacheKey> keys = new ArrayList<>(unknownTableKeys);
+        for (String table : tables) {
+            keys.addAll(keysByTable.getOrDefault(table, Collections.emptySet()));
+        }
+        for (CacheKey key : keys) {
+            remove(key);
+        }
+    }
+
+    /**
+     * 把数据写回文件并释放文件锁，之后缓存不再生效
+     */
+    public synchronized void close() {
+        if (buffer == null) {
+            return;
+        }
+        buffer.force();
+        buffer = null;
+        index.clear();
+        keysByTable.clear();
+        unknownTableKeys.clear();
+        try {
+            lock.release();
+            randomAccessFile.close();
+        } catch (IOException e) {
+            throw new JvyouMybatisException("Could not close persistent cache file " + file, e);
+        }
+    }
+
+    /**
+     * 是否拿到了文件锁，为 false 时缓存不生效
+     */
+    public boolean isEnabled() {
+        return buffer != null;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * 不能序列化或者太大没有缓存的条目数量
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * 已经写入文件的字节数，包括删除标记和被覆盖的旧条目
+     */
+    public synchronized int getWrittenBytes() {
+        return writePosition - HEADER;
+    }
+
+    /**
+     * 是否允许反序列化，数组传入的是元素类型的类名
+     */
+    private boolean isAllowedClass(String name) {
+        if (ALLOWED_CLASSES.contains(name)) {
+            return true;
+        }
+        for (String allowedPackage : ALLOWED_PACKAGES) {
+            if (name.startsWith(allowedPackage)
+                    && (!allowedPackage.equals("java.util.") || name.indexOf('.', allowedPackage.length()) == -1)) {
+                return true;
+            }
+        }
+        for (String allowed : allowedClasses) {
+            if (name.equals(allowed) || name.startsWith(allowed + ".") || name.startsWith(allowed + "$")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void open(File directory) {
+        createPrivateDirectory(directory.toPath());
+        try {
+            createPrivateFile(file.toPath());
+            randomAccessFile = new RandomAccessFile(file, "rw");
+            FileChannel channel = randomAccessFile.getChannel();
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                // 文件正在被其他进程或者同一个进程中的其他缓存使用
+                randomAccessFile.close();
+                randomAccessFile = null;
+                return;
+            }
+            // 文件和锁保持打开，直到调用 close
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new JvyouMybatisException("Could not open persistent cache file " + file, e);
+        }
+        synchronized (this) {
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                reset();
+                return;
+            }
+            writePosition = buffer.getInt(POSITION_OFFSET);
+            if (writePosition < HEADER || writePosition > capacity) {
+                reset();
+                return;
+            }
+            load();
+        }
+    }
+
+    /**
+     * 创建只有当前用户可以访问的目录；目录已经存在时检查它属于当前用户并且其他用户不能写入，
+     * 否则其他用户可以替换缓存文件，让反序列化读到构造的数据。不支持 POSIX 权限的文件系统只创建目录
+     */
+    private static void createPrivateDirectory(Path directory) {
+        boolean posix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+        try {
+            if (!Files.isDirectory(directory)) {
+                if (posix) {
+                    Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIRECTORY));
+                } else {
+                    Files.createDirectories(directory);
+                }
+                return;
+            }
+            if (!posix) {
+                return;
+            }
+            UserPrincipal currentUser = directory.getFileSystem().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(directory);
+            if (!Files.getOwner(directory).equals(currentUser)
+                    || permissions.contains(PosixFilePermission.GROUP_WRITE) || permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+                throw new JvyouMybatisException("Cache directory " + directory
+                        + " must be owned by the current user and not writable by other users, permissions: "
+                        + PosixFilePermissions.toString(permissions));
+            }
+        } catch (IOException e) {
+            throw new JvyouMybatisException("Could not create cache directory " + directory, e);
+        }
+    }
+
+    /**
+     * 创建只有当前用户可以读写的缓存文件，文件已经存在时不做处理
+     */
+    private static void createPrivateFile(Path path) throws IOException {
+        if (!path.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return;
+        }
+        try {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE));
+        } catch (FileAlreadyExistsException e) {
+            // 已经存在的文件在私有目录中，由当前用户创建
+        }
+    }
+
+    /**
+     * 扫描文件重建索引，遇到不完整的记录时丢弃后面的内容
+     */
+    private void load() {
+        int position = HEADER;
+        while (position < writePosition) {
+            Record record = readRecord(position);
+            if (record == null) {
+                writePosition = position;
+                buffer.putInt(POSITION_OFFSET, writePosition);
+                return;
+            }
+            if (record.valueLength == 0 || isExpired(buffer.getLong(position + 4))) {
+                unlink(record.key);
+            } else {
+                link(record);
+            }
+            position = record.end;
+        }
+    }
+
+    /**
+     * 读取一条记录，文件中的长度都要检查不超过记录的结尾，损坏的文件不会导致越界或者分配过大的数组
+     *
+     * @param position 记录的位置
+     * @return 记录，不完整或者损坏时返回 null
+     */
+    private Record readRecord(int position) {
+        try {
+            if (writePosition - position < 4) {
+                return null;
+            }
+            int length = buffer.getInt(position);
+            // 长度、写入时间、键的长度、表名的长度至少 20 个字节
+            if (length < 16 || length > writePosition - position - 4) {
+                return null;
+            }
+            int end = position + 4 + length;
+            int keyLength = buffer.getInt(position + 12);
+            if (keyLength < 0 || keyLength > end - position - 20) {
+                return null;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            buffer.position(position + 16);
+            buffer.get(keyBytes);
+            CacheKey key = (CacheKey) CacheSerializer.deserialize(keyBytes, this::isAllowedClass);
+            int tableLength = buffer.getInt();
+            if (tableLength < 4 || tableLength > end - buffer.position()) {
+                return null;
+            }
+            byte[] tableBytes = new byte[tableLength];
+            buffer.get(tableBytes);
+            int valueOffset = buffer.position();
+            return new Record(key, position, valueOffset, end - valueOffset, end, decodeTables(tableBytes));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void append(CacheKey key, byte[] keyBytes, byte[] tableBytes, byte[] valueBytes, long writtenAt) {
+        int length = 8 + 4 + keyBytes.length + 4 + tableBytes.length + valueBytes.length;
+        if (HEADER + 4L + length > capacity) {
+            rejectedCount++;
+            remove(key);
+            return;
+        }
+        if (writePosition + 4L + length > capacity) {
+            // 文件写满了，从头开始
+            reset();
+        }
+        int position = writePosition;
+        buffer.position(position);
+        buffer.putInt(length);
+        buffer.putLong(writtenAt);
+        buffer.putInt(keyBytes.length);
+        buffer.put(keyBytes);
+        buffer.putInt(tableBytes.length);
+        buffer.put(tableBytes);
+        int valueOffset = buffer.position();
+        buffer.put(valueBytes);
+        writePosition = buffer.position();
+        // 记录写完之后再更新写入位置，进程中途退出时不会读到写了一半的记录
+        buffer.putInt(POSITION_OFFSET, writePosition);
+        unlink(key);
+        if (valueBytes.length > 0) {
+            link(new Record(key, position, valueOffset, valueBytes.length, writePosition, decodeTables(tableBytes)));
+        }
+    }
+
+    /**
+     * 删除条目并追加删除标记
+     */
+    private void remove(CacheKey key) {
+        if (buffer == null || !index.containsKey(key)) {
+            return;
+        }
+        byte[] keyBytes = CacheSerializer.serialize(key);
+        append(key, keyBytes, encodeTables(false, null), new byte[0], System.currentTimeMillis());
+    }
+
+    private void link(Record record) {
+        unlink(record.key);
+        index.put(record.key, record);
+        if (record.tables == null) {
+            if (record.tracked) {
+                unknownTableKeys.add(record.key);
+            }
+            return;
+        }
+        for (String table : record.tables) {
+            keysByTable.computeIfAbsent(table, t -> new HashSet<>()).add(record.key);
+        }
+    }
+
+    private void unlink(CacheKey key) {
+        Record record = index.remove(key);
+        if (record == null) {
+            return;
+        }
+        unknownTableKeys.remove(key);
+        if (record.tables != null) {
+            for (String table : record.tables) {
+                Set<CacheKey> keys = keysByTable.get(table);
+                if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                    keysByTable.remove(table);
+                }
+            }
+        }
+    }
+
+    private void reset() {
+        index.clear();
+        keysByTable.clear();
+        unknownTableKeys.clear();
+        writePosition = HEADER;
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(POSITION_OFFSET, writePosition);
+    }
+
+    private boolean isExpired(long writtenAt) {
+        return System.currentTimeMillis() - writtenAt > maxAge;
+    }
+
+    /**
+     * 表名编码：个数（UNTRACKED、UNKNOWN_TABLES 或者表的个数）后面跟着每个表名的长度和 UTF-8 字节
+     */
+    private static byte[] encodeTables(boolean tracked, Set<String> tables) {
+        int count = !tracked ? UNTRACKED : tables == null ? UNKNOWN_TABLES : tables.size();
+        List<byte[]> names = new ArrayList<>();
+        int length = 4;
+        if (tables != null) {
+            for (String table : tables) {
+                byte[] name = table.getBytes(StandardCharsets.UTF_8);
+                names.add(name);
+                length += 4 + name.length;
+            }
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        bytes.putInt(count);
+        for (byte[] name : names) {
+            bytes.putInt(name.length);
+            bytes.put(name);
+        }
+        return bytes.array();
+    }
+
+    private static Set<String> decodeTables(byte[] encoded) {
+        ByteBuffer bytes = ByteBuffer.wrap(encoded);
+        int count = bytes.getInt();
+        if (count < 0) {
+            return count == UNTRACKED ? null : UNKNOWN;
+        }
+        Set<String> tables = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            int length = bytes.getInt();
+            if (length < 0 || length > bytes.remaining()) {
+                throw new IllegalArgumentException("Corrupted table names");
+            }
+            byte[] name = new byte[length];
+            bytes.get(name);
+            tables.add(new String(name, StandardCharsets.UTF_8));
+        }
+        return tables;
+    }
+
+    /**
+     * 一条记录
+     */
+    private static class Record {
+
+        private final CacheKey key;
+
+        private final int position;
+
+        private final int valueOffset;
+
+        private final int valueLength;
+
+        private final int end;
+
+        /**
+         * 依赖的表，null 表示依赖的表未知或者没有表依赖信息
+         */
+        private final Set<String> tables;
+
+        /**
+         * 值是否是 CacheEntry
+         */
+        private final boolean tracked;
+
+        Record(CacheKey key, int position, int valueOffset, int valueLength, int end, Set<String> decodedTables) {
+            this.key = key;
+            this.position = position;
+            this.valueOffset = valueOffset;
+            this.valueLength = valueLength;
+            this.end = end;
+            this.tracked = decodedTables != null;
+            this.tables = decodedTables == UNKNOWN ? null : decodedTables;
+        }
+    }
+}
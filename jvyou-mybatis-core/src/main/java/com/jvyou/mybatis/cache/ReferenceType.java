@@ -0,0 +1,26 @@
+package com.jvyou.mybatis.cache;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 20:10
+ * ---description 缓存值的引用类型
+ */
+public enum ReferenceType {
+
+    /**
+     * 强引用，只由淘汰策略移除
+     */
+    STRONG,
+
+    /**
+     * 软引用，内存不足时可以被垃圾回收
+     */
+    SOFT,
+
+    /**
+     * 弱引用，下一次垃圾回收时就可以被回收
+     */
+    WEAK
+
+}
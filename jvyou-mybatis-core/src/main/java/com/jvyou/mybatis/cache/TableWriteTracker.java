@@ -0,0 +1,122 @@
+package com.jvyou.mybatis.cache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 21:50
+ * ---description 表写入时间记录，所有命名空间的二级缓存共用一个
+ * 时间戳使用混合逻辑时钟：高位是毫秒时间，低 16 位是同一毫秒内的计数，保证单调递增且大致对应真实时间。
+ * 缓存条目记录查询开始时的时间戳，依赖的表在这之后提交过写入时条目失效，写入一张表不会影响依赖其他表的缓存
+ */
+public class TableWriteTracker {
+
+    private static final int LOGICAL_BITS = 16;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * 表名 -> 最后一次提交写入的时间戳
+     */
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    /**
+     * 任意一张表最后一次提交写入的时间戳，用于依赖的表未知的缓存条目
+     */
+    private final AtomicLong lastAnyWrite = new AtomicLong();
+
+    /**
+     * 写入的监听器，参数为小写的表名，为空时表示写入的表未知
+     */
+    private final List<Consumer<Set<String>>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 获取一个新的时间戳，比之前返回过的都大
+     *
+     * @return 时间戳
+     */
+    public long now() {
+        long physical = System.currentTimeMillis() << LOGICAL_BITS;
+        return clock.updateAndGet(previous -> Math.max(previous + 1, physical));
+    }
+
+    /**
+     * 时间戳对应的毫秒时间
+     *
+     * @param stamp now 返回的时间戳
+     * @return 毫秒时间
+     */
+    public static long toMillis(long stamp) {
+        return stamp >>> LOGICAL_BITS;
+    }
+
+    /**
+     * 记录表的写入，应当在数据库事务提交之后调用
+     *
+     * @param tables 写入的表，为空时只记录发生了写入，使依赖的表未知的缓存条目失效
+     * @return 写入的时间戳
+     */
+    public long recordWrite(Collection<String> tables) {
+        long stamp = now();
+        Set<String> written = new HashSet<>();
+        for (String table : tables) {
+            String name = table.toLowerCase(Locale.ROOT);
+            written.add(name);
+            lastWrites.merge(name, stamp, Math::max);
+        }
+        lastAnyWrite.accumulateAndGet(stamp, Math::max);
+        for (Consumer<Set<String>> listener : listeners) {
+            listener.accept(written);
+        }
+        return stamp;
+    }
+
+    /**
+     * 添加写入的监听器，需要主动删除失效条目的缓存（如持久化缓存）使用，写入记录之后同步调用
+     *
+     * @param listener 参数为写入的表，为空时表示写入的表未知
+     */
+    public void addListener(Consumer<Set<String>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 判断时间戳之后依赖的表是否都没有写入
+     *
+     * @param tables 依赖的表，null 表示未知，任何写入都会使它失效
+     * @param stamp  读取开始时的时间戳
+     * @return 没有写入时返回 true
+     */
+    public boolean isFresh(Set<String> tables, long stamp) {
+        if (tables == null) {
+            return lastAnyWrite.get() < stamp;
+        }
+        for (String table : tables) {
+            Long lastWrite = lastWrites.get(table);
+            if (lastWrite != null && lastWrite >= stamp) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取表最后一次写入的时间戳
+     *
+     * @param table 表名
+     * @return 时间戳，没有写入过时返回 0
+     */
+    public long getLastWrite(String table) {
+        return lastWrites.getOrDefault(table.toLowerCase(Locale.ROOT), 0L);
+    }
+}
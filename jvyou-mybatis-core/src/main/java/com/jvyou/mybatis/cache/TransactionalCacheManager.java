@@ -0,0 +1,46 @@
+package com.jvyou.mybatis.cache;
+
+import com.jvyou.mybatis.cache.decorators.TransactionalCache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 21:20
+ * ---description 事务缓存管理器，一个会话一个实例
+ * 会话访问的每个二级缓存对应一个 TransactionalCache，提交、回滚时统一处理
+ */
+public class TransactionalCacheManager {
+
+    private final Map<Cache, TransactionalCache> transactionalCaches = new HashMap<>();
+
+    public Object getObject(Cache cache, CacheKey key) {
+        return getTransactionalCache(cache).getObject(key);
+    }
+
+    public void putObject(Cache cache, CacheKey key, Object value) {
+        getTransactionalCache(cache).putObject(key, value);
+    }
+
+    public void clear(Cache cache) {
+        getTransactionalCache(cache).clear();
+    }
+
+    public void commit() {
+        for (TransactionalCache transactionalCache : transactionalCaches.values()) {
+            transactionalCache.commit();
+        }
+    }
+
+    public void rollback() {
+        for (TransactionalCache transactionalCache : transactionalCaches.values()) {
+            transactionalCache.rollback();
+        }
+    }
+
+    private TransactionalCache getTransactionalCache(Cache cache) {
+        return transactionalCaches.computeIfAbsent(cache, TransactionalCache::new);
+    }
+}
@@ -0,0 +1,139 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.cache.CacheStats;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 22:10
+ * ---description 合并并发加载的缓存装饰器
+ * 同一个键未命中时只有第一个线程查询数据库，其他线程等待它的结果，避免热点缓存失效时大量请求同时打到数据库。
+ * 等待超过 timeout 毫秒或者加载失败时，等待的线程自己查询数据库。缓存本身的读写直接交给被装饰的缓存
+ */
+public class BlockingCache implements Cache {
+
+    private final Cache delegate;
+
+    private final long timeout;
+
+    /**
+     * 正在加载的键 -> 加载结果，加载失败时结果为 null
+     */
+    private final Map<CacheKey, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+
+    /**
+     * 等到了其他线程加载结果的次数
+     */
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @param delegate 被装饰的缓存
+     * @param timeout  等待其他线程加载的最长时间，单位毫秒
+     */
+    public BlockingCache(Cache delegate, long timeout) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public void putObject(CacheKey key, Object value) {
+        delegate.putObject(key, value);
+    }
+
+    @Override
+    public Object getObject(CacheKey key) {
+        return delegate.getObject(key);
+    }
+
+    @Override
+    public Object removeObject(CacheKey key) {
+        return delegate.removeObject(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public int getSize() {
+        return delegate.getSize();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return delegate.getStats();
+    }
+
+    /**
+     * 登记对键的加载
+     *
+     * @param key  缓存的键
+     * @param load 当前线程的加载结果
+     * @return 其他线程正在进行的加载，没有时返回 null，当前线程负责加载并在结束后调用 complete
+     */
+    public CompletableFuture<Object> join(CacheKey key, CompletableFuture<Object> load) {
+        return loads.putIfAbsent(key, load);
+    }
+
+    /**
+     * 结束加载并唤醒等待的线程
+     *
+     * @param key   缓存的键
+     * @param load  join 时传入的加载结果
+     * @param value 加载到的值，加载失败时为 null
+     */
+    public void complete(CacheKey key, CompletableFuture<Object> load, Object value) {
+        loads.remove(key, load);
+        load.complete(value);
+    }
+
+    /**
+     * 等待其他线程的加载结果
+     *
+     * @param load join 返回的加载
+     * @return 加载到的值，超时、被中断或者加载失败时返回 null
+     */
+    public Object await(CompletableFuture<Object> load) {
+        try {
+            Object value = load.get(timeout, TimeUnit.MILLISECONDS);
+            if (value != null) {
+                coalesced.increment();
+            }
+            return value;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * 获取等到其他线程加载结果的次数，也就是少查询数据库的次数
+     *
+     * @return 合并的次数
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+}
@@ -0,0 +1,39 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.CacheKey;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 20:20
+ * ---description 单个分段的淘汰策略，只记录键，由 StripedEvictionCache 在分段的锁内调用
+ */
+interface EvictionPolicy {
+
+    /**
+     * 是否需要记录读取，FIFO 不关心读取，读取时不需要加锁
+     *
+     * @return 是否需要记录读取
+     */
+    boolean recordsAccess();
+
+    /**
+     * 记录一次读取
+     *
+     * @param key 键
+     * @param hit 是否命中
+     */
+    void onGet(CacheKey key, boolean hit);
+
+    /**
+     * 记录一次写入
+     *
+     * @param key 键
+     * @return 需要淘汰的键，可能是刚写入的键本身，不需要淘汰时返回 null
+     */
+    CacheKey onPut(CacheKey key);
+
+    void onRemove(CacheKey key);
+
+    void clear();
+}
@@ -0,0 +1,21 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.Cache;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 20:30
+ * ---description FIFO 淘汰装饰器，淘汰分段内最早放入的条目，读取时不需要加锁
+ */
+public class FifoCache extends StripedEvictionCache {
+
+    public FifoCache(Cache delegate, int size) {
+        super(delegate, size);
+    }
+
+    @Override
+    EvictionPolicy newPolicy(int capacity) {
+        return new LruCache.LinkedPolicy(capacity, false);
+    }
+}
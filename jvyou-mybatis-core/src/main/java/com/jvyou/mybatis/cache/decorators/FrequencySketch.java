@@ -0,0 +1,80 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.CacheKey;
+
+import java.util.Arrays;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 20:40
+ * ---description 访问频率估计（Count-Min Sketch）
+ * 每个键映射到 4 个计数器，估计值取其中最小的，计数器上限为 15。
+ * 累计记录次数达到容量的 10 倍时所有计数器减半，让很久以前的热点逐渐冷却。不是线程安全的，由分段的锁保护
+ */
+class FrequencySketch {
+
+    private static final int[] SEEDS = {0x97cb3127, 0xb8c8e3b5, 0x7f4a7c15, 0xa4093822};
+
+    private static final int MAX_COUNT = 15;
+
+    private final int[] table;
+
+    private final int sampleSize;
+
+    private int additions;
+
+    FrequencySketch(int capacity) {
+        int length = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+        this.table = new int[length];
+        this.sampleSize = Math.max(10, capacity * 10);
+    }
+
+    void increment(CacheKey key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int seed : SEEDS) {
+            int index = indexOf(hash, seed);
+            if (table[index] < MAX_COUNT) {
+                table[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    int frequency(CacheKey key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int seed : SEEDS) {
+            frequency = Math.min(frequency, table[indexOf(hash, seed)]);
+        }
+        return frequency;
+    }
+
+    void clear() {
+        Arrays.fill(table, 0);
+        additions = 0;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>>= 1;
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int seed) {
+        int h = hash * seed;
+        h ^= h >>> 17;
+        return h & (table.length - 1);
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x45d9f3b;
+        return h ^ (h >>> 16);
+    }
+}
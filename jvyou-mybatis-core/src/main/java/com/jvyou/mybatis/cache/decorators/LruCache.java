@@ -0,0 +1,77 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 20:30
+ * ---description LRU 淘汰装饰器，淘汰分段内最久没有访问的条目
+ */
+public class LruCache extends StripedEvictionCache {
+
+    public LruCache(Cache delegate, int size) {
+        super(delegate, size);
+    }
+
+    @Override
+    EvictionPolicy newPolicy(int capacity) {
+        return new LinkedPolicy(capacity, true);
+    }
+
+    /**
+     * 使用 LinkedHashMap 记录键的顺序，accessOrder 为 true 时按访问顺序（LRU），否则按插入顺序（FIFO）
+     */
+    static class LinkedPolicy implements EvictionPolicy {
+
+        private final int capacity;
+
+        private final boolean accessOrder;
+
+        private final LinkedHashMap<CacheKey, Boolean> keys;
+
+        LinkedPolicy(int capacity, boolean accessOrder) {
+            this.capacity = capacity;
+            this.accessOrder = accessOrder;
+            this.keys = new LinkedHashMap<>(16, 0.75f, accessOrder);
+        }
+
+        @Override
+        public boolean recordsAccess() {
+            return accessOrder;
+        }
+
+        @Override
+        public void onGet(CacheKey key, boolean hit) {
+            if (hit) {
+                keys.get(key);
+            }
+        }
+
+        @Override
+        public CacheKey onPut(CacheKey key) {
+            keys.put(key, Boolean.TRUE);
+            if (keys.size() <= capacity) {
+                return null;
+            }
+            Iterator<CacheKey> iterator = keys.keySet().iterator();
+            CacheKey eldest = iterator.next();
+            iterator.remove();
+            return eldest;
+        }
+
+        @Override
+        public void onRemove(CacheKey key) {
+            keys.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            keys.clear();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.cache.CacheStats;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 20:50
+ * ---description 软引用、弱引用缓存的基类
+ * 值包装成引用后放入被装饰的缓存，被垃圾回收的条目在下一次写入、删除或统计数量时从被装饰的缓存中移除
+ */
+public abstract class ReferenceCache implements Cache {
+
+    private final Cache delegate;
+
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    /**
+     * 被垃圾回收的条目数量
+     */
+    private final LongAdder collected = new LongAdder();
+
+    protected ReferenceCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 创建值的引用，引用需要实现 KeyedReference，回收后才能找到对应的键
+     *
+     * @param key   键
+     * @param value 值
+     * @param queue 回收通知队列
+     * @return 引用
+     */
+    protected abstract Reference<Object> newReference(CacheKey key, Object value, ReferenceQueue<Object> queue);
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public void putObject(CacheKey key, Object value) {
+        removeCollectedEntries();
+        delegate.putObject(key, value == null ? null : newReference(key, value, queue));
+    }
+
+    @Override
+    public Object getObject(CacheKey key) {
+        Object reference = delegate.getObject(key);
+        if (reference == null) {
+            return null;
+        }
+        Object value = ((Reference<?>) reference).get();
+        if (value == null) {
+            delegate.removeObject(key);
+            collected.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public Object removeObject(CacheKey key) {
+        removeCollectedEntries();
+        Object reference = delegate.removeObject(key);
+        return reference == null ? null : ((Reference<?>) reference).get();
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        while (queue.poll() != null) {
+            // 已经全部清空，丢弃回收通知
+        }
+    }
+
+    @Override
+    public int getSize() {
+        removeCollectedEntries();
+        return delegate.getSize();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        int size = getSize();
+        CacheStats stats = delegate.getStats();
+        return CacheStats.ofStorage(size, stats.getEvictionCount() + collected.sum(), stats.getEstimatedBytes());
+    }
+
+    private void removeCollectedEntries() {
+        Reference<?> reference;
+        while ((reference = queue.poll()) != null) {
+            CacheKey key = ((KeyedReference) reference).getKey();
+            // 同一个键可能已经放入了新的值，只移除被回收的那个引用
+            if (delegate.getObject(key) == reference) {
+                delegate.removeObject(key);
+                collected.increment();
+            }
+        }
+    }
+
+    /**
+     * 记录键的引用，回收后通过键移除缓存条目
+     */
+    protected interface KeyedReference {
+
+        CacheKey getKey();
+    }
+}
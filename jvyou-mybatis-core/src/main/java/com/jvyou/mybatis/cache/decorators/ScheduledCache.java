@@ -0,0 +1,78 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.cache.CacheStats;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 20:55
+ * ---description 定时清空缓存的装饰器
+ * 不使用后台线程，每次访问时检查距离上次清空是否超过了间隔，超过时先清空再访问
+ */
+public class ScheduledCache implements Cache {
+
+    private final Cache delegate;
+
+    private final long flushInterval;
+
+    private volatile long lastClear;
+
+    /**
+     * @param delegate      被装饰的缓存
+     * @param flushInterval 清空间隔，单位毫秒
+     */
+    public ScheduledCache(Cache delegate, long flushInterval) {
+        this.delegate = delegate;
+        this.flushInterval = flushInterval;
+        this.lastClear = System.currentTimeMillis();
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public void putObject(CacheKey key, Object value) {
+        clearWhenStale();
+        delegate.putObject(key, value);
+    }
+
+    @Override
+    public Object getObject(CacheKey key) {
+        return clearWhenStale() ? null : delegate.getObject(key);
+    }
+
+    @Override
+    public Object removeObject(CacheKey key) {
+        clearWhenStale();
+        return delegate.removeObject(key);
+    }
+
+    @Override
+    public void clear() {
+        lastClear = System.currentTimeMillis();
+        delegate.clear();
+    }
+
+    @Override
+    public int getSize() {
+        clearWhenStale();
+        return delegate.getSize();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return delegate.getStats();
+    }
+
+    private boolean clearWhenStale() {
+        if (System.currentTimeMillis() - lastClear > flushInterval) {
+            clear();
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 20:50
+ * ---description 软引用缓存装饰器，内存不足时缓存的值可以被垃圾回收
+ */
+public class SoftCache extends ReferenceCache {
+
+    public SoftCache(Cache delegate) {
+        super(delegate);
+    }
+
+    @Override
+    protected Reference<Object> newReference(CacheKey key, Object value, ReferenceQueue<Object> queue) {
+        return new SoftEntry(key, value, queue);
+    }
+
+    private static class SoftEntry extends SoftReference<Object> implements KeyedReference {
+
+        private final CacheKey key;
+
+        SoftEntry(CacheKey key, Object value, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+
+        @Override
+        public CacheKey getKey() {
+            return key;
+        }
+    }
+}
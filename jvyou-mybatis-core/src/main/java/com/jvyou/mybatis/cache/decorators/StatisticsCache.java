@@ -0,0 +1,108 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.cache.CacheStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 23:45
+ * ---description 记录统计数据的缓存装饰器，CacheBuilder 把它放在最外层
+ * 命中和未命中由 CachingExecutor 在判断过条目是否失效之后记录，而不是在 getObject 中记录，
+ * 失效的条目算作未命中；写入在 putObject 中记录。计数使用 LongAdder，并发写入时没有竞争
+ */
+public class StatisticsCache implements Cache {
+
+    private final Cache delegate;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder puts = new LongAdder();
+
+    private final LongAdder loads = new LongAdder();
+
+    private final LongAdder loadTime = new LongAdder();
+
+    private final LongAdder refreshFailures = new LongAdder();
+
+    public StatisticsCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public void putObject(CacheKey key, Object value) {
+        puts.increment();
+        delegate.putObject(key, value);
+    }
+
+    @Override
+    public Object getObject(CacheKey key) {
+        return delegate.getObject(key);
+    }
+
+    @Override
+    public Object removeObject(CacheKey key) {
+        return delegate.removeObject(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public int getSize() {
+        return delegate.getSize();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        CacheStats storage = delegate.getStats();
+        return new CacheStats(hits.sum(), misses.sum(), puts.sum(), storage.getEvictionCount(), loads.sum(), loadTime.sum(),
+                refreshFailures.sum(), storage.getSize(), storage.getEstimatedBytes());
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    /**
+     * 记录一次数据库查询
+     *
+     * @param nanos 耗时，单位纳秒
+     */
+    public void recordLoad(long nanos) {
+        loads.increment();
+        loadTime.add(nanos);
+    }
+
+    /**
+     * 记录一次失败的后台刷新
+     */
+    public void recordRefreshFailure() {
+        refreshFailures.increment();
+    }
+
+    /**
+     * 获取被装饰的缓存
+     *
+     * @return 被装饰的缓存
+     */
+    public Cache getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,127 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.cache.CacheStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 20:20
+ * ---description 分段加锁的淘汰装饰器
+ * 按键的哈希把容量平均分到多个分段，每个分段有自己的锁和淘汰策略，不同分段的读写互不阻塞，
+ * 淘汰顺序只在分段内精确，整体是近似的
+ */
+public abstract class StripedEvictionCache implements Cache {
+
+    /**
+     * 每个分段至少的容量，容量太小时分段没有意义
+     */
+    private static final int MIN_STRIPE_CAPACITY = 64;
+
+    private static final int MAX_STRIPES = 16;
+
+    private final Cache delegate;
+
+    private final int size;
+
+    private final EvictionPolicy[] stripes;
+
+    private final LongAdder evictions = new LongAdder();
+
+    protected StripedEvictionCache(Cache delegate, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("缓存容量必须大于 0：" + size);
+        }
+        this.delegate = delegate;
+        this.size = size;
+        int count = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, size / MIN_STRIPE_CAPACITY)));
+        this.stripes = new EvictionPolicy[count];
+        for (int i = 0; i < count; i++) {
+            // 余数分给前面的分段，总容量正好等于 size
+            stripes[i] = newPolicy(size / count + (i < size % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * 创建一个分段的淘汰策略
+     *
+     * @param capacity 分段的容量
+     * @return 淘汰策略
+     */
+    abstract EvictionPolicy newPolicy(int capacity);
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public void putObject(CacheKey key, Object value) {
+        EvictionPolicy stripe = stripeFor(key);
+        synchronized (stripe) {
+            delegate.putObject(key, value);
+            CacheKey evicted = stripe.onPut(key);
+            if (evicted != null) {
+                delegate.removeObject(evicted);
+                evictions.increment();
+            }
+        }
+    }
+
+    @Override
+    public Object getObject(CacheKey key) {
+        Object value = delegate.getObject(key);
+        EvictionPolicy stripe = stripeFor(key);
+        if (stripe.recordsAccess()) {
+            synchronized (stripe) {
+                stripe.onGet(key, value != null);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public Object removeObject(CacheKey key) {
+        EvictionPolicy stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.onRemove(key);
+            return delegate.removeObject(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (EvictionPolicy stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+        delegate.clear();
+    }
+
+    @Override
+    public int getSize() {
+        return delegate.getSize();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        CacheStats stats = delegate.getStats();
+        return CacheStats.ofStorage(stats.getSize(), stats.getEvictionCount() + evictions.sum(), stats.getEstimatedBytes());
+    }
+
+    /**
+     * @return 最大容量
+     */
+    public int getMaxSize() {
+        return size;
+    }
+
+    private EvictionPolicy stripeFor(CacheKey key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,89 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.cache.CacheStats;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 23:20
+ * ---description 两级缓存
+ * 先查内存，未命中时再查磁盘，磁盘命中的条目放回内存；写入同时写到两级，删除和清空同时作用于两级。
+ * 内存中被淘汰的条目仍然可以从磁盘读到，进程重启后内存为空，由磁盘预热
+ */
+public class TieredCache implements Cache {
+
+    private final Cache memory;
+
+    private final Cache disk;
+
+    /**
+     * @param memory 内存缓存，通常已经套上了淘汰策略
+     * @param disk   磁盘缓存
+     */
+    public TieredCache(Cache memory, Cache disk) {
+        this.memory = memory;
+        this.disk = disk;
+    }
+
+    @Override
+    public String getId() {
+        return memory.getId();
+    }
+
+    @Override
+    public void putObject(CacheKey key, Object value) {
+        memory.putObject(key, value);
+        disk.putObject(key, value);
+    }
+
+    @Override
+    public Object getObject(CacheKey key) {
+        Object value = memory.getObject(key);
+        if (value == null) {
+            value = disk.getObject(key);
+            if (value != null) {
+                memory.putObject(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public Object removeObject(CacheKey key) {
+        disk.removeObject(key);
+        return memory.removeObject(key);
+    }
+
+    @Override
+    public void clear() {
+        memory.clear();
+        disk.clear();
+    }
+
+    /**
+     * 内存中的条目数量
+     */
+    @Override
+    public int getSize() {
+        return memory.getSize();
+    }
+
+    /**
+     * 条目数量和淘汰数量取内存的，字节数是两级之和
+     */
+    @Override
+    public CacheStats getStats() {
+        CacheStats stats = memory.getStats();
+        return CacheStats.ofStorage(stats.getSize(), stats.getEvictionCount(), stats.getEstimatedBytes() + disk.getStats().getEstimatedBytes());
+    }
+
+    public Cache getMemory() {
+        return memory;
+    }
+
+    public Cache getDisk() {
+        return disk;
+    }
+}
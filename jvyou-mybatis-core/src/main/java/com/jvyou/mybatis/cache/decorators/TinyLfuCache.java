@@ -0,0 +1,107 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 20:40
+ * ---description W-TinyLFU 淘汰装饰器
+ * 每个分段分成占 1% 的窗口区和 99% 的主区，两个区都按 LRU 排序。新条目先进入窗口区，被挤出窗口区时和主区最久没有访问的条目比较访问频率，
+ * 频率更高的留下。只访问一次的大范围扫描会停留在窗口区，不会把主区的热点数据挤出缓存
+ */
+public class TinyLfuCache extends StripedEvictionCache {
+
+    public TinyLfuCache(Cache delegate, int size) {
+        super(delegate, size);
+    }
+
+    @Override
+    EvictionPolicy newPolicy(int capacity) {
+        return new TinyLfuPolicy(capacity);
+    }
+
+    private static class TinyLfuPolicy implements EvictionPolicy {
+
+        private final int windowCapacity;
+
+        private final int mainCapacity;
+
+        private final LinkedHashMap<CacheKey, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final LinkedHashMap<CacheKey, Boolean> main = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final FrequencySketch sketch;
+
+        TinyLfuPolicy(int capacity) {
+            this.windowCapacity = Math.max(1, capacity / 100);
+            this.mainCapacity = capacity - windowCapacity;
+            this.sketch = new FrequencySketch(capacity);
+        }
+
+        @Override
+        public boolean recordsAccess() {
+            return true;
+        }
+
+        @Override
+        public void onGet(CacheKey key, boolean hit) {
+            // 没有命中也要记录频率，下次放入时才能和主区的条目比较
+            sketch.increment(key);
+            if (hit && window.get(key) == null) {
+                main.get(key);
+            }
+        }
+
+        @Override
+        public CacheKey onPut(CacheKey key) {
+            if (window.get(key) != null || main.get(key) != null) {
+                return null;
+            }
+            window.put(key, Boolean.TRUE);
+            if (window.size() <= windowCapacity) {
+                return null;
+            }
+            CacheKey candidate = removeEldest(window);
+            if (main.size() < mainCapacity) {
+                main.put(candidate, Boolean.TRUE);
+                return null;
+            }
+            if (mainCapacity == 0) {
+                return candidate;
+            }
+            CacheKey victim = main.keySet().iterator().next();
+            if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+                main.remove(victim);
+                main.put(candidate, Boolean.TRUE);
+                return victim;
+            }
+            return candidate;
+        }
+
+        @Override
+        public void onRemove(CacheKey key) {
+            if (window.remove(key) == null) {
+                main.remove(key);
+            }
+        }
+
+        @Override
+        public void clear() {
+            window.clear();
+            main.clear();
+            sketch.clear();
+        }
+
+        private static CacheKey removeEldest(LinkedHashMap<CacheKey, Boolean> keys) {
+            Iterator<CacheKey> iterator = keys.keySet().iterator();
+            CacheKey eldest = iterator.next();
+            iterator.remove();
+            return eldest;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 21:20
+ * ---description 事务缓存，每个会话的每个二级缓存一个实例，不是线程安全的
+ * 查询结果和清空操作先暂存在会话中，提交时再一起写入共享的二级缓存，回滚时直接丢弃，
+ * 其他会话看不到未提交事务中查询到的数据，更新也不会在提交前就清空共享缓存
+ */
+public class TransactionalCache implements Cache {
+
+    private final Cache delegate;
+
+    /**
+     * 提交时是否需要清空二级缓存，会话中执行过更新时为 true
+     */
+    private boolean clearOnCommit;
+
+    /**
+     * 提交时写入二级缓存的条目
+     */
+    private final Map<CacheKey, Object> entriesToAddOnCommit = new HashMap<>();
+
+    public TransactionalCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public void putObject(CacheKey key, Object value) {
+        entriesToAddOnCommit.put(key, value);
+    }
+
+    @Override
+    public Object getObject(CacheKey key) {
+        // 会话自己暂存的结果可以直接读取
+        Object value = entriesToAddOnCommit.get(key);
+        if (value != null || clearOnCommit) {
+            // 会话中已经更新过数据，二级缓存里的数据提交后就会被清空，不能再使用
+            return value;
+        }
+        return delegate.getObject(key);
+    }
+
+    @Override
+    public Object removeObject(CacheKey key) {
+        return entriesToAddOnCommit.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        clearOnCommit = true;
+        entriesToAddOnCommit.clear();
+    }
+
+    @Override
+    public int getSize() {
+        return delegate.getSize();
+    }
+
+    /**
+     * 把暂存的清空和写入操作应用到二级缓存
+     */
+    public void commit() {
+        if (clearOnCommit) {
+            delegate.clear();
+        }
+        for (Map.Entry<CacheKey, Object> entry : entriesToAddOnCommit.entrySet()) {
+            delegate.putObject(entry.getKey(), entry.getValue());
+        }
+        reset();
+    }
+
+    /**
+     * 丢弃暂存的操作
+     */
+    public void rollback() {
+        reset();
+    }
+
+    private void reset() {
+        clearOnCommit = false;
+        entriesToAddOnCommit.clear();
+    }
+}
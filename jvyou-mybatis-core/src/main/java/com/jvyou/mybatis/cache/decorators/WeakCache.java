@@ -0,0 +1,41 @@
+package com.jvyou.mybatis.cache.decorators;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 20:50
+ * ---description 弱引用缓存装饰器，值没有其他强引用时下一次垃圾回收就会被回收
+ */
+public class WeakCache extends ReferenceCache {
+
+    public WeakCache(Cache delegate) {
+        super(delegate);
+    }
+
+    @Override
+    protected Reference<Object> newReference(CacheKey key, Object value, ReferenceQueue<Object> queue) {
+        return new WeakEntry(key, value, queue);
+    }
+
+    private static class WeakEntry extends WeakReference<Object> implements KeyedReference {
+
+        private final CacheKey key;
+
+        WeakEntry(CacheKey key, Object value, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+
+        @Override
+        public CacheKey getKey() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.jvyou.mybatis.cache.invalidation;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 00:35
+ * ---description 合并失效消息的广播装饰器
+ * 第一条消息到达后等待 window 毫秒，期间的消息合并成一条再交给被装饰的广播，写入密集时消息数量不再随写入次数增长。
+ * 其他节点最多晚 window 毫秒收到失效消息，这段时间内它们可能读到旧数据
+ */
+public class BatchingInvalidationBroadcaster implements InvalidationBroadcaster {
+
+    private final InvalidationBroadcaster delegate;
+
+    private final long window;
+
+    private final ScheduledExecutorService scheduler;
+
+    private InvalidationMessage pending;
+
+    private final LongAdder published = new LongAdder();
+
+    private final LongAdder sent = new LongAdder();
+
+    /**
+     * @param delegate 被装饰的广播
+     * @param window   合并的时间窗口，单位毫秒
+     */
+    public BatchingInvalidationBroadcaster(InvalidationBroadcaster delegate, long window) {
+        this.delegate = delegate;
+        this.window = window;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jvyou-mybatis-invalidation-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        published.increment();
+        synchronized (this) {
+            if (pending != null) {
+                pending = pending.merge(message);
+                return;
+            }
+            pending = message;
+        }
+        try {
+            scheduler.schedule(this::flush, window, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 已经关闭，直接发送
+            flush();
+        }
+    }
+
+    @Override
+    public void setReceiver(Consumer<InvalidationMessage> receiver) {
+        delegate.setReceiver(receiver);
+    }
+
+    /**
+     * 立即发送合并中的消息
+     */
+    public void flush() {
+        InvalidationMessage message;
+        synchronized (this) {
+            message = pending;
+            pending = null;
+        }
+        if (message != null) {
+            sent.increment();
+            delegate.publish(message);
+        }
+    }
+
+    /**
+     * 发送合并中的消息后关闭
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        flush();
+        delegate.close();
+    }
+
+    /**
+     * 获取收到的消息数量
+     *
+     * @return 数量
+     */
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    /**
+     * 获取合并后实际发送的消息数量
+     *
+     * @return 数量
+     */
+    public long getSentCount() {
+        return sent.sum();
+    }
+}
@@ -0,0 +1,111 @@
+package com.jvyou.mybatis.cache.invalidation;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.TableWriteTracker;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 00:40
+ * ---description 节点之间的缓存失效
+ * CachingExecutor 提交写入后通过它把写入的表和需要清空的命名空间发给其他节点；
+ * 收到其他节点的消息时把写入的表记录到本节点的 TableWriteTracker，依赖这些表的条目随之失效，再清空消息中的命名空间。
+ * 远程的写入不会再次广播。广播发生在数据库事务提交之后，发送失败时只记录次数，不影响提交
+ */
+public class CacheInvalidationBus {
+
+    private final String nodeId;
+
+    private final TableWriteTracker tableWriteTracker;
+
+    /**
+     * 命名空间 -> 本节点的缓存
+     */
+    private final Map<String, Cache> caches;
+
+    private final InvalidationBroadcaster broadcaster;
+
+    private final LongAdder publishFailures = new LongAdder();
+
+    /**
+     * @param nodeId            本节点的标识，每个节点不同
+     * @param tableWriteTracker 本节点的表写入时间记录
+     * @param caches            命名空间 -> 本节点的缓存
+     * @param broadcaster       广播
+     */
+    public CacheInvalidationBus(String nodeId, TableWriteTracker tableWriteTracker, Map<String, Cache> caches,
+                                InvalidationBroadcaster broadcaster) {
+        this.nodeId = nodeId;
+        this.tableWriteTracker = tableWriteTracker;
+        this.caches = caches;
+        this.broadcaster = broadcaster;
+        broadcaster.setReceiver(this::receive);
+    }
+
+    /**
+     * 广播本节点提交的写入
+     *
+     * @param tables     写入的表
+     * @param namespaces 写入的表无法确定、需要清空的命名空间
+     */
+    public void publish(Collection<String> tables, Collection<String> namespaces) {
+        try {
+            broadcaster.publish(new InvalidationMessage(nodeId, tables, namespaces));
+        } catch (RuntimeException e) {
+            // 其他节点的条目只能等过期或者之后的写入使它失效
+            publishFailures.increment();
+        }
+    }
+
+    /**
+     * 应用其他节点的写入
+     *
+     * @param message 失效消息
+     */
+    public void receive(InvalidationMessage message) {
+        if (nodeId.equals(message.getNodeId())) {
+            return;
+        }
+        if (message.isClearAll()) {
+            // 不知道写入了哪些表，当作表未知的写入并清空所有缓存
+            tableWriteTracker.recordWrite(Collections.emptySet());
+            for (Cache cache : caches.values()) {
+                cache.clear();
+            }
+            return;
+        }
+        tableWriteTracker.recordWrite(message.getTables());
+        for (String namespace : message.getNamespaces()) {
+            Cache cache = caches.get(namespace);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    public void close() {
+        broadcaster.close();
+    }
+
+    /**
+     * 获取广播失败的次数
+     *
+     * @return 次数
+     */
+    public long getPublishFailureCount() {
+        return publishFailures.sum();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public InvalidationBroadcaster getBroadcaster() {
+        return broadcaster;
+    }
+}
@@ -0,0 +1,33 @@
+package com.jvyou.mybatis.cache.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 00:20
+ * ---description 缓存失效消息的广播，多个节点共用一个数据库时让其他节点的二级缓存及时失效
+ * 实现类只负责传输，不保证送达；消息丢失时其他节点依赖 cacheTtl 或者持久化缓存的 maxAge 兜底
+ */
+public interface InvalidationBroadcaster {
+
+    /**
+     * 发送消息给其他节点
+     *
+     * @param message 失效消息
+     */
+    void publish(InvalidationMessage message);
+
+    /**
+     * 设置收到其他节点消息时的处理，可能在传输层的线程中调用
+     *
+     * @param receiver 消息处理
+     */
+    void setReceiver(Consumer<InvalidationMessage> receiver);
+
+    /**
+     * 释放连接和线程
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,83 @@
+package com.jvyou.mybatis.cache.invalidation;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 00:20
+ * ---description 缓存失效消息
+ * 一个节点提交写入后发给其他节点，包括写入的表和需要整个清空的命名空间（写入的表无法确定时），
+ * 两者都为空表示发生了写入的表未知的写入，只使依赖的表未知的条目失效；
+ * 命名空间为 ALL_NAMESPACES 时清空所有命名空间，用于消息太大无法发送等无法准确描述失效范围的情况
+ */
+@Getter
+@ToString
+public final class InvalidationMessage {
+
+    /**
+     * 表示所有命名空间
+     */
+    public static final String ALL_NAMESPACES = "*";
+
+    /**
+     * 发出消息的节点，节点忽略自己发出的消息
+     */
+    private final String nodeId;
+
+    /**
+     * 写入的表，小写
+     */
+    private final Set<String> tables;
+
+    /**
+     * 需要清空的命名空间
+     */
+    private final Set<String> namespaces;
+
+    public InvalidationMessage(String nodeId, Collection<String> tables, Collection<String> namespaces) {
+        this.nodeId = nodeId;
+        this.tables = Collections.unmodifiableSet(new LinkedHashSet<>(tables));
+        this.namespaces = Collections.unmodifiableSet(new LinkedHashSet<>(namespaces));
+    }
+
+    /**
+     * 创建清空所有命名空间的消息
+     *
+     * @param nodeId 发出消息的节点
+     * @return 消息
+     */
+    public static InvalidationMessage clearAll(String nodeId) {
+        return new InvalidationMessage(nodeId, Collections.emptySet(), Collections.singleton(ALL_NAMESPACES));
+    }
+
+    /**
+     * @return 是否清空所有命名空间
+     */
+    public boolean isClearAll() {
+        return namespaces.contains(ALL_NAMESPACES);
+    }
+
+    /**
+     * 合并两条消息，失效的范围是两者之和
+     *
+     * @param other 同一个节点的另一条消息
+     * @return 新的消息
+     */
+    public InvalidationMessage merge(InvalidationMessage other) {
+        if (isClearAll() || other.isClearAll()) {
+            return clearAll(nodeId);
+        }
+        Set<String> mergedTables = new LinkedHashSet<>(tables);
+        mergedTables.addAll(other.tables);
+        Set<String> mergedNamespaces = new LinkedHashSet<>(namespaces);
+        mergedNamespaces.addAll(other.namespaces);
+        return new InvalidationMessage(nodeId, mergedTables, mergedNamespaces);
+    }
+}
@@ -0,0 +1,62 @@
+package com.jvyou.mybatis.cache.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 00:25
+ * ---description 进程内的缓存失效广播，同一个 Hub 创建的广播之间同步传递消息，
+ * 用于测试或者同一个进程中连接同一个数据库的多个 Configuration
+ */
+public class LocalInvalidationBroadcaster implements InvalidationBroadcaster {
+
+    private final Hub hub;
+
+    private volatile Consumer<InvalidationMessage> receiver;
+
+    private LocalInvalidationBroadcaster(Hub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        for (LocalInvalidationBroadcaster member : hub.members) {
+            Consumer<InvalidationMessage> target = member.receiver;
+            if (member != this && target != null) {
+                target.accept(message);
+            }
+        }
+    }
+
+    @Override
+    public void setReceiver(Consumer<InvalidationMessage> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void close() {
+        hub.members.remove(this);
+    }
+
+    /**
+     * 连接在一起的广播
+     */
+    public static class Hub {
+
+        private final List<LocalInvalidationBroadcaster> members = new CopyOnWriteArrayList<>();
+
+        /**
+         * 创建一个连接到这个 Hub 的广播
+         *
+         * @return 广播
+         */
+        public LocalInvalidationBroadcaster join() {
+            LocalInvalidationBroadcaster broadcaster = new LocalInvalidationBroadcaster(this);
+            members.add(broadcaster);
+            return broadcaster;
+        }
+    }
+}
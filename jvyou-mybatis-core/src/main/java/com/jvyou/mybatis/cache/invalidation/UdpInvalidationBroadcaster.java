@@ -0,0 +1,275 @@
+package com.jvyou.mybatis.cache.invalidation;
+
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 00:30
+ * ---description 基于 UDP 的缓存失效广播
+ * 每条消息编码成一个数据报发给所有对端，后台守护线程接收并交给 receiver。UDP 不保证送达，
+ * 适合同一个机房内的少量节点或者在回环地址上测试；节点多、写入频繁时套上 BatchingInvalidationBroadcaster 合并消息。
+ * 指定了共享密钥时每个数据报末尾附加 HMAC-SHA256，接收时丢弃没有签名或者签名不对的数据报，否则任何人都可以清空缓存。
+ * 编码后超过一个数据报的消息改为发送清空所有命名空间的消息
+ */
+public class UdpInvalidationBroadcaster implements InvalidationBroadcaster {
+
+    private static final int MAGIC = 0x4A564956;
+
+    /**
+     * 一个数据报的最大长度
+     */
+    private static final int MAX_PACKET = 64 * 1024 - 64;
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private static final int MAC_LENGTH = 32;
+
+    /**
+     * 接收失败时等待的最短和最长时间，单位毫秒，连续失败时翻倍
+     */
+    private static final long MIN_BACKOFF = 10;
+
+    private static final long MAX_BACKOFF = 1000;
+
+    private final DatagramSocket socket;
+
+    private final List<InetSocketAddress> peers = new CopyOnWriteArrayList<>();
+
+    private final Thread receiverThread;
+
+    /**
+     * 共享密钥，为 null 时不签名也不校验
+     */
+    private final SecretKeySpec secret;
+
+    /**
+     * 格式不对或者签名校验失败而丢弃的数据报数量
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile Consumer<InvalidationMessage> receiver;
+
+    private volatile boolean closed;
+
+    /**
+     * @param bind  本地监听的地址，端口为 0 时随机选择
+     * @param peers 其他节点的地址
+     */
+    public UdpInvalidationBroadcaster(InetSocketAddress bind, Collection<InetSocketAddress> peers) {
+        this(bind, peers, null);
+    }
+
+    /**
+     * @param bind   本地监听的地址，端口为 0 时随机选择
+     * @param peers  其他节点的地址
+     * @param secret 所有节点共享的密钥，用于签名和校验数据报；为 null 时不校验
+     */
+    public UdpInvalidationBroadcaster(InetSocketAddress bind, Collection<InetSocketAddress> peers, byte[] secret) {
+        this.secret = secret == null ? null : new SecretKeySpec(secret, MAC_ALGORITHM);
+        try {
+            this.socket = new DatagramSocket(bind);
+        } catch (SocketException e) {
+            throw new JvyouMybatisException("Could not bind invalidation socket to " + bind, e);
+        }
+        this.peers.addAll(peers);
+        this.receiverThread = new Thread(this::receiveLoop, "jvyou-mybatis-invalidation-" + socket.getLocalPort());
+        this.receiverThread.setDaemon(true);
+        this.receiverThread.start();
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        byte[] bytes = encode(message);
+        if (bytes.length > MAX_PACKET) {
+            // 广播发生在数据库事务提交之后，不能抛出异常，改为让其他节点清空所有缓存
+            bytes = encode(InvalidationMessage.clearAll(message.getNodeId()));
+        }
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(bytes, bytes.length, peer));
+            } catch (IOException e) {
+                // 一个对端发送失败不影响其他对端，也不影响提交
+                if (closed) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void setReceiver(Consumer<InvalidationMessage> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        socket.close();
+    }
+
+    public void addPeer(InetSocketAddress peer) {
+        peers.add(peer);
+    }
+
+    /**
+     * 获取格式不对或者签名校验失败而丢弃的数据报数量
+     *
+     * @return 数量
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 获取实际监听的端口
+     *
+     * @return 端口
+     */
+    public int getLocalPort() {
+        return socket.getLocalPort();
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[64 * 1024];
+        long backoff = MIN_BACKOFF;
+        while (!closed) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                backoff = MIN_BACKOFF;
+            } catch (IOException e) {
+                if (closed || socket.isClosed()) {
+                    return;
+                }
+                // 网络暂时不可用时等待一段时间再接收，避免空转占满 CPU
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF);
+                continue;
+            }
+            InvalidationMessage message = decode(packet.getData(), packet.getLength());
+            if (message == null) {
+                rejected.increment();
+                continue;
+            }
+            Consumer<InvalidationMessage> target = receiver;
+            if (target != null) {
+                try {
+                    target.accept(message);
+                } catch (RuntimeException e) {
+                    // 处理失败不能让接收线程退出
+                }
+            }
+        }
+    }
+
+    /**
+     * 编码消息，指定了共享密钥时在末尾附加签名
+     */
+    byte[] encode(InvalidationMessage message) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeUTF(message.getNodeId());
+            writeStrings(out, message.getTables());
+            writeStrings(out, message.getNamespaces());
+            out.flush();
+            if (secret != null) {
+                byte[] body = bytes.toByteArray();
+                out.write(sign(body, body.length));
+                out.flush();
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new JvyouMybatisException("Could not encode invalidation message", e);
+        }
+    }
+
+    /**
+     * @return 消息，不是失效消息或者签名校验失败的数据报返回 null
+     */
+    InvalidationMessage decode(byte[] data, int length) {
+        if (secret != null) {
+            if (length < MAC_LENGTH) {
+                return null;
+            }
+            length -= MAC_LENGTH;
+            byte[] expected = sign(data, length);
+            byte[] actual = new byte[MAC_LENGTH];
+            System.arraycopy(data, length, actual, 0, MAC_LENGTH);
+            // 比较时间不随相同前缀的长度变化
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return null;
+            }
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, length));
+            if (in.readInt() != MAGIC) {
+                return null;
+            }
+            String nodeId = in.readUTF();
+            InvalidationMessage message = new InvalidationMessage(nodeId, readStrings(in), readStrings(in));
+            // 末尾还有内容说明格式不对，或者发送方使用了共享密钥而本节点没有
+            return in.available() == 0 ? message : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] data, int length) {
+        try {
+            // Mac 不是线程安全的，发送可能来自多个会话的提交，每次新建
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(secret);
+            mac.update(data, 0, length);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new JvyouMybatisException("Could not sign invalidation message", e);
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, Set<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Negative count: " + count);
+        }
+        List<String> values = new ArrayList<>(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+}
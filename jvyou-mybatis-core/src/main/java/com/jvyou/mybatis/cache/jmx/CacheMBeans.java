@@ -0,0 +1,142 @@
+package com.jvyou.mybatis.cache.jmx;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheStats;
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 23:50
+ * ---description 把二级缓存注册到平台 MBeanServer
+ * 属性每次读取时从缓存获取新的统计快照，不需要后台线程刷新
+ */
+public final class CacheMBeans {
+
+    public static final String DOMAIN = "com.jvyou.mybatis";
+
+    private CacheMBeans() {
+    }
+
+    /**
+     * 注册缓存，已经注册过的对象名先注销再注册
+     *
+     * @param caches 缓存
+     */
+    public static void register(Collection<Cache> caches) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (Cache cache : caches) {
+            try {
+                ObjectName name = objectName(cache.getId());
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+                server.registerMBean(new CacheStatsBean(cache), name);
+            } catch (JMException e) {
+                throw new JvyouMybatisException("Could not register MBean for cache " + cache.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * 注销缓存，没有注册过的忽略
+     *
+     * @param caches 缓存
+     */
+    public static void unregister(Collection<Cache> caches) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (Cache cache : caches) {
+            try {
+                ObjectName name = objectName(cache.getId());
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                throw new JvyouMybatisException("Could not unregister MBean for cache " + cache.getId(), e);
+            }
+        }
+    }
+
+    public static ObjectName objectName(String id) throws JMException {
+        return new ObjectName(DOMAIN + ":type=Cache,id=" + ObjectName.quote(id));
+    }
+
+    private static class CacheStatsBean implements CacheStatsMXBean {
+
+        private final Cache cache;
+
+        CacheStatsBean(Cache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public String getId() {
+            return cache.getId();
+        }
+
+        @Override
+        public long getHitCount() {
+            return stats().getHitCount();
+        }
+
+        @Override
+        public long getMissCount() {
+            return stats().getMissCount();
+        }
+
+        @Override
+        public double getHitRate() {
+            return stats().getHitRate();
+        }
+
+        @Override
+        public long getPutCount() {
+            return stats().getPutCount();
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return stats().getEvictionCount();
+        }
+
+        @Override
+        public long getLoadCount() {
+            return stats().getLoadCount();
+        }
+
+        @Override
+        public double getAverageLoadTime() {
+            return stats().getAverageLoadTime();
+        }
+
+        @Override
+        public long getRefreshFailureCount() {
+            return stats().getRefreshFailureCount();
+        }
+
+        @Override
+        public int getSize() {
+            return stats().getSize();
+        }
+
+        @Override
+        public long getEstimatedBytes() {
+            return stats().getEstimatedBytes();
+        }
+
+        @Override
+        public void clear() {
+            cache.clear();
+        }
+
+        private CacheStats stats() {
+            return cache.getStats();
+        }
+    }
+}
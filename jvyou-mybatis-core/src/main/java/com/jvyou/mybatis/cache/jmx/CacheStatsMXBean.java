@@ -0,0 +1,40 @@
+package com.jvyou.mybatis.cache.jmx;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 23:50
+ * ---description 二级缓存的 JMX 管理接口，每个命名空间注册一个，对象名为 com.jvyou.mybatis:type=Cache,id="命名空间"
+ */
+public interface CacheStatsMXBean {
+
+    String getId();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRate();
+
+    long getPutCount();
+
+    long getEvictionCount();
+
+    long getLoadCount();
+
+    /**
+     * @return 平均每次查询数据库的耗时，单位纳秒
+     */
+    double getAverageLoadTime();
+
+    long getRefreshFailureCount();
+
+    int getSize();
+
+    long getEstimatedBytes();
+
+    /**
+     * 清空缓存
+     */
+    void clear();
+}
@@ -0,0 +1,41 @@
+package com.jvyou.mybatis.cursor;
+
+import java.io.Closeable;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 10:50
+ * ---description 游标，遍历时才从 ResultSet 中逐行读取并映射结果，适合处理一次性无法全部放进内存的大结果集
+ * 游标只能被遍历一次，遍历完毕或者调用 close 方法后会关闭底层的 ResultSet 和语句，游标必须在 SqlSession 关闭之前使用
+ */
+public interface Cursor<T> extends Closeable, Iterable<T> {
+
+    /**
+     * 游标是否处于打开状态，打开状态的游标已经开始从数据库读取数据
+     *
+     * @return 游标已经开始读取数据并且没有关闭时返回 true
+     */
+    boolean isOpen();
+
+    /**
+     * 游标是否已经读取完所有数据
+     *
+     * @return 所有数据都已读取时返回 true
+     */
+    boolean isConsumed();
+
+    /**
+     * 获取当前元素的下标，第一个元素的下标为 0
+     *
+     * @return 当前元素的下标，还没有读取任何元素时返回 -1
+     */
+    int getCurrentIndex();
+
+    /**
+     * 关闭游标，同时关闭底层的 ResultSet，不会抛出受检异常
+     */
+    @Override
+    void close();
+
+}
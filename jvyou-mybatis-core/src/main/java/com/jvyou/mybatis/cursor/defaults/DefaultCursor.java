@@ -0,0 +1,168 @@
+package com.jvyou.mybatis.cursor.defaults;
+
+import com.jvyou.mybatis.cursor.Cursor;
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+import com.jvyou.mybatis.executor.resultset.DefaultResultSetHandler;
+import com.jvyou.mybatis.executor.resultset.RowMappingPlan;
+import com.jvyou.mybatis.mapping.MappedStatement;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 11:00
+ * ---description 默认游标实现，每次迭代时才调用结果集处理器映射下一行
+ */
+public class DefaultCursor<T> implements Cursor<T> {
+
+    private final DefaultResultSetHandler resultSetHandler;
+
+    private final MappedStatement ms;
+
+    private final ResultSet resultSet;
+
+    private final CursorIterator cursorIterator = new CursorIterator();
+
+    /**
+     * 第一次读取时才解析行映射计划
+     */
+    private RowMappingPlan rowMappingPlan;
+
+    private boolean iteratorRetrieved;
+
+    private CursorStatus status = CursorStatus.CREATED;
+
+    private int indexWithRowBound = -1;
+
+    public DefaultCursor(DefaultResultSetHandler resultSetHandler, MappedStatement ms, ResultSet resultSet) {
+        this.resultSetHandler = resultSetHandler;
+        this.ms = ms;
+        this.resultSet = resultSet;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return status == CursorStatus.OPEN;
+    }
+
+    @Override
+    public boolean isConsumed() {
+        return status == CursorStatus.CONSUMED;
+    }
+
+    @Override
+    public int getCurrentIndex() {
+        return indexWithRowBound;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (iteratorRetrieved) {
+            throw new IllegalStateException("Cannot open more than one iterator on a Cursor");
+        }
+        if (isClosed()) {
+            throw new IllegalStateException("A Cursor is already closed.");
+        }
+        iteratorRetrieved = true;
+        return cursorIterator;
+    }
+
+    @Override
+    public void close() {
+        if (isClosed()) {
+            return;
+        }
+        try {
+            // 语句在创建时设置了 closeOnCompletion，ResultSet 关闭后语句也会随之关闭
+            resultSet.close();
+        } catch (SQLException e) {
+            // 关闭失败时不影响调用方
+        } finally {
+            status = CursorStatus.CLOSED;
+        }
+    }
+
+    /**
+     * 读取并映射下一行，没有数据时关闭游标
+     *
+     * @return 下一行映射的对象，没有数据时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    protected T fetchNextObject() {
+        if (isClosed()) {
+            return null;
+        }
+        try {
+            status = CursorStatus.OPEN;
+            if (!resultSet.next()) {
+                close();
+                status = CursorStatus.CONSUMED;
+                return null;
+            }
+            indexWithRowBound++;
+            if (rowMappingPlan == null) {
+                rowMappingPlan = resultSetHandler.getRowMappingPlan(ms, resultSet);
+            }
+            return (T) rowMappingPlan.mapRow(resultSet);
+        } catch (SQLException e) {
+            close();
+            throw new JvyouMybatisException("Error fetching next row from cursor " + ms.getId() + ", nested exception is:\n" + e, e);
+        }
+    }
+
+    private boolean isClosed() {
+        return status == CursorStatus.CLOSED || status == CursorStatus.CONSUMED;
+    }
+
+    private enum CursorStatus {
+        /**
+         * 刚创建，还没有读取数据
+         */
+        CREATED,
+        /**
+         * 正在读取数据
+         */
+        OPEN,
+        /**
+         * 被手动关闭
+         */
+        CLOSED,
+        /**
+         * 数据已全部读取，游标已关闭
+         */
+        CONSUMED
+    }
+
+    private class CursorIterator implements Iterator<T> {
+
+        /**
+         * 预读的下一个对象
+         */
+        private T object;
+
+        @Override
+        public boolean hasNext() {
+            if (object == null) {
+                object = fetchNextObject();
+            }
+            return object != null;
+        }
+
+        @Override
+        public T next() {
+            T next = object;
+            if (next == null) {
+                next = fetchNextObject();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            object = null;
+            return next;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.jvyou.mybatis.executor;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.cache.PerpetualCache;
+import com.jvyou.mybatis.cursor.Cursor;
+import com.jvyou.mybatis.executor.statement.StatementHandler;
+import com.jvyou.mybatis.mapping.BoundSql;
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.ResultHandler;
+import com.jvyou.mybatis.transaction.Transaction;
+import lombok.SneakyThrows;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 9:30
+ * ---description 执行器基类，负责一级缓存和事务，具体的语句执行交给子类实现
+ */
+public abstract class BaseExecutor implements Executor {
+
+    protected final Configuration configuration;
+
+    protected final Transaction transaction;
+
+    /**
+     * 会话级别的缓存
+     * 一次会话会创建一个执行器，每个执行器会有一个本地缓存
+     */
+    private final Cache localCache;
+
+    protected BaseExecutor(Configuration configuration, Transaction transaction) {
+        this.configuration = configuration;
+        this.transaction = transaction;
+        this.localCache = new PerpetualCache("LocalCache");
+    }
+
+    @Override
+    public <T> List<T> query(MappedStatement ms, Object parameter) {
+        return query(ms, parameter, ms.getBoundSql(parameter));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> List<T> query(MappedStatement ms, Object parameter, BoundSql boundSql) {
+        CacheKey cacheKey = createCacheKey(ms, parameter, boundSql);
+        Object list = localCache.getObject(cacheKey);
+        if (list != null) {
+            return (List<T>) list;
+        }
+        List<T> result = doQuery(ms, parameter, boundSql, null);
+        // 二级缓存为空的话就才走一级缓存了
+        Cache cache = ms.getCache();
+        if (cache == null) {
+            localCache.putObject(cacheKey, result);
+        }
+        return result;
+    }
+
+    @Override
+    public void query(MappedStatement ms, Object parameter, ResultHandler<?> resultHandler) {
+        // 结果直接交给结果处理器，不经过一级缓存
+        doQuery(ms, parameter, ms.getBoundSql(parameter), resultHandler);
+    }
+
+    @Override
+    public <T> Cursor<T> queryCursor(MappedStatement ms, Object parameter) {
+        // 游标的结果是逐行读取的，不经过一级缓存
+        return doQueryCursor(ms, parameter, ms.getBoundSql(parameter));
+    }
+
+    @Override
+    public int update(MappedStatement ms, Object parameter) {
+        // 执行更新操作必须清除缓存，防止缓存数据与数据库数据不一致
+        localCache.clear();
+        return doUpdate(ms, parameter, ms.getBoundSql(parameter));
+    }
+
+    @Override
+    public List<BatchResult> flushStatements() {
+        return doFlushStatements(false);
+    }
+
+    @Override
+    public void commit(boolean required) {
+        // 提交前先把还没有发送到数据库的语句执行掉
+        flushStatements();
+        transaction.commit();
+    }
+
+    @Override
+    public void rollback(boolean required) {
+        try {
+            // 回滚时缓存的语句直接丢弃，不再执行
+            doFlushStatements(true);
+        } finally {
+            localCache.clear();
+            transaction.rollback();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            doFlushStatements(true);
+        } finally {
+            transaction.close();
+        }
+    }
+
+    @Override
+    public CacheKey createCacheKey(MappedStatement ms, Object parameter, BoundSql boundSql) {
+        return ms.getCacheKey(configuration, boundSql, parameter);
+    }
+
+    @Override
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * 执行查询
+     *
+     * @param ms            MappedStatement 映射语句对象
+     * @param parameter     参数
+     * @param boundSql      解析后的 SQL 以及参数名称列表
+     * @param resultHandler 结果处理器，为空时将结果收集成集合返回
+     * @param <T>           实体类型
+     * @return 实体类集合，传递了结果处理器时返回 null
+     */
+    protected abstract <T> List<T> doQuery(MappedStatement ms, Object parameter, BoundSql boundSql, ResultHandler<?> resultHandler);
+
+    /**
+     * 执行游标查询
+     *
+     * @param ms        MappedStatement 映射语句对象
+     * @param parameter 参数
+     * @param boundSql  解析后的 SQL 以及参数名称列表
+     * @param <T>       实体类型
+     * @return 游标
+     */
+    protected abstract <T> Cursor<T> doQueryCursor(MappedStatement ms, Object parameter, BoundSql boundSql);
+
+    /**
+     * 执行更新
+     *
+     * @param ms        MappedStatement 映射语句对象
+     * @param parameter 参数
+     * @param boundSql  解析后的 SQL 以及参数名称列表
+     * @return 更新的行数
+     */
+    protected abstract int doUpdate(MappedStatement ms, Object parameter, BoundSql boundSql);
+
+    /**
+     * 刷新执行器中缓存的语句
+     *
+     * @param isRollback 是否是回滚，回滚时只需要关闭语句，不需要执行
+     * @return 批处理执行结果
+     */
+    protected abstract List<BatchResult> doFlushStatements(boolean isRollback);
+
+    /**
+     * 从事务中获取连接，创建预编译语句并填充参数
+     *
+     * @param statementHandler 语句处理器
+     * @return 预编译语句
+     */
+    protected Statement prepareStatement(StatementHandler statementHandler) {
+        Connection connection = this.transaction.getConnection();
+        Statement statement = statementHandler.prepare(connection);
+        // 填充参数
+        statementHandler.parameterize(statement);
+        return statement;
+    }
+
+    /**
+     * 通过语句处理器执行查询
+     *
+     * @param statementHandler 语句处理器
+     * @param statement        填充好参数的语句
+     * @param resultHandler    结果处理器，为空时将结果收集成集合返回
+     * @param <T>              实体类型
+     * @return 实体类集合，传递了结果处理器时返回 null
+     */
+    protected <T> List<T> query(StatementHandler statementHandler, Statement statement, ResultHandler<?> resultHandler) {
+        if (resultHandler == null) {
+            return statementHandler.query(statement);
+        }
+        statementHandler.query(statement, resultHandler);
+        return null;
+    }
+
+    /**
+     * 执行游标查询，语句会在游标关闭（ResultSet 关闭）时随之关闭
+     *
+     * @param statementHandler 语句处理器
+     * @param <T>              实体类型
+     * @return 游标
+     */
+    @SneakyThrows
+    protected <T> Cursor<T> queryCursorClosingOnCompletion(StatementHandler statementHandler) {
+        Statement statement = prepareStatement(statementHandler);
+        try {
+            statement.closeOnCompletion();
+            return statementHandler.queryCursor(statement);
+        } catch (Throwable e) {
+            closeStatement(statement);
+            throw e;
+        }
+    }
+
+    @SneakyThrows
+    protected void closeStatement(Statement statement) {
+        if (statement != null) {
+            statement.close();
+        }
+    }
+
+}
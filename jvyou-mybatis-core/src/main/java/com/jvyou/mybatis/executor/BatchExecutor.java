@@ -0,0 +1,169 @@
+package com.jvyou.mybatis.executor;
+
+import com.jvyou.mybatis.cursor.Cursor;
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+import com.jvyou.mybatis.executor.statement.StatementHandler;
+import com.jvyou.mybatis.mapping.BoundSql;
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.ResultHandler;
+import com.jvyou.mybatis.transaction.Transaction;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 9:40
+ * ---description 批量执行器
+ * 连续执行的、映射语句和解析后 SQL 都相同的更新操作会复用同一个预编译语句，通过 addBatch 攒批，
+ * 在执行查询、提交事务、攒批数量达到阈值或者手动调用 flushStatements 时统一通过 executeBatch 发送到数据库。
+ * 查询前和达到阈值时自动执行的批次结果会保留下来，由下一次 flushStatements 一起返回
+ */
+public class BatchExecutor extends BaseExecutor {
+
+    /**
+     * 批处理模式下 update 的返回值，真实的影响行数要通过 flushStatements 返回的 BatchResult 获取
+     */
+    public static final int BATCH_UPDATE_RETURN_VALUE = Integer.MIN_VALUE + 1002;
+
+    private final List<Statement> statementList = new ArrayList<>();
+
+    private final List<BatchResult> batchResultList = new ArrayList<>();
+
+    /**
+     * 攒批数量达到阈值时自动执行的结果，在下一次 flushStatements 时和剩余批次的结果一起返回
+     */
+    private final List<BatchResult> autoFlushedResults = new ArrayList<>();
+
+    /**
+     * 当前正在攒批的 SQL 和映射语句，只有和它们都相同的更新操作才能加入到当前批次
+     */
+    private String currentSql;
+
+    private MappedStatement currentStatement;
+
+    /**
+     * 已经 addBatch 但还没有执行的语句数量
+     */
+    private int pendingCount;
+
+    public BatchExecutor(Configuration configuration, Transaction transaction) {
+        super(configuration, transaction);
+    }
+
+    @Override
+    protected <T> List<T> doQuery(MappedStatement ms, Object parameter, BoundSql boundSql, ResultHandler<?> resultHandler) {
+        // 查询之前先把攒批的更新发送到数据库，保证能查询到之前的更新结果
+        autoFlushedResults.addAll(executeBatches());
+        StatementHandler statementHandler = configuration.newStatementHandler(ms, parameter, boundSql);
+        Statement statement = prepareStatement(statementHandler);
+        try {
+            return query(statementHandler, statement, resultHandler);
+        } finally {
+            closeStatement(statement);
+        }
+    }
+
+    @Override
+    protected <T> Cursor<T> doQueryCursor(MappedStatement ms, Object parameter, BoundSql boundSql) {
+        autoFlushedResults.addAll(executeBatches());
+        StatementHandler statementHandler = configuration.newStatementHandler(ms, parameter, boundSql);
+        return queryCursorClosingOnCompletion(statementHandler);
+    }
+
+    @Override
+    protected int doUpdate(MappedStatement ms, Object parameter, BoundSql boundSql) {
+        StatementHandler statementHandler = configuration.newStatementHandler(ms, parameter, boundSql);
+        String sql = statementHandler.getBoundSql().getParsedSql();
+        Statement statement;
+        if (sql.equals(currentSql) && ms == currentStatement) {
+            // 与上一条更新语句相同，复用最后一个预编译语句，只需要重新填充参数
+            int last = statementList.size() - 1;
+            statement = statementList.get(last);
+            statementHandler.parameterize(statement);
+            batchResultList.get(last).addParameterObject(parameter);
+        } else {
+            statement = prepareStatement(statementHandler);
+            currentSql = sql;
+            currentStatement = ms;
+            statementList.add(statement);
+            BatchResult batchResult = new BatchResult(ms, sql);
+            batchResult.addParameterObject(parameter);
+            batchResultList.add(batchResult);
+        }
+        statementHandler.batch(statement);
+        // 攒批数量达到阈值之后自动执行，避免一次批处理的数据包过大
+        if (++pendingCount >= configuration.getDefaultBatchSize()) {
+            autoFlushedResults.addAll(executeBatches());
+        }
+        return BATCH_UPDATE_RETURN_VALUE;
+    }
+
+    @Override
+    protected List<BatchResult> doFlushStatements(boolean isRollback) {
+        if (isRollback) {
+            autoFlushedResults.clear();
+            clearBatches();
+            return Collections.emptyList();
+        }
+        try {
+            List<BatchResult> results = executeBatches();
+            if (autoFlushedResults.isEmpty()) {
+                return results;
+            }
+            List<BatchResult> all = new ArrayList<>(autoFlushedResults.size() + results.size());
+            all.addAll(autoFlushedResults);
+            all.addAll(results);
+            return all;
+        } finally {
+            autoFlushedResults.clear();
+        }
+    }
+
+    /**
+     * 执行所有攒批的语句并关闭它们
+     *
+     * @return 每个批次的执行结果
+     */
+    private List<BatchResult> executeBatches() {
+        try {
+            if (statementList.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<BatchResult> results = new ArrayList<>(batchResultList.size());
+            for (int i = 0; i < statementList.size(); i++) {
+                BatchResult batchResult = batchResultList.get(i);
+                try {
+                    batchResult.setUpdateCounts(statementList.get(i).executeBatch());
+                } catch (BatchUpdateException e) {
+                    throw new JvyouMybatisException("Error executing batch statement " + batchResult.getMappedStatement().getId()
+                            + " (batch index #" + (i + 1) + "). Cause: " + e, e);
+                } catch (SQLException e) {
+                    throw new JvyouMybatisException("Error flushing batch statements, nested exception is:\n" + e, e);
+                }
+                results.add(batchResult);
+            }
+            return results;
+        } finally {
+            clearBatches();
+        }
+    }
+
+    private void clearBatches() {
+        for (Statement statement : statementList) {
+            closeStatement(statement);
+        }
+        statementList.clear();
+        batchResultList.clear();
+        currentSql = null;
+        currentStatement = null;
+        pendingCount = 0;
+    }
+
+}
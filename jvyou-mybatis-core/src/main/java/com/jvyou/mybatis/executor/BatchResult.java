@@ -0,0 +1,47 @@
+package com.jvyou.mybatis.executor;
+
+import com.jvyou.mybatis.mapping.MappedStatement;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 9:25
+ * ---description 批处理执行结果，一个批处理语句对应一个 BatchResult
+ */
+@Data
+public class BatchResult {
+
+    /**
+     * 批处理对应的映射语句
+     */
+    private final MappedStatement mappedStatement;
+
+    /**
+     * 批处理执行的 SQL
+     */
+    private final String sql;
+
+    /**
+     * 批处理中每次 addBatch 时传递的参数
+     */
+    private final List<Object> parameterObjects = new ArrayList<>();
+
+    /**
+     * executeBatch 返回的每条语句影响的行数
+     */
+    private int[] updateCounts;
+
+    public BatchResult(MappedStatement mappedStatement, String sql) {
+        this.mappedStatement = mappedStatement;
+        this.sql = sql;
+    }
+
+    public void addParameterObject(Object parameterObject) {
+        this.parameterObjects.add(parameterObject);
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.jvyou.mybatis.executor;
+
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheEntry;
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.cache.TableWriteTracker;
+import com.jvyou.mybatis.cache.decorators.StatisticsCache;
+import com.jvyou.mybatis.mapping.BoundSql;
+import com.jvyou.mybatis.mapping.MappedStatement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 00:05
+ * ---description 二级缓存的提前刷新
+ * 设置了 refreshAhead 的语句，缓存条目快要过期时命中的会话照常返回旧的结果，同时把重新查询交给后台线程，
+ * 热点查询不会因为条目过期而集中查询数据库。后台查询使用自己的执行器和自动提交的事务，不参与会话的事务；
+ * 查询开始前获取时间戳，查询期间提交的写入会使刷新的结果失效。同一个键同时只刷新一次，队列满时放弃刷新，
+ * 条目过期后由会话自己查询。参数 Map 和 BoundSql 在提交前复制，会话之后修改它们不会影响后台查询；
+ * 刷新失败时保留旧的条目，失败次数记录在缓存统计和 getFailureCount 中
+ */
+public class CacheRefresher {
+
+    public static final int DEFAULT_THREADS = 2;
+
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private final Supplier<Executor> executorFactory;
+
+    private final TableWriteTracker tableWriteTracker;
+
+    private final ThreadPoolExecutor pool;
+
+    /**
+     * 正在刷新的键
+     */
+    private final Set<CacheKey> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 刷新失败的次数
+     */
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * @param executorFactory   创建后台查询使用的执行器，执行器使用自动提交的事务，查询结束后关闭
+     * @param tableWriteTracker 表写入时间记录
+     * @param threads           后台线程数量
+     */
+    public CacheRefresher(Supplier<Executor> executorFactory, TableWriteTracker tableWriteTracker, int threads) {
+        this.executorFactory = executorFactory;
+        this.tableWriteTracker = tableWriteTracker;
+        AtomicInteger count = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+            Thread thread = new Thread(runnable, "jvyou-mybatis-cache-refresh-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 没有刷新任务时不占用线程
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 在后台重新查询并写入二级缓存
+     *
+     * @param ms        映射语句
+     * @param parameter 参数对象，Map 会被复制，其中的对象本身不复制
+     * @param boundSql  解析后的 SQL 以及参数名称列表，会被复制
+     * @param key       缓存的键
+     * @return 是否提交了刷新，已经在刷新或者队列已满时返回 false
+     */
+    public boolean refresh(MappedStatement ms, Object parameter, BoundSql boundSql, CacheKey key) {
+        if (!refreshing.add(key)) {
+            return false;
+        }
+        // 会话返回后可能继续修改参数，后台线程使用副本
+        Object parameterCopy = copyParameter(parameter);
+        BoundSql boundSqlCopy = copyBoundSql(boundSql, parameterCopy);
+        try {
+            pool.execute(() -> {
+                try {
+                    reload(ms, parameterCopy, boundSqlCopy, key);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            return false;
+        }
+    }
+
+    /**
+     * 停止后台线程，正在进行的刷新会执行完
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * 获取正在刷新和排队的键的数量
+     *
+     * @return 数量
+     */
+    public int getPendingCount() {
+        return refreshing.size();
+    }
+
+    /**
+     * 获取刷新失败的次数
+     *
+     * @return 次数
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    private static Object copyParameter(Object parameter) {
+        return parameter instanceof Map ? new HashMap<>((Map<?, ?>) parameter) : parameter;
+    }
+
+    /**
+     * 复制 BoundSql，渲染时绑定的变量查不到时回退到原参数，复制后合并到参数的副本中
+     */
+    @SuppressWarnings("unchecked")
+    private static BoundSql copyBoundSql(BoundSql boundSql, Object parameterCopy) {
+        BoundSql copy = new BoundSql(boundSql.getParsedSql(), new ArrayList<>(boundSql.getParamNames()));
+        Map<String, Object> additionalParameters = boundSql.getAdditionalParameters();
+        if (additionalParameters != null) {
+            Map<String, Object> bindings = parameterCopy instanceof Map
+                    ? new HashMap<>((Map<String, Object>) parameterCopy) : new HashMap<>();
+            bindings.putAll(additionalParameters);
+            copy.setAdditionalParameters(bindings);
+        }
+        return copy;
+    }
+
+    private void reload(MappedStatement ms, Object parameter, BoundSql boundSql, CacheKey key) {
+        Cache cache = ms.getCache();
+        long stamp = tableWriteTracker.now();
+        long start = System.nanoTime();
+        Executor executor = executorFactory.get();
+        List<Object> result;
+        try {
+            result = executor.query(ms, parameter, boundSql);
+        } catch (RuntimeException e) {
+            // 刷新失败时保留旧的条目，过期后由会话自己查询并抛出异常
+            failures.increment();
+            if (cache instanceof StatisticsCache) {
+                ((StatisticsCache) cache).recordRefreshFailure();
+            }
+            return;
+        } finally {
+            executor.close();
+        }
+        if (cache instanceof StatisticsCache) {
+            ((StatisticsCache) cache).recordLoad(System.nanoTime() - start);
+        }
+        cache.putObject(key, new CacheEntry(result, ms.getTables(), stamp));
+    }
+}
@@ -2,16 +2,37 @@ package com.jvyou.mybatis.executor;
 
 
 import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheEntry;
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.cache.TableWriteTracker;
+import com.jvyou.mybatis.cache.TransactionalCacheManager;
+import com.jvyou.mybatis.cache.decorators.BlockingCache;
+import com.jvyou.mybatis.cache.decorators.StatisticsCache;
+import com.jvyou.mybatis.cache.invalidation.CacheInvalidationBus;
+import com.jvyou.mybatis.cursor.Cursor;
+import com.jvyou.mybatis.mapping.BoundSql;
 import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.session.ResultHandler;
+import com.jvyou.mybatis.transaction.Transaction;
 import lombok.SneakyThrows;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * @author 橘柚
  * @version 1.0-SNAPSHOT
  * @since 2024/5/21 21:25
  * ---description 缓存执行器（装饰者模式）
+ * 二级缓存的读写都经过会话自己的事务缓存管理器，查询结果和更新引起的清空在提交时才写入共享的二级缓存，回滚时丢弃。
+ * 缓存条目记录依赖的表，更新提交后只有依赖被写入的表的条目失效，不管它们属于哪个命名空间；
+ * 写入的表无法确定时退回到清空当前命名空间的缓存。二级缓存是 BlockingCache 时，同一个键并发的未命中合并成一次查询。
+ * 二级缓存最外层是 StatisticsCache 时，命中、未命中和查询数据库的耗时记录在它上面。
+ * 语句设置了 cacheTtl 时条目超过存活时间后失效，设置了 refreshAhead 时快要过期的条目被命中后交给 CacheRefresher 在后台刷新。
+ * 配置了 CacheInvalidationBus 时，提交的写入同时广播给其他节点
  */
 public class CachingExecutor implements Executor {
 
@@ -21,57 +42,296 @@ public class CachingExecutor implements Executor {
      */
     private final Executor delegate;
 
-    public CachingExecutor(Executor delegate) {
+    private final TransactionalCacheManager tcm = new TransactionalCacheManager();
+
+    /**
+     * 上次提交或回滚之后是否执行过更新
+     */
+    private boolean dirty;
+
+    private final TableWriteTracker tableWriteTracker;
+
+    /**
+     * 上次提交或回滚之后写入的表，提交后记录到 tableWriteTracker
+     */
+    private final Set<String> pendingWrites = new HashSet<>();
+
+    /**
+     * 上次提交或回滚之后是否执行过写入的表无法确定的更新
+     */
+    private boolean pendingUnknownWrite;
+
+    /**
+     * 上次提交或回滚之后因为写入的表无法确定而清空的命名空间，提交后广播给其他节点
+     */
+    private final Set<String> pendingClears = new HashSet<>();
+
+    /**
+     * 提前刷新快要过期的条目，为空时不提前刷新
+     */
+    private final CacheRefresher cacheRefresher;
+
+    /**
+     * 节点之间的缓存失效，为空时只在本节点生效
+     */
+    private final CacheInvalidationBus invalidationBus;
+
+    public CachingExecutor(Executor delegate, TableWriteTracker tableWriteTracker) {
+        this(delegate, tableWriteTracker, null, null);
+    }
+
+    public CachingExecutor(Executor delegate, TableWriteTracker tableWriteTracker, CacheRefresher cacheRefresher) {
+        this(delegate, tableWriteTracker, cacheRefresher, null);
+    }
+
+    public CachingExecutor(Executor delegate, TableWriteTracker tableWriteTracker, CacheRefresher cacheRefresher,
+                           CacheInvalidationBus invalidationBus) {
         this.delegate = delegate;
+        this.tableWriteTracker = tableWriteTracker;
+        this.cacheRefresher = cacheRefresher;
+        this.invalidationBus = invalidationBus;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> List<T> query(MappedStatement ms, Object parameter) {
+        return query(ms, parameter, ms.getBoundSql(parameter));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> List<T> query(MappedStatement ms, Object parameter, BoundSql boundSql) {
         // 如果缓存在，说明支持二级缓存
         Cache cache = ms.getCache();
-        if (cache != null) {
-            String key = ms.getCacheKey(parameter);
-            Object cacheResult = cache.getObject(key);
-            // 缓存中有数据直接返回
-            if (cacheResult != null) {
-                System.err.println("二级缓存开启,结果命中二级缓存");
-                return (List<T>) cacheResult;
+        // 会话中写入过依赖的表时，缓存的数据对当前会话来说已经是旧的
+        if (cache != null && !dependsOnPendingWrites(ms)) {
+            StatisticsCache statistics = cache instanceof StatisticsCache ? (StatisticsCache) cache : null;
+            CacheKey key = delegate.createCacheKey(ms, parameter, boundSql);
+            Object cacheResult = tcm.getObject(cache, key);
+            // 缓存中有数据、依赖的表之后没有写入并且没有过期，直接返回
+            if (cacheResult instanceof CacheEntry) {
+                CacheEntry entry = (CacheEntry) cacheResult;
+                long age = System.currentTimeMillis() - TableWriteTracker.toMillis(entry.getStamp());
+                if (tableWriteTracker.isFresh(entry.getTables(), entry.getStamp()) && (ms.getCacheTtl() <= 0 || age < ms.getCacheTtl())) {
+                    if (cacheRefresher != null && ms.getRefreshAhead() > 0 && ms.getCacheTtl() > 0
+                            && age >= ms.getCacheTtl() - ms.getRefreshAhead() && !dirty) {
+                        // 返回旧的结果，后台重新查询
+                        cacheRefresher.refresh(ms, parameter, boundSql, key);
+                    }
+                    if (statistics != null) {
+                        statistics.recordHit();
+                    }
+                    return (List<T>) entry.getValue();
+                }
+                cache.removeObject(key);
+            }
+            if (statistics != null) {
+                statistics.recordMiss();
             }
             // 缓存中不存在则查询数据库或者一级缓存，查询结果存储在二级缓存里面
-            List<Object> queryResult = delegate.query(ms, parameter);
-            cache.putObject(key, queryResult);
-            System.err.println("二级缓存开启,结果未命中二级缓存，查询数据库");
+            // 执行过更新的会话看到的数据和其他会话不同，不参与合并
+            Cache shared = statistics != null ? statistics.getDelegate() : cache;
+            List<Object> queryResult = shared instanceof BlockingCache && !dirty
+                    ? loadOnce((BlockingCache) shared, cache, key, ms, parameter, boundSql)
+                    : load(cache, key, ms, parameter, boundSql);
             return (List<T>) queryResult;
         }
         // 缓存不存在，说明不支持二级缓存，走数据库查询或者一级缓存
-        return delegate.query(ms, parameter);
+        return delegate.query(ms, parameter, boundSql);
+    }
+
+    /**
+     * 查询数据库并暂存到二级缓存
+     */
+    private List<Object> load(Cache cache, CacheKey key, MappedStatement ms, Object parameter, BoundSql boundSql) {
+        // 时间戳在查询之前获取，查询过程中提交的写入也会使这个条目失效
+        long stamp = tableWriteTracker.now();
+        long start = System.nanoTime();
+        List<Object> queryResult = delegate.query(ms, parameter, boundSql);
+        if (cache instanceof StatisticsCache) {
+            ((StatisticsCache) cache).recordLoad(System.nanoTime() - start);
+        }
+        tcm.putObject(cache, key, new CacheEntry(queryResult, ms.getTables(), stamp));
+        commitCacheIfAutoCommit();
+        return queryResult;
+    }
+
+    /**
+     * 同一个键并发未命中时只有一个会话查询数据库，其他会话等待它的结果，等待超时或者它查询失败时自己查询
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> loadOnce(BlockingCache blocking, Cache cache, CacheKey key, MappedStatement ms, Object parameter, BoundSql boundSql) {
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = blocking.join(key, load);
+        if (running != null) {
+            Object value = blocking.await(running);
+            return value != null ? (List<Object>) value : load(cache, key, ms, parameter, boundSql);
+        }
+        List<Object> queryResult = null;
+        try {
+            queryResult = load(cache, key, ms, parameter, boundSql);
+            return queryResult;
+        } finally {
+            blocking.complete(key, load, queryResult);
+        }
+    }
+
+    @Override
+    public void query(MappedStatement ms, Object parameter, ResultHandler<?> resultHandler) {
+        // 结果交给结果处理器逐行处理，不会放入二级缓存
+        delegate.query(ms, parameter, resultHandler);
+    }
+
+    @Override
+    public <T> Cursor<T> queryCursor(MappedStatement ms, Object parameter) {
+        // 游标查询的结果不会放入二级缓存
+        return delegate.queryCursor(ms, parameter);
     }
 
     @Override
     public int update(MappedStatement ms, Object parameter) {
-        // 更新前要清除二级缓存
-        Cache cache = ms.getCache();
-        if (cache != null) {
-            cache.clear();
+        // 更新写入的表在提交后记录下来，依赖这些表的缓存条目随之失效
+        Set<String> tables = ms.getTables();
+        if (tables != null) {
+            pendingWrites.addAll(tables);
+        } else {
+            // 不知道写入了哪些表，清空当前命名空间的缓存，清空操作先暂存，提交时才真正清空
+            pendingUnknownWrite = true;
+            Cache cache = ms.getCache();
+            if (cache != null) {
+                tcm.clear(cache);
+                pendingClears.add(cache.getId());
+            }
         }
-        return delegate.update(ms, parameter);
+        dirty = true;
+        int result = delegate.update(ms, parameter);
+        commitCacheIfAutoCommit();
+        return result;
+    }
+
+    @Override
+    public List<BatchResult> flushStatements() {
+        return delegate.flushStatements();
     }
 
     @SneakyThrows
     @Override
     public void commit(boolean required) {
         delegate.commit(required);
+        // 数据库事务已经提交，广播失败也要让暂存的缓存操作生效
+        try {
+            publishWrites();
+        } finally {
+            tcm.commit();
+            dirty = false;
+        }
     }
 
     @SneakyThrows
     @Override
     public void rollback(boolean required) {
-        delegate.rollback(required);
+        try {
+            delegate.rollback(required);
+        } finally {
+            tcm.rollback();
+            discardWrites();
+            dirty = false;
+        }
+    }
+
+    @Override
+    public <R> R reuseStatements(Supplier<R> action) {
+        return delegate.reuseStatements(action);
     }
 
     @Override
     public void close() {
-        delegate.close();
+        try {
+            // 只读的会话没有需要回滚的数据，关闭时把查询结果写入二级缓存；执行过更新但没有提交的会话丢弃暂存的操作
+            if (dirty) {
+                tcm.rollback();
+                discardWrites();
+            } else {
+                tcm.commit();
+            }
+        } finally {
+            delegate.close();
+        }
+    }
+
+    @Override
+    public CacheKey createCacheKey(MappedStatement ms, Object parameter, BoundSql boundSql) {
+        return delegate.createCacheKey(ms, parameter, boundSql);
+    }
+
+    @Override
+    public Transaction getTransaction() {
+        return delegate.getTransaction();
+    }
+
+    /**
+     * 自动提交时每条语句执行完就已经提交，暂存的缓存操作直接生效
+     */
+    private void commitCacheIfAutoCommit() {
+        if (delegate.getTransaction().isAutoCommit()) {
+            try {
+                publishWrites();
+            } finally {
+                tcm.commit();
+                dirty = false;
+            }
+        }
+    }
+
+    /**
+     * 语句依赖的表是否在会话中写入过但还没有提交
+     */
+    private boolean dependsOnPendingWrites(MappedStatement ms) {
+        Set<String> tables = ms.getTables();
+        if (tables == null) {
+            return pendingUnknownWrite || !pendingWrites.isEmpty();
+        }
+        for (String table : tables) {
+            if (pendingWrites.contains(table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 事务提交后记录写入的表，依赖这些表的缓存条目失效
+     */
+    private void publishWrites() {
+        try {
+            if (pendingUnknownWrite || !pendingWrites.isEmpty()) {
+                tableWriteTracker.recordWrite(pendingWrites);
+                if (invalidationBus != null) {
+                    invalidationBus.publish(pendingWrites, pendingClears);
+                }
+            }
+        } finally {
+            discardWrites();
+        }
+    }
+
+    private void discardWrites() {
+        pendingWrites.clear();
+        pendingClears.clear();
+        pendingUnknownWrite = false;
+    }
+
+    @Override
+    public StatementCacheStats getStatementCacheStats() {
+        return delegate.getStatementCacheStats();
+    }
+
+    /**
+     * 获取被装饰的执行器
+     *
+     * @return 委托执行器
+     */
+    public Executor getDelegate() {
+        return delegate;
     }
 }
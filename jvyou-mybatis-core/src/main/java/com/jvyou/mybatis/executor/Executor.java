@@ -1,9 +1,14 @@
 package com.jvyou.mybatis.executor;
 
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.cursor.Cursor;
+import com.jvyou.mybatis.mapping.BoundSql;
 import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.session.ResultHandler;
+import com.jvyou.mybatis.transaction.Transaction;
 
-import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * @author 橘柚
@@ -23,6 +28,36 @@ public interface Executor {
      */
     <T> List<T> query(MappedStatement ms, Object parameter);
 
+    /**
+     * 使用已经解析好的 BoundSql 执行查询，避免同一次查询重复渲染 SQL
+     *
+     * @param ms        MappedStatement 映射语句对象
+     * @param parameter 参数（传递过来的可能是一个 Map 集合）
+     * @param boundSql  解析后的 SQL 以及参数名称列表
+     * @param <T>       实体类集合
+     * @return 实体类集合
+     */
+    <T> List<T> query(MappedStatement ms, Object parameter, BoundSql boundSql);
+
+    /**
+     * 执行查询，每映射一行结果就交给结果处理器，不经过缓存也不会收集成集合
+     *
+     * @param ms            MappedStatement 映射语句对象
+     * @param parameter     参数（传递过来的可能是一个 Map 集合）
+     * @param resultHandler 结果处理器
+     */
+    void query(MappedStatement ms, Object parameter, ResultHandler<?> resultHandler);
+
+    /**
+     * 执行查询，返回游标，游标遍历时才逐行映射结果
+     *
+     * @param ms        MappedStatement 映射语句对象
+     * @param parameter 参数（传递过来的可能是一个 Map 集合）
+     * @param <T>       实体类型
+     * @return 游标
+     */
+    <T> Cursor<T> queryCursor(MappedStatement ms, Object parameter);
+
     /**
      * 执行更新
      *
@@ -32,6 +67,13 @@ public interface Executor {
      */
     int update(MappedStatement ms, Object parameter);
 
+    /**
+     * 将执行器中缓存的批处理语句发送到数据库执行
+     *
+     * @return 每个批处理语句的执行结果，非批量执行器返回空集合
+     */
+    List<BatchResult> flushStatements();
+
     /**
      * 提交事务
      *
@@ -47,4 +89,42 @@ public interface Executor {
     void rollback(boolean required) ;
 
     void close();
+
+    /**
+     * 创建一级缓存和二级缓存使用的键
+     *
+     * @param ms        MappedStatement
+     * @param parameter 参数对象
+     * @param boundSql  解析后的 SQL 以及参数名称列表
+     * @return 缓存的键
+     */
+    CacheKey createCacheKey(MappedStatement ms, Object parameter, BoundSql boundSql);
+
+    /**
+     * 获取执行器使用的事务
+     *
+     * @return 事务
+     */
+    Transaction getTransaction();
+
+    /**
+     * 在 action 中多次执行相同的 SQL 时复用同一个预编译语句，action 结束后关闭。
+     * 默认直接执行 action，只有每次执行后都会关闭语句的执行器需要实现
+     *
+     * @param action 要执行的操作
+     * @param <R>    返回值类型
+     * @return action 的返回值
+     */
+    default <R> R reuseStatements(Supplier<R> action) {
+        return action.get();
+    }
+
+    /**
+     * 获取预编译语句缓存的统计，只有缓存预编译语句的执行器需要实现
+     *
+     * @return 统计快照
+     */
+    default StatementCacheStats getStatementCacheStats() {
+        return StatementCacheStats.EMPTY;
+    }
 }
@@ -0,0 +1,155 @@
+package com.jvyou.mybatis.executor;
+
+import com.jvyou.mybatis.cursor.Cursor;
+import com.jvyou.mybatis.executor.statement.StatementHandler;
+import com.jvyou.mybatis.mapping.BoundSql;
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.ResultHandler;
+import com.jvyou.mybatis.transaction.Transaction;
+import lombok.SneakyThrows;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 10:20
+ * ---description 可重用执行器
+ * 以解析后的 SQL 为键缓存当前连接上已经创建好的预编译语句，相同 SQL 再次执行时只需要清空并重新填充参数，
+ * 缓存按照 LRU 策略限制数量，被淘汰的语句和关闭执行器（释放连接）时剩余的语句都会被关闭。
+ * 游标查询不使用缓存：游标关闭之前一直在读取语句的 ResultSet，语句被淘汰或者再次执行相同的 SQL 都会关闭它
+ */
+public class ReuseExecutor extends BaseExecutor {
+
+    private final Map<String, Statement> statementMap;
+
+    /**
+     * 预编译语句缓存命中次数
+     */
+    private long hits;
+
+    /**
+     * 预编译语句缓存未命中次数
+     */
+    private long misses;
+
+    public ReuseExecutor(Configuration configuration, Transaction transaction) {
+        super(configuration, transaction);
+        int maxSize = configuration.getReuseStatementCacheSize();
+        // accessOrder 为 true 时 LinkedHashMap 按照访问顺序排序，最久没有使用的语句在最前面
+        this.statementMap = new LinkedHashMap<String, Statement>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Statement> eldest) {
+                if (size() > maxSize) {
+                    closeStatement(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    protected <T> List<T> doQuery(MappedStatement ms, Object parameter, BoundSql boundSql, ResultHandler<?> resultHandler) {
+        StatementHandler statementHandler = configuration.newStatementHandler(ms, parameter, boundSql);
+        Statement statement = prepareCachedStatement(statementHandler);
+        return query(statementHandler, statement, resultHandler);
+    }
+
+    @Override
+    protected <T> Cursor<T> doQueryCursor(MappedStatement ms, Object parameter, BoundSql boundSql) {
+        // 游标使用单独创建的语句，游标关闭时一起关闭
+        StatementHandler statementHandler = configuration.newStatementHandler(ms, parameter, boundSql);
+        return queryCursorClosingOnCompletion(statementHandler);
+    }
+
+    @Override
+    protected int doUpdate(MappedStatement ms, Object parameter, BoundSql boundSql) {
+        StatementHandler statementHandler = configuration.newStatementHandler(ms, parameter, boundSql);
+        Statement statement = prepareCachedStatement(statementHandler);
+        return statementHandler.update(statement);
+    }
+
+    @Override
+    protected List<BatchResult> doFlushStatements(boolean isRollback) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void close() {
+        try {
+            // 连接要归还给连接池了，缓存的预编译语句必须全部关闭
+            for (Statement statement : statementMap.values()) {
+                closeStatement(statement);
+            }
+            statementMap.clear();
+        } finally {
+            super.close();
+        }
+    }
+
+    /**
+     * 从缓存中获取解析后 SQL 对应的预编译语句，没有时创建并缓存
+     *
+     * @param statementHandler 语句处理器
+     * @return 填充好参数的预编译语句
+     */
+    @SneakyThrows
+    private Statement prepareCachedStatement(StatementHandler statementHandler) {
+        String sql = statementHandler.getBoundSql().getParsedSql();
+        // 一个执行器在整个会话中只持有事务里的同一个连接，所以这里缓存的语句都属于当前连接
+        Statement statement = statementMap.get(sql);
+        if (statement != null && !statement.isClosed()) {
+            hits++;
+            // 清除上一次执行时设置的参数
+            ((PreparedStatement) statement).clearParameters();
+        } else {
+            misses++;
+            statement = statementHandler.prepare(this.transaction.getConnection());
+            statementMap.put(sql, statement);
+        }
+        statementHandler.parameterize(statement);
+        return statement;
+    }
+
+    @Override
+    public StatementCacheStats getStatementCacheStats() {
+        return new StatementCacheStats(hits, misses, statementMap.size());
+    }
+
+    /**
+     * 获取预编译语句缓存命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * 获取预编译语句缓存未命中次数
+     *
+     * @return 未命中次数
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * 当前缓存的预编译语句数量
+     *
+     * @return 预编译语句数量
+     */
+    public int getCachedStatementCount() {
+        return statementMap.size();
+    }
+
+}
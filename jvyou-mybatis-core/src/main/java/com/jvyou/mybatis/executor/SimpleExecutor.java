@@ -1,103 +1,129 @@
 package com.jvyou.mybatis.executor;
 
-import com.jvyou.mybatis.cache.Cache;
-import com.jvyou.mybatis.cache.PerpetualCache;
+import com.jvyou.mybatis.cursor.Cursor;
 import com.jvyou.mybatis.executor.statement.StatementHandler;
+import com.jvyou.mybatis.mapping.BoundSql;
 import com.jvyou.mybatis.mapping.MappedStatement;
 import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.ResultHandler;
 import com.jvyou.mybatis.transaction.Transaction;
 import lombok.SneakyThrows;
 
-import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * @author 橘柚
  * @version 1.0-SNAPSHOT
  * @since 2024/4/28 17:43
  * ---description 简单 SQL 执行器
+ * 每次执行都创建新的预编译语句并在执行后关闭，只有在 reuseStatements 中连续执行相同的 SQL 时复用同一个语句
  */
-public class SimpleExecutor implements Executor {
-
-    private final Configuration configuration;
-
-    private final Transaction transaction;
+public class SimpleExecutor extends BaseExecutor {
 
     /**
-     * 会话级别的缓存
-     * 一次会话会创建一个执行器，每个执行器会有一个本地缓存
+     * reuseStatements 的嵌套层数，大于 0 时相同 SQL 的语句执行后不关闭
      */
-    private final Cache loaclCache;
+    private int reuseDepth;
+
+    private String reusedSql;
+
+    private Statement reusedStatement;
 
     public SimpleExecutor(Configuration configuration, Transaction transaction) {
-        this.configuration = configuration;
-        this.transaction = transaction;
-        this.loaclCache = new PerpetualCache("LocalCache");
+        super(configuration, transaction);
     }
 
-    @SneakyThrows
-    @SuppressWarnings("unchecked")
     @Override
-    public <T> List<T> query(MappedStatement ms, Object parameter) {
-
-        String cacheKey = ms.getCacheKey(parameter);
-        Object list = loaclCache.getObject(cacheKey);
-        if (list != null) {
-            return (List<T>) list;
+    public <R> R reuseStatements(Supplier<R> action) {
+        reuseDepth++;
+        try {
+            return action.get();
+        } finally {
+            if (--reuseDepth == 0) {
+                releaseReusedStatement();
+            }
         }
+    }
+
+    @Override
+    protected <T> List<T> doQuery(MappedStatement ms, Object parameter, BoundSql boundSql, ResultHandler<?> resultHandler) {
         // 获取数据库链接
-        StatementHandler statementHandler = configuration.newStatementHandler(ms, parameter);
-        Statement statement = getStatement(statementHandler);
-        List<T> result = statementHandler.query(statement);
-        statement.close();
-
-        // 二级缓存为空的话就才走一级缓存了
-        Cache cache = ms.getCache();
-        if (cache == null) {
-            loaclCache.putObject(cacheKey, result);
+        StatementHandler statementHandler = configuration.newStatementHandler(ms, parameter, boundSql);
+        Statement statement = prepareReusableStatement(statementHandler);
+        try {
+            return query(statementHandler, statement, resultHandler);
+        } finally {
+            closeUnlessReused(statement);
         }
-
-        return result;
     }
 
-    @SneakyThrows
     @Override
-    public int update(MappedStatement ms, Object parameter) {
-        // 执行更新操作必须清除缓存，防止缓存数据与数据库数据不一致
-        loaclCache.clear();
-        StatementHandler statementHandler = configuration.newStatementHandler(ms, parameter);
-        Statement statement = getStatement(statementHandler);
-        int row = statementHandler.update(statement);
-        statement.close();
-        return row;
+    protected <T> Cursor<T> doQueryCursor(MappedStatement ms, Object parameter, BoundSql boundSql) {
+        StatementHandler statementHandler = configuration.newStatementHandler(ms, parameter, boundSql);
+        return queryCursorClosingOnCompletion(statementHandler);
     }
 
-    @SneakyThrows
     @Override
-    public void commit(boolean required) {
-        transaction.commit();
+    protected int doUpdate(MappedStatement ms, Object parameter, BoundSql boundSql) {
+        StatementHandler statementHandler = configuration.newStatementHandler(ms, parameter, boundSql);
+        Statement statement = prepareReusableStatement(statementHandler);
+        try {
+            return statementHandler.update(statement);
+        } finally {
+            closeUnlessReused(statement);
+        }
     }
 
-    @SneakyThrows
     @Override
-    public void rollback(boolean required) {
-        transaction.rollback();
+    protected List<BatchResult> doFlushStatements(boolean isRollback) {
+        return Collections.emptyList();
     }
 
-    @SneakyThrows
     @Override
     public void close() {
-        transaction.close();
+        try {
+            releaseReusedStatement();
+        } finally {
+            super.close();
+        }
     }
 
-    private Statement getStatement(StatementHandler statementHandler) {
-        Connection connection = this.transaction.getConnection();
-        Statement statement = statementHandler.prepare(connection);
-        // 填充参数
-        statementHandler.parameterize(statement);
+    /**
+     * 不在 reuseStatements 中时每次创建新的语句；在其中时 SQL 和上一次相同就清空参数后复用上一次的语句
+     */
+    @SneakyThrows
+    private Statement prepareReusableStatement(StatementHandler statementHandler) {
+        if (reuseDepth == 0) {
+            return prepareStatement(statementHandler);
+        }
+        String sql = statementHandler.getBoundSql().getParsedSql();
+        if (reusedStatement != null && sql.equals(reusedSql) && !reusedStatement.isClosed()) {
+            ((PreparedStatement) reusedStatement).clearParameters();
+            statementHandler.parameterize(reusedStatement);
+            return reusedStatement;
+        }
+        releaseReusedStatement();
+        Statement statement = prepareStatement(statementHandler);
+        reusedSql = sql;
+        reusedStatement = statement;
         return statement;
     }
 
+    private void closeUnlessReused(Statement statement) {
+        if (statement != reusedStatement) {
+            closeStatement(statement);
+        }
+    }
+
+    private void releaseReusedStatement() {
+        Statement statement = reusedStatement;
+        reusedStatement = null;
+        reusedSql = null;
+        closeStatement(statement);
+    }
 
 }
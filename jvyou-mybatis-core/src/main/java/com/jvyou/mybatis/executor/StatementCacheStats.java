@@ -0,0 +1,47 @@
+package com.jvyou.mybatis.executor;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 09:40
+ * ---description 执行器预编译语句缓存的统计快照，不可变
+ * 只有 ReuseExecutor 缓存预编译语句，其他执行器返回 EMPTY
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class StatementCacheStats {
+
+    public static final StatementCacheStats EMPTY = new StatementCacheStats(0, 0, 0);
+
+    /**
+     * 复用已缓存语句的次数
+     */
+    private final long hitCount;
+
+    /**
+     * 新创建语句的次数
+     */
+    private final long missCount;
+
+    /**
+     * 当前缓存的语句数量
+     */
+    private final int size;
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return 命中率，没有请求时为 0
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 0.0 : (double) hitCount / requestCount;
+    }
+}
@@ -0,0 +1,192 @@
+package com.jvyou.mybatis.executor.parameter;
+
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+import com.jvyou.mybatis.reflection.PropertyGetter;
+import com.jvyou.mybatis.reflection.Reflector;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.type.TypeHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 15:10
+ * ---description 参数绑定计划
+ * 把 BoundSql 的参数名称列表提前编译好：属性路径提前拆分，每一段属性的读取器和每个参数的类型处理器在第一次执行时解析，
+ * 之后按值的类型命中缓存，同一条语句重复执行时除了参数值本身不再产生额外的对象
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ParameterBindingPlan {
+
+    private final Configuration configuration;
+
+    private final List<String> paramNames;
+
+    private final ParameterBinding[] bindings;
+
+    public ParameterBindingPlan(Configuration configuration, List<String> paramNames) {
+        this.configuration = configuration;
+        this.paramNames = paramNames;
+        this.bindings = new ParameterBinding[paramNames.size()];
+        for (int i = 0; i < bindings.length; i++) {
+            bindings[i] = new ParameterBinding(paramNames.get(i));
+        }
+    }
+
+    /**
+     * 编译计划时使用的参数名称列表
+     */
+    public List<String> getParamNames() {
+        return paramNames;
+    }
+
+    /**
+     * 按计划为预编译语句设置参数
+     *
+     * @param ps        预编译语句
+     * @param parameter 参数，Mapper 代理传过来的是 Map 集合，也可以直接传实体对象或单个简单类型的值
+     */
+    public void bind(PreparedStatement ps, Object parameter) {
+        if (parameter == null || bindings.length == 0) {
+            return;
+        }
+        for (int i = 0; i < bindings.length; i++) {
+            ParameterBinding binding = bindings[i];
+            Object value = binding.getValue(parameter);
+            try {
+                if (value == null) {
+                    ps.setNull(i + 1, Types.NULL);
+                } else {
+                    TypeHandler typeHandler = binding.getTypeHandler(value.getClass());
+                    if (typeHandler == null) {
+                        ps.setObject(i + 1, value);
+                    } else {
+                        typeHandler.setParameter(ps, i + 1, value);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new JvyouMybatisException("Populating the value passed by the method to PreparedStatement error, nested exception is:\n" + e);
+            }
+        }
+    }
+
+    /**
+     * 把每个占位符的参数值依次加入缓存的键，取值方式和 bind 相同
+     *
+     * @param cacheKey  缓存的键
+     * @param parameter 参数
+     */
+    public void updateCacheKey(CacheKey cacheKey, Object parameter) {
+        for (ParameterBinding binding : bindings) {
+            cacheKey.update(parameter == null ? null : binding.getValue(parameter));
+        }
+    }
+
+    /**
+     * 单个占位符的绑定信息
+     */
+    private class ParameterBinding {
+
+        private final String name;
+
+        /**
+         * 第一段属性名，即 Map 中的键
+         */
+        private final String root;
+
+        /**
+         * 后续的属性路径，eg: #{user.dept.name} 为 [dept, name]
+         */
+        private final String[] path;
+
+        /**
+         * 每一段属性最近一次使用的读取器，下标 0 用于非 Map 参数读取第一段属性
+         */
+        private final GetterEntry[] getters;
+
+        /**
+         * 最近一次使用的类型处理器
+         */
+        private HandlerEntry handler;
+
+        ParameterBinding(String name) {
+            this.name = name;
+            String[] names = name.split("\\.");
+            this.root = names[0];
+            this.path = new String[names.length - 1];
+            System.arraycopy(names, 1, path, 0, path.length);
+            this.getters = new GetterEntry[names.length];
+        }
+
+        Object getValue(Object parameter) {
+            Object value;
+            if (parameter instanceof Map) {
+                value = ((Map<String, Object>) parameter).get(root);
+            } else if (path.length == 0 && getTypeHandler(parameter.getClass()) != null) {
+                // 只有一个简单类型的参数时直接使用参数本身
+                value = parameter;
+            } else {
+                value = getProperty(0, root, parameter);
+            }
+            for (int i = 0; i < path.length && value != null; i++) {
+                value = getProperty(i + 1, path[i], value);
+            }
+            return value;
+        }
+
+        private Object getProperty(int index, String property, Object target) {
+            Class<?> type = target.getClass();
+            GetterEntry entry = getters[index];
+            if (entry == null || entry.type != type) {
+                if (!Reflector.forClass(type).hasGetter(property)) {
+                    throw new JvyouMybatisException("There is no getter for property named '" + property + "' in '" + type.getName() + "' while binding #{" + name + "}");
+                }
+                entry = new GetterEntry(type, Reflector.forClass(type).getGetter(property));
+                getters[index] = entry;
+            }
+            return entry.getter.get(target);
+        }
+
+        TypeHandler getTypeHandler(Class<?> type) {
+            HandlerEntry entry = handler;
+            if (entry == null || entry.type != type) {
+                entry = new HandlerEntry(type, configuration.getParamTypeHandler(type));
+                handler = entry;
+            }
+            return entry.typeHandler;
+        }
+    }
+
+    /**
+     * 类型和读取器的对应关系，字段都是 final 的，多个线程同时替换时不会读到不完整的对象
+     */
+    private static class GetterEntry {
+
+        private final Class<?> type;
+
+        private final PropertyGetter getter;
+
+        GetterEntry(Class<?> type, PropertyGetter getter) {
+            this.type = type;
+            this.getter = getter;
+        }
+    }
+
+    private static class HandlerEntry {
+
+        private final Class<?> type;
+
+        private final TypeHandler typeHandler;
+
+        HandlerEntry(Class<?> type, TypeHandler typeHandler) {
+            this.type = type;
+            this.typeHandler = typeHandler;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.jvyou.mybatis.executor.parameter;
+
+import com.jvyou.mybatis.session.Configuration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 15:20
+ * ---description 单条 MappedStatement 的参数绑定计划缓存
+ * 静态 SQL 每次得到的参数名称列表都相同，先按引用比较最近一次的计划；动态 SQL 按参数名称列表的内容缓存，
+ * 数量有上限，避免 foreach 等生成的大量不同列表把缓存撑大
+ */
+public class ParameterBindingPlanCache {
+
+    private static final int MAX_PLANS = 64;
+
+    private final Map<List<String>, ParameterBindingPlan> plans = new ConcurrentHashMap<>();
+
+    private volatile ParameterBindingPlan lastPlan;
+
+    public ParameterBindingPlan getPlan(Configuration configuration, List<String> paramNames) {
+        ParameterBindingPlan plan = lastPlan;
+        if (plan != null && plan.getParamNames() == paramNames) {
+            return plan;
+        }
+        plan = plans.get(paramNames);
+        if (plan == null) {
+            plan = new ParameterBindingPlan(configuration, paramNames);
+            if (plans.size() < MAX_PLANS) {
+                ParameterBindingPlan existing = plans.putIfAbsent(paramNames, plan);
+                plan = existing != null ? existing : plan;
+            }
+        }
+        lastPlan = plan;
+        return plan;
+    }
+
+    public int size() {
+        return plans.size();
+    }
+}
@@ -1,5 +1,8 @@
 package com.jvyou.mybatis.executor.parameter;
 
+import com.jvyou.mybatis.mapping.BoundSql;
+import com.jvyou.mybatis.mapping.MappedStatement;
+
 import java.sql.PreparedStatement;
 import java.util.List;
 
@@ -20,4 +23,16 @@ public interface ParameterHandler {
      */
     void setParameters(PreparedStatement ps, List<String> paramNames, Object parameter);
 
+    /**
+     * 按 MappedStatement 缓存的参数绑定计划为预编译SQL语句对象设置参数
+     *
+     * @param ps        PreparedStatement 预编译语句对象
+     * @param ms        MappedStatement
+     * @param boundSql  解析后的 SQL 以及参数名称列表
+     * @param parameter 参数（传递过来的可能是一个 Map 集合）
+     */
+    default void setParameters(PreparedStatement ps, MappedStatement ms, BoundSql boundSql, Object parameter) {
+        setParameters(ps, boundSql.getParamNames(), boundSql.getBindingParameter(parameter));
+    }
+
 }
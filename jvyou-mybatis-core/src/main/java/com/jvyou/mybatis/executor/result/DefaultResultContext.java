@@ -0,0 +1,44 @@
+package com.jvyou.mybatis.executor.result;
+
+import com.jvyou.mybatis.session.ResultContext;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 11:45
+ * ---description 默认结果上下文，同一次查询的所有行复用同一个上下文对象
+ */
+public class DefaultResultContext<T> implements ResultContext<T> {
+
+    private T resultObject;
+
+    private int resultCount;
+
+    private boolean stopped;
+
+    @Override
+    public T getResultObject() {
+        return resultObject;
+    }
+
+    @Override
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    @Override
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    @Override
+    public void stop() {
+        this.stopped = true;
+    }
+
+    public void nextResultObject(T resultObject) {
+        resultCount++;
+        this.resultObject = resultObject;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.jvyou.mybatis.executor.result;
+
+import com.jvyou.mybatis.session.ResultContext;
+import com.jvyou.mybatis.session.ResultHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 11:45
+ * ---description 默认结果处理器，把每一行结果收集到集合中
+ */
+public class DefaultResultHandler implements ResultHandler<Object> {
+
+    private final List<Object> list = new ArrayList<>();
+
+    @Override
+    public void handleResult(ResultContext<?> resultContext) {
+        list.add(resultContext.getResultObject());
+    }
+
+    public List<Object> getResultList() {
+        return list;
+    }
+
+}
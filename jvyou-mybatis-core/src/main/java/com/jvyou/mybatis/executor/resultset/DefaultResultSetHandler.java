@@ -1,15 +1,18 @@
 package com.jvyou.mybatis.executor.resultset;
 
+import com.jvyou.mybatis.cursor.Cursor;
+import com.jvyou.mybatis.cursor.defaults.DefaultCursor;
 import com.jvyou.mybatis.exception.JvyouMybatisException;
+import com.jvyou.mybatis.executor.result.DefaultResultContext;
+import com.jvyou.mybatis.executor.result.DefaultResultHandler;
 import com.jvyou.mybatis.mapping.MappedStatement;
 import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.ResultHandler;
 import lombok.SneakyThrows;
 
-import java.lang.reflect.Field;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -26,39 +29,56 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         this.configuration = configuration;
     }
 
-    @SneakyThrows
+    @SuppressWarnings("unchecked")
     @Override
     public <T> List<T> handleResultSets(MappedStatement ms, PreparedStatement ps) {
-        Class<?> returnType = ms.getResultType();
+        DefaultResultHandler resultHandler = new DefaultResultHandler();
+        handleResultSets(ms, ps, resultHandler);
+        return (List<T>) resultHandler.getResultList();
+    }
+
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    @Override
+    public void handleResultSets(MappedStatement ms, PreparedStatement ps, ResultHandler<?> resultHandler) {
         ResultSet resultSet = null;
         try {
             resultSet = ps.getResultSet();
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
-        List result = new ArrayList();
-        Field[] fields = returnType.getDeclaredFields();
-
+        ResultHandler<Object> handler = (ResultHandler<Object>) resultHandler;
+        DefaultResultContext<Object> resultContext = new DefaultResultContext<>();
         try {
-            while (resultSet.next()) {
-                Object obj = returnType.newInstance();
-                for (Field field : fields) {
-                    // 获取字段名称
-                    String fieldName = field.getName();
-                    // 获取字段值
-                    Object fieldValue = configuration.getParamTypeHandler(field.getType()).getResult(resultSet, fieldName);
-                    // 设置字段值
-                    field.setAccessible(true);
-                    field.set(obj, fieldValue);
-                }
-                result.add(obj);
+            RowMappingPlan rowMappingPlan = getRowMappingPlan(ms, resultSet);
+            // 每一行映射完立即交给结果处理器，处理器调用 stop 之后不再读取后面的行
+            while (!resultContext.isStopped() && resultSet.next()) {
+                resultContext.nextResultObject(rowMappingPlan.mapRow(resultSet));
+                handler.handleResult(resultContext);
             }
-            resultSet.close();
-        } catch (SQLException | InstantiationException | IllegalAccessException e) {
+        } catch (SQLException e) {
             throw new JvyouMybatisException("Mapping a ResultSet to a query result failed with nested exceptions:\n" + e);
+        } finally {
+            resultSet.close();
         }
+    }
+
+    @SneakyThrows
+    @Override
+    public <T> Cursor<T> handleCursorResultSets(MappedStatement ms, PreparedStatement ps) {
+        return new DefaultCursor<>(this, ms, ps.getResultSet());
+    }
 
-        resultSet.close();
-        return result;
+    /**
+     * 获取结果集的行映射计划，返回类型和结果列相同的查询共用同一个计划
+     *
+     * @param ms        MappedStatement 映射语句对象
+     * @param resultSet 结果集
+     * @return 行映射计划
+     * @throws SQLException 读取结果集元数据失败
+     */
+    public RowMappingPlan getRowMappingPlan(MappedStatement ms, ResultSet resultSet) throws SQLException {
+        RowMappingPlan.Key key = new RowMappingPlan.Key(ms.getResultType(), resultSet.getMetaData());
+        return configuration.getRowMappingPlans().computeIfAbsent(key, k -> RowMappingPlan.build(configuration, k));
     }
 }
@@ -1,6 +1,8 @@
 package com.jvyou.mybatis.executor.resultset;
 
+import com.jvyou.mybatis.cursor.Cursor;
 import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.session.ResultHandler;
 
 import java.sql.PreparedStatement;
 import java.util.List;
@@ -23,4 +25,23 @@ public interface ResultSetHandler {
      */
     <T> List<T> handleResultSets(MappedStatement ms, PreparedStatement ps);
 
+    /**
+     * 处理结果集，每映射一行就交给结果处理器，不会把结果收集成集合
+     *
+     * @param ms            MappedStatement 映射语句对象
+     * @param ps            PreparedStatement 预编译语句
+     * @param resultHandler 结果处理器
+     */
+    void handleResultSets(MappedStatement ms, PreparedStatement ps, ResultHandler<?> resultHandler);
+
+    /**
+     * 处理结果集，返回一个遍历时才逐行映射实体类的游标
+     *
+     * @param ms  MappedStatement 映射语句对象
+     * @param ps  PreparedStatement 预编译语句
+     * @param <T> 实体类型
+     * @return 游标
+     */
+    <T> Cursor<T> handleCursorResultSets(MappedStatement ms, PreparedStatement ps);
+
 }
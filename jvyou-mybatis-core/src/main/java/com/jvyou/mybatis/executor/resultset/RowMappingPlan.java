@@ -0,0 +1,170 @@
+package com.jvyou.mybatis.executor.resultset;
+
+import com.jvyou.mybatis.reflection.PropertySetter;
+import com.jvyou.mybatis.reflection.Reflector;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.type.TypeHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 13:10
+ * ---description 行映射计划
+ * 同一个返回类型和同一组结果列只需要解析一次：属性和列的对应关系、列下标、类型处理器都在创建计划时确定，
+ * 映射每一行时按照列下标直接取值并通过预先生成的写入器赋值，不再查找字段、类型处理器和列名
+ */
+public class RowMappingPlan {
+
+    /**
+     * 实体类的反射信息，返回类型有类型处理器时为 null
+     */
+    private final Reflector reflector;
+
+    /**
+     * 返回类型本身有类型处理器（比如 Integer、String）时，直接取第一列的值
+     */
+    private final TypeHandler<?> resultTypeHandler;
+
+    private final PropertySetter[] setters;
+
+    private final int[] columnIndexes;
+
+    private final TypeHandler<?>[] typeHandlers;
+
+    private RowMappingPlan(Reflector reflector, TypeHandler<?> resultTypeHandler, PropertySetter[] setters, int[] columnIndexes, TypeHandler<?>[] typeHandlers) {
+        this.reflector = reflector;
+        this.resultTypeHandler = resultTypeHandler;
+        this.setters = setters;
+        this.columnIndexes = columnIndexes;
+        this.typeHandlers = typeHandlers;
+    }
+
+    /**
+     * 根据返回类型和结果集的列解析映射计划
+     *
+     * @param configuration 配置对象，用于获取类型处理器
+     * @param key           返回类型和结果列
+     * @return 映射计划
+     */
+    static RowMappingPlan build(Configuration configuration, Key key) {
+        Class<?> resultType = key.resultType;
+        TypeHandler<?> resultTypeHandler = configuration.getParamTypeHandler(resultType);
+        if (resultTypeHandler != null) {
+            // Integer、String 等 JDK 类型不需要反射信息，高版本 JDK 也不允许访问它们的私有字段
+            return new RowMappingPlan(null, resultTypeHandler, null, null, null);
+        }
+        Reflector reflector = Reflector.forClass(resultType);
+        List<PropertySetter> setters = new ArrayList<>();
+        List<Integer> columnIndexes = new ArrayList<>();
+        List<TypeHandler<?>> typeHandlers = new ArrayList<>();
+        for (int i = 0; i < key.columnLabels.length; i++) {
+            // 列名不区分大小写，结果集中没有对应列的属性保持默认值
+            String property = reflector.findPropertyName(key.columnLabels[i]);
+            if (property == null || !reflector.hasSetter(property) || setters.contains(reflector.getSetter(property))) {
+                continue;
+            }
+            Class<?> propertyType = reflector.getPropertyType(property);
+            setters.add(reflector.getSetter(property));
+            columnIndexes.add(i + 1);
+            TypeHandler<?> typeHandler = configuration.getParamTypeHandler(propertyType);
+            typeHandlers.add(typeHandler != null ? typeHandler : new ObjectTypeHandler(propertyType));
+        }
+        return new RowMappingPlan(reflector, null,
+                setters.toArray(new PropertySetter[0]),
+                columnIndexes.stream().mapToInt(Integer::intValue).toArray(),
+                typeHandlers.toArray(new TypeHandler<?>[0]));
+    }
+
+    /**
+     * 将结果集当前行映射成对象
+     *
+     * @param rs 已经移动到目标行的结果集
+     * @return 映射好的对象
+     * @throws SQLException SQL异常
+     */
+    public Object mapRow(ResultSet rs) throws SQLException {
+        if (resultTypeHandler != null) {
+            return resultTypeHandler.getResult(rs, 1);
+        }
+        Object obj = reflector.newInstance();
+        for (int i = 0; i < setters.length; i++) {
+            setters[i].set(obj, typeHandlers[i].getResult(rs, columnIndexes[i]));
+        }
+        return obj;
+    }
+
+    /**
+     * 映射计划的缓存键，由返回类型和结果集的列名组成
+     */
+    public static final class Key {
+
+        private final Class<?> resultType;
+
+        private final String[] columnLabels;
+
+        private final int hashCode;
+
+        public Key(Class<?> resultType, ResultSetMetaData metaData) throws SQLException {
+            int columnCount = metaData.getColumnCount();
+            String[] columnLabels = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                columnLabels[i] = metaData.getColumnLabel(i + 1);
+            }
+            this.resultType = resultType;
+            this.columnLabels = columnLabels;
+            this.hashCode = 31 * resultType.hashCode() + Arrays.hashCode(columnLabels);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hashCode == key.hashCode && resultType == key.resultType && Arrays.equals(columnLabels, key.columnLabels);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * 没有注册类型处理器的字段类型，交给驱动按照字段类型转换
+     */
+    private static class ObjectTypeHandler implements TypeHandler<Object> {
+
+        private final Class<?> type;
+
+        ObjectTypeHandler(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public void setParameter(PreparedStatement ps, int i, Object value) throws SQLException {
+            ps.setObject(i, value);
+        }
+
+        @Override
+        public Object getResult(ResultSet rs, String columnName) throws SQLException {
+            return rs.getObject(columnName, type);
+        }
+
+        @Override
+        public Object getResult(ResultSet rs, int columnIndex) throws SQLException {
+            return rs.getObject(columnIndex, type);
+        }
+    }
+}
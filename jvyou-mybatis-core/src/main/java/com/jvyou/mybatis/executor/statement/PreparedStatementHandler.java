@@ -1,10 +1,12 @@
 package com.jvyou.mybatis.executor.statement;
 
+import com.jvyou.mybatis.cursor.Cursor;
 import com.jvyou.mybatis.executor.parameter.ParameterHandler;
 import com.jvyou.mybatis.executor.resultset.ResultSetHandler;
 import com.jvyou.mybatis.mapping.BoundSql;
 import com.jvyou.mybatis.mapping.MappedStatement;
 import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.ResultHandler;
 import lombok.SneakyThrows;
 
 import java.sql.Connection;
@@ -33,10 +35,14 @@ public class PreparedStatementHandler implements StatementHandler {
 
 
     public PreparedStatementHandler(Configuration configuration, MappedStatement ms, Object parameter) {
+        this(configuration, ms, parameter, ms.getBoundSql(parameter));
+    }
+
+    public PreparedStatementHandler(Configuration configuration, MappedStatement ms, Object parameter, BoundSql boundSql) {
         this.configuration = configuration;
         this.ms = ms;
         this.parameter = parameter;
-        this.boundSql = ms.getBoundSql(parameter);
+        this.boundSql = boundSql;
         this.parameterHandler = configuration.newParameterHandler();
         this.resultSetHandler = configuration.newResultSetHandler();
     }
@@ -44,13 +50,19 @@ public class PreparedStatementHandler implements StatementHandler {
     @SneakyThrows
     @Override
     public Statement prepare(Connection connection) {
-        return connection.prepareStatement(boundSql.getParsedSql());
+        PreparedStatement ps = connection.prepareStatement(boundSql.getParsedSql());
+        Integer fetchSize = ms.getFetchSize() != null ? ms.getFetchSize() : configuration.getDefaultFetchSize();
+        if (fetchSize != null) {
+            // MySQL 的 Integer.MIN_VALUE 表示流式读取，需要只读、只能向前遍历的结果集，默认创建的语句满足这个要求
+            ps.setFetchSize(fetchSize);
+        }
+        return ps;
     }
 
     @Override
     public void parameterize(Statement statement) {
         PreparedStatement ps = (PreparedStatement) statement;
-        parameterHandler.setParameters(ps, boundSql.getParamNames(), parameter);
+        parameterHandler.setParameters(ps, ms, boundSql, parameter);
     }
 
     @SneakyThrows
@@ -62,6 +74,22 @@ public class PreparedStatementHandler implements StatementHandler {
         return (T) resultSetHandler.handleResultSets(ms, ps);
     }
 
+    @SneakyThrows
+    @Override
+    public void query(Statement statement, ResultHandler<?> resultHandler) {
+        PreparedStatement ps = (PreparedStatement) statement;
+        ps.execute();
+        resultSetHandler.handleResultSets(ms, ps, resultHandler);
+    }
+
+    @SneakyThrows
+    @Override
+    public <T> Cursor<T> queryCursor(Statement statement) {
+        PreparedStatement ps = (PreparedStatement) statement;
+        ps.execute();
+        return resultSetHandler.handleCursorResultSets(ms, ps);
+    }
+
     @SneakyThrows
     @Override
     public int update(Statement statement) {
@@ -70,6 +98,13 @@ public class PreparedStatementHandler implements StatementHandler {
         return ps.getUpdateCount();
     }
 
+    @SneakyThrows
+    @Override
+    public void batch(Statement statement) {
+        PreparedStatement ps = (PreparedStatement) statement;
+        ps.addBatch();
+    }
+
     @Override
     public BoundSql getBoundSql() {
         return boundSql;
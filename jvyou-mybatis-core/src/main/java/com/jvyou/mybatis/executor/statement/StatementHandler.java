@@ -1,7 +1,9 @@
 package com.jvyou.mybatis.executor.statement;
 
+import com.jvyou.mybatis.cursor.Cursor;
 import com.jvyou.mybatis.mapping.BoundSql;
 import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.session.ResultHandler;
 
 import java.sql.Connection;
 import java.sql.Statement;
@@ -40,6 +42,23 @@ public interface StatementHandler {
      */
     <T> T query(Statement statement);
 
+    /**
+     * 执行SQL语句，每映射一行结果就回调一次结果处理器
+     *
+     * @param statement     预编译SQL语句对象
+     * @param resultHandler 结果处理器
+     */
+    void query(Statement statement, ResultHandler<?> resultHandler);
+
+    /**
+     * 执行SQL语句，返回逐行映射结果的游标
+     *
+     * @param statement 预编译SQL语句对象
+     * @param <T>       实体类型
+     * @return 游标
+     */
+    <T> Cursor<T> queryCursor(Statement statement);
+
     /**
      * 执行SQL语句，通过PreparedStatement获取更新的行数
      *
@@ -48,6 +67,13 @@ public interface StatementHandler {
      */
     int update(Statement statement);
 
+    /**
+     * 将当前填充好参数的语句加入到批处理中
+     *
+     * @param statement 预编译SQL语句对象
+     */
+    void batch(Statement statement);
+
     /**
      * 获取BoundSql对象
      *
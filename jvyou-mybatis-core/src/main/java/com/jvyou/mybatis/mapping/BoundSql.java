@@ -1,10 +1,10 @@
 package com.jvyou.mybatis.mapping;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author 橘柚
@@ -13,7 +13,6 @@ import java.util.List;
  * ---description 解析后的 SQL 以及参数名称 列表
  */
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 public class BoundSql {
 
@@ -21,4 +20,23 @@ public class BoundSql {
 
     private List<String> paramNames;
 
+    /**
+     * 动态 SQL 渲染时绑定的变量（例如 foreach 的 __frch_item_N），查不到的键回退到原参数；没有绑定变量时为 null
+     */
+    private Map<String, Object> additionalParameters;
+
+    public BoundSql(String parsedSql, List<String> paramNames) {
+        this.parsedSql = parsedSql;
+        this.paramNames = paramNames;
+    }
+
+    /**
+     * 获取为占位符取值时使用的参数对象
+     *
+     * @param parameter 原参数
+     * @return 有绑定变量时返回包含绑定变量的 Map，否则返回原参数
+     */
+    public Object getBindingParameter(Object parameter) {
+        return additionalParameters == null ? parameter : additionalParameters;
+    }
 }
@@ -1,18 +1,25 @@
 package com.jvyou.mybatis.mapping;
 
 import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
 import com.jvyou.mybatis.constant.SQLKeyword;
-import com.jvyou.mybatis.parser.GenericTokenParser;
-import com.jvyou.mybatis.parser.ParameterMappingTokenHandler;
-import com.jvyou.mybatis.xml.DynamicContext;
-import com.jvyou.mybatis.xml.tag.SqlNode;
+import com.jvyou.mybatis.executor.parameter.ParameterBindingPlan;
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+import com.jvyou.mybatis.executor.parameter.ParameterBindingPlanCache;
+import com.jvyou.mybatis.reflection.Reflector;
+import com.jvyou.mybatis.session.Configuration;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 /**
  * @author 橘柚
@@ -47,15 +54,47 @@ public class MappedStatement implements SQLKeyword {
      * 是否是查询多条记录
      */
     private boolean isSelectMany;
+    /**
+     * 每次从数据库获取的行数，为空时使用全局配置
+     */
+    private Integer fetchSize;
     /**
      * 二级缓存,二级缓存是存放在 Configuration 对象的 caches Map集合当中的，键值为 Mapper 的全限定类名，值则是 Cache 对象，同一个 Mapper 的二级缓存是共享的
      */
     private Cache cache;
 
     /**
-     * SQL 动态节点
+     * 二级缓存条目的存活时间，单位毫秒，0 表示一直有效，直到依赖的表被写入
+     */
+    private long cacheTtl;
+
+    /**
+     * 在过期前多少毫秒开始在后台刷新二级缓存条目，0 表示不提前刷新
+     */
+    private long refreshAhead;
+
+    /**
+     * 依赖的表，查询语句是读取的表，增删改语句是写入的表，小写且不带库名；为 null 时表示无法确定
+     */
+    private Set<String> tables;
+
+    /**
+     * SQL 来源，静态 SQL 在构建时已经解析好，动态 SQL 每次执行时渲染
+     */
+    private SqlSource sqlSource;
+
+    /**
+     * 语句的指纹，由 SQL 定义和返回类型的结构计算，是缓存键的一部分，语句改变后持久化缓存中的旧条目不会被命中；
+     * 为空时在第一次使用时根据 id、命令类型、sql 和返回类型计算
+     */
+    private String fingerprint;
+
+    /**
+     * 参数绑定计划缓存，按参数名称列表编译
      */
-    private SqlNode sqlSource;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final ParameterBindingPlanCache parameterBindingPlans = new ParameterBindingPlanCache();
 
     /**
      * 获取 BoundSql
@@ -63,26 +102,83 @@ public class MappedStatement implements SQLKeyword {
      * @return 携带解析后的SQL和参数名称列表的 BoundSql 对象
      */
     public BoundSql getBoundSql(Object parameter) {
-        // 动态节点不为空，需要解析动态SQL
-        if (this.sqlSource != null) {
-            DynamicContext context = new DynamicContext((Map<String, Object>) parameter);
-            sqlSource.apply(context);
-            this.sql = context.getSql()
-                    .replace("\n", " ")  // 移除换行符
-                    .replaceAll("\\s+", " "); // 移除多余的空格
+        SqlSource source = this.sqlSource;
+        if (source == null) {
+            // 只设置了 sql 的语句在第一次使用时解析，StaticSqlSource 不可变，并发时重复创建也没有影响
+            source = new StaticSqlSource(sql);
+            this.sqlSource = source;
         }
+        return source.getBoundSql(parameter);
+    }
 
-        // 解析 SQL
-        ParameterMappingTokenHandler tokenHandler = new ParameterMappingTokenHandler();
-        GenericTokenParser genericTokenParser = new GenericTokenParser(SQL_OPEN_TOKEN, SQL_CLOSE_TOKEN, tokenHandler);
-        String parsedSql = genericTokenParser.parse(sql);
-        // 获取参数名称列表，这个是根据原始的 SQL 语句解析出来的
-        List<String> params = tokenHandler.getParams();
-        return new BoundSql(parsedSql, params);
+    /**
+     * 获取参数名称列表对应的参数绑定计划，第一次使用时编译
+     *
+     * @param configuration 配置对象
+     * @param paramNames    BoundSql 的参数名称列表
+     * @return 参数绑定计划
+     */
+    public ParameterBindingPlan getParameterBindingPlan(Configuration configuration, List<String> paramNames) {
+        return parameterBindingPlans.getPlan(configuration, paramNames);
+    }
+
+    /**
+     * 缓存的键，使用本次执行解析后的 SQL，动态 SQL 不同的分支不会共用缓存；
+     * 参数只取占位符实际绑定的值，参数对象中没有用到的属性不影响缓存
+     *
+     * @param configuration 配置对象
+     * @param boundSql      解析后的 SQL 以及参数名称列表
+     * @param parameter     参数对象
+     * @return 缓存的键
+     */
+    public CacheKey getCacheKey(Configuration configuration, BoundSql boundSql, Object parameter) {
+        CacheKey cacheKey = new CacheKey();
+        cacheKey.update(id);
+        cacheKey.update(getFingerprint());
+        cacheKey.update(boundSql.getParsedSql());
+        getParameterBindingPlan(configuration, boundSql.getParamNames()).updateCacheKey(cacheKey, boundSql.getBindingParameter(parameter));
+        cacheKey.update(configuration.getEnvironmentId());
+        return cacheKey;
     }
 
-    public String getCacheKey(Object parameter) {
-        return id + ":" + sql + ":" + parameter;
+    public String getFingerprint() {
+        String value = this.fingerprint;
+        if (value == null) {
+            // 并发时重复计算的结果相同
+            value = fingerprint(id + "\n" + sqlCommandType + "\n" + sql, resultType);
+            this.fingerprint = value;
+        }
+        return value;
+    }
+
+    /**
+     * 计算语句的指纹
+     *
+     * @param definition 语句的定义，注解中的 SQL 或者 XML 元素的内容
+     * @param resultType 返回类型，实体类的属性名称和类型参与计算
+     * @return 十六进制的指纹
+     */
+    public static String fingerprint(String definition, Class<?> resultType) {
+        StringBuilder source = new StringBuilder(definition);
+        if (resultType != null) {
+            source.append('\n').append(resultType.getName());
+            if (!resultType.isPrimitive() && !resultType.isArray() && !resultType.getName().startsWith("java.")) {
+                Reflector reflector = Reflector.forClass(resultType);
+                for (String name : reflector.getPropertyNames()) {
+                    source.append('\n').append(name).append(':').append(reflector.getPropertyType(name).getName());
+                }
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                hex.append(Character.forDigit((digest[i] >> 4) & 0xF, 16)).append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new JvyouMybatisException("SHA-256 is not available", e);
+        }
     }
 
 }
@@ -0,0 +1,20 @@
+package com.jvyou.mybatis.mapping;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 17:20
+ * ---description SQL 来源，根据参数生成本次执行使用的 BoundSql
+ * 实现类不能修改自身状态，多个会话会同时使用同一个 MappedStatement
+ */
+public interface SqlSource {
+
+    /**
+     * 获取 BoundSql
+     *
+     * @param parameter 参数对象
+     * @return 携带解析后的SQL和参数名称列表的 BoundSql 对象
+     */
+    BoundSql getBoundSql(Object parameter);
+
+}
@@ -0,0 +1,51 @@
+package com.jvyou.mybatis.mapping;
+
+import com.jvyou.mybatis.constant.SQLKeyword;
+import com.jvyou.mybatis.parser.GenericTokenParser;
+import com.jvyou.mybatis.parser.ParameterMappingTokenHandler;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 17:20
+ * ---description 静态 SQL
+ * 构建时就把 #{} 解析成 ? 占位符，每次执行只创建新的 BoundSql，参数名称列表是不可变的，所有 BoundSql 共享
+ */
+public class StaticSqlSource implements SqlSource, SQLKeyword {
+
+    private final String parsedSql;
+
+    private final List<String> paramNames;
+
+    public StaticSqlSource(String sql) {
+        ParameterMappingTokenHandler tokenHandler = new ParameterMappingTokenHandler();
+        GenericTokenParser genericTokenParser = new GenericTokenParser(SQL_OPEN_TOKEN, SQL_CLOSE_TOKEN, tokenHandler);
+        this.parsedSql = genericTokenParser.parse(sql);
+        // 获取参数名称列表，这个是根据原始的 SQL 语句解析出来的
+        this.paramNames = Collections.unmodifiableList(tokenHandler.getParams());
+    }
+
+    /**
+     * 使用已经解析好的 SQL 构建，动态 SQL 渲染时已经把 #{} 替换成了 ? 占位符
+     *
+     * @param parsedSql  解析后的 SQL
+     * @param paramNames 参数名称列表
+     */
+    public StaticSqlSource(String parsedSql, List<String> paramNames) {
+        this.parsedSql = parsedSql;
+        this.paramNames = Collections.unmodifiableList(paramNames);
+    }
+
+    @Override
+    public BoundSql getBoundSql(Object parameter) {
+        // 插件可能会修改 BoundSql 中的 SQL，所以每次返回新的对象
+        return new BoundSql(parsedSql, paramNames);
+    }
+
+    public String getParsedSql() {
+        return parsedSql;
+    }
+}
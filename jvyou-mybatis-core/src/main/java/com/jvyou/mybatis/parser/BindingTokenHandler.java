@@ -1,7 +1,6 @@
 package com.jvyou.mybatis.parser;
 
-import lombok.SneakyThrows;
-import ognl.Ognl;
+import com.jvyou.mybatis.xml.expression.ExpressionParser;
 
 /**
  * @author 橘柚
@@ -19,14 +18,13 @@ public class BindingTokenHandler implements TokenHandler {
     }
 
     /**
-     * 处理 ${} 标记,将${}里面的表达式通过ognl解析成对应的值
+     * 处理 ${} 标记,将${}里面的表达式解析成对应的值，解析好的表达式会被缓存
      *
      * @param content ${} 标记里面的表达式
-     * @return ognl解析之后的值
+     * @return 表达式计算之后的值
      */
-    @SneakyThrows
     @Override
     public String handleToken(String content) {
-        return String.valueOf(Ognl.getValue(content, context));
+        return String.valueOf(ExpressionParser.getCached(content).getValue(context));
     }
 }
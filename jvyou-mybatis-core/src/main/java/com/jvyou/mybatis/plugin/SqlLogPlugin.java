@@ -1,6 +1,7 @@
 package com.jvyou.mybatis.plugin;
 
 import com.jvyou.mybatis.executor.statement.StatementHandler;
+import com.jvyou.mybatis.session.ResultHandler;
 
 import java.sql.PreparedStatement;
 import java.sql.Statement;
@@ -14,6 +15,8 @@ import java.util.Properties;
  */
 @Intercepts({
         @Signature(type = StatementHandler.class, method = "query", args = Statement.class),
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = Statement.class),
         @Signature(type = StatementHandler.class, method = "update", args = Statement.class),
 })
 public class SqlLogPlugin implements PluginInterceptor {
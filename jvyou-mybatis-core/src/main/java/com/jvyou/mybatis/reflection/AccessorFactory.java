@@ -0,0 +1,220 @@
+package com.jvyou.mybatis.reflection;
+
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 14:15
+ * ---description 访问器工厂
+ * 公共类的公共 getter/setter 和无参构造方法通过 LambdaMetafactory 生成实现类，调用时和普通方法调用一样可以被 JIT 内联；
+ * 生成的实现类由本类的类加载器定义，只有实体类以及方法签名中的类型对本类的类加载器可见时才能生成，
+ * 否则（例如实体类由子类加载器加载）调用时会抛出 NoClassDefFoundError，这时和非公共类一样退化为 MethodHandle 调用。
+ * 没有 getter/setter 的属性直接读写字段。
+ * 高版本 JDK 中没有开放给本模块的包（例如 java.lang）不能设置可访问，这时返回 null，由调用方把对应的属性视为不可访问
+ */
+final class AccessorFactory {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType GETTER_SAM = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_SAM = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private AccessorFactory() {
+    }
+
+    static PropertyGetter getter(Method method) {
+        // 公共方法声明在非公共类中时需要先设置可访问
+        if (!trySetAccessible(method)) {
+            return null;
+        }
+        try {
+            MethodHandle target = LOOKUP.unreflect(method);
+            if (isLambdaCapable(method.getDeclaringClass(), method.getModifiers(), method.getReturnType())) {
+                try {
+                    CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get",
+                            MethodType.methodType(PropertyGetter.class), GETTER_SAM, target,
+                            MethodType.methodType(method.getReturnType(), method.getDeclaringClass()).wrap());
+                    return (PropertyGetter) instantiate(site);
+                } catch (LambdaConversionException e) {
+                    // 生成失败时使用 MethodHandle
+                }
+            }
+            return getter(target);
+        } catch (IllegalAccessException e) {
+            throw new JvyouMybatisException("Could not create getter for " + method + ", nested exception is:\n" + e, e);
+        }
+    }
+
+    static PropertyGetter getter(Field field) {
+        // 字段访问器基于 Unsafe 实现，比调用非常量的 MethodHandle 更快
+        if (!trySetAccessible(field)) {
+            return null;
+        }
+        return obj -> {
+            try {
+                return field.get(obj);
+            } catch (IllegalAccessException e) {
+                throw new JvyouMybatisException("Could not get value of " + field + ", nested exception is:\n" + e, e);
+            }
+        };
+    }
+
+    static PropertySetter setter(Method method) {
+        // 公共方法声明在非公共类中时需要先设置可访问
+        if (!trySetAccessible(method)) {
+            return null;
+        }
+        try {
+            MethodHandle target = LOOKUP.unreflect(method);
+            if (isLambdaCapable(method.getDeclaringClass(), method.getModifiers(), method.getParameterTypes()[0])) {
+                try {
+                    CallSite site = LambdaMetafactory.metafactory(LOOKUP, "set",
+                            MethodType.methodType(PropertySetter.class), SETTER_SAM, target,
+                            MethodType.methodType(void.class, method.getDeclaringClass(), method.getParameterTypes()[0]).wrap().changeReturnType(void.class));
+                    return (PropertySetter) instantiate(site);
+                } catch (LambdaConversionException e) {
+                    // 生成失败时使用 MethodHandle
+                }
+            }
+            return setter(target);
+        } catch (IllegalAccessException e) {
+            throw new JvyouMybatisException("Could not create setter for " + method + ", nested exception is:\n" + e, e);
+        }
+    }
+
+    static PropertySetter setter(Field field) {
+        if (!trySetAccessible(field)) {
+            return null;
+        }
+        return (obj, value) -> {
+            try {
+                field.set(obj, value);
+            } catch (IllegalAccessException e) {
+                throw new JvyouMybatisException("Could not set value of " + field + ", nested exception is:\n" + e, e);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static Supplier<Object> constructor(Constructor<?> constructor) {
+        if (!trySetAccessible(constructor)) {
+            return null;
+        }
+        try {
+            MethodHandle target = LOOKUP.unreflectConstructor(constructor);
+            if (isLambdaCapable(constructor.getDeclaringClass(), constructor.getModifiers(), void.class)) {
+                try {
+                    CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get",
+                            MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), target,
+                            MethodType.methodType(constructor.getDeclaringClass()));
+                    return (Supplier<Object>) instantiate(site);
+                } catch (LambdaConversionException e) {
+                    // 生成失败时使用 MethodHandle
+                }
+            }
+            MethodHandle handle = target.asType(MethodType.methodType(Object.class));
+            return () -> {
+                try {
+                    return handle.invokeExact();
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new JvyouMybatisException("Could not instantiate " + constructor.getDeclaringClass().getName() + ", nested exception is:\n" + e, e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw new JvyouMybatisException("Could not access constructor " + constructor + ", nested exception is:\n" + e, e);
+        }
+    }
+
+    /**
+     * 设置可访问，JDK 9 之后没有开放的包会抛出 InaccessibleObjectException，编译目标是 JDK 8 所以按 RuntimeException 处理
+     *
+     * @param member 字段、方法或者构造方法
+     * @return 是否设置成功
+     */
+    private static boolean trySetAccessible(AccessibleObject member) {
+        try {
+            member.setAccessible(true);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static PropertyGetter getter(MethodHandle target) {
+        MethodHandle handle = target.asType(GETTER_SAM);
+        return obj -> {
+            try {
+                return handle.invokeExact(obj);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new JvyouMybatisException("Could not get property value, nested exception is:\n" + e, e);
+            }
+        };
+    }
+
+    private static PropertySetter setter(MethodHandle target) {
+        MethodHandle handle = target.asType(SETTER_SAM);
+        return (obj, value) -> {
+            try {
+                handle.invokeExact(obj, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new JvyouMybatisException("Could not set property value, nested exception is:\n" + e, e);
+            }
+        };
+    }
+
+    /**
+     * 创建 LambdaMetafactory 生成的实现类的实例，没有捕获参数的调用点不会抛出受检异常
+     */
+    private static Object instantiate(CallSite site) {
+        try {
+            return site.getTarget().invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new JvyouMybatisException("Could not instantiate accessor, nested exception is:\n" + e, e);
+        }
+    }
+
+    private static boolean isLambdaCapable(Class<?> declaringClass, int modifiers, Class<?> valueType) {
+        return Modifier.isPublic(modifiers) && Modifier.isPublic(declaringClass.getModifiers())
+                && isVisible(declaringClass) && isVisible(valueType);
+    }
+
+    /**
+     * 判断类型能否从本类的类加载器按名称解析到同一个类，生成的实现类通过本类的类加载器链接这些类型
+     */
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false, AccessorFactory.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
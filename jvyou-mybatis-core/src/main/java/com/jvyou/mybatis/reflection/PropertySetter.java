@@ -0,0 +1,20 @@
+package com.jvyou.mybatis.reflection;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 14:10
+ * ---description 属性写入器
+ */
+@FunctionalInterface
+public interface PropertySetter {
+
+    /**
+     * 设置目标对象的属性值
+     *
+     * @param target 目标对象
+     * @param value  属性值
+     */
+    void set(Object target, Object value);
+
+}
@@ -0,0 +1,189 @@
+package com.jvyou.mybatis.reflection;
+
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 14:30
+ * ---description 类的反射元信息
+ * 每个类只解析一次，解析结果缓存在 ClassValue 中，属性的读取器、写入器和无参构造方法都提前生成好，
+ * 优先使用公共的 getter/setter 方法，没有时直接访问字段；不能设置可访问的成员（例如高版本 JDK 中 java.lang 的私有字段）
+ * 不生成访问器，对应的属性没有 getter/setter
+ */
+public class Reflector {
+
+    private static final ClassValue<Reflector> REFLECTORS = new ClassValue<Reflector>() {
+        @Override
+        protected Reflector computeValue(Class<?> type) {
+            return new Reflector(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    private final Supplier<Object> constructor;
+
+    private final Map<String, Class<?>> propertyTypes = new LinkedHashMap<>();
+
+    private final Map<String, PropertyGetter> getters = new HashMap<>();
+
+    private final Map<String, PropertySetter> setters = new HashMap<>();
+
+    /**
+     * 小写属性名 -> 属性名，用于不区分大小写查找属性
+     */
+    private final Map<String, String> caseInsensitivePropertyMap = new HashMap<>();
+
+    private Reflector(Class<?> type) {
+        this.type = type;
+        this.constructor = resolveConstructor(type);
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic() || propertyTypes.containsKey(field.getName())) {
+                    // 子类的字段优先
+                    continue;
+                }
+                addProperty(field);
+            }
+        }
+    }
+
+    /**
+     * 获取类的反射元信息
+     *
+     * @param type 类
+     * @return 反射元信息
+     */
+    public static Reflector forClass(Class<?> type) {
+        return REFLECTORS.get(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 通过无参构造方法创建对象
+     *
+     * @return 新对象
+     */
+    public Object newInstance() {
+        if (constructor == null) {
+            throw new JvyouMybatisException(type.getName() + " does not have a no-argument constructor");
+        }
+        return constructor.get();
+    }
+
+    /**
+     * 获取所有属性名称，顺序与字段声明顺序一致
+     *
+     * @return 属性名称
+     */
+    public Set<String> getPropertyNames() {
+        return Collections.unmodifiableSet(propertyTypes.keySet());
+    }
+
+    public Class<?> getPropertyType(String name) {
+        return propertyTypes.get(name);
+    }
+
+    public boolean hasGetter(String name) {
+        return getters.containsKey(name);
+    }
+
+    public boolean hasSetter(String name) {
+        return setters.containsKey(name);
+    }
+
+    public PropertyGetter getGetter(String name) {
+        PropertyGetter getter = getters.get(name);
+        if (getter == null) {
+            throw new JvyouMybatisException("There is no getter for property named '" + name + "' in '" + type.getName() + "'");
+        }
+        return getter;
+    }
+
+    public PropertySetter getSetter(String name) {
+        PropertySetter setter = setters.get(name);
+        if (setter == null) {
+            throw new JvyouMybatisException("There is no setter for property named '" + name + "' in '" + type.getName() + "'");
+        }
+        return setter;
+    }
+
+    /**
+     * 不区分大小写查找属性名称
+     *
+     * @param name 属性名称，比如数据库列名
+     * @return 属性名称，找不到返回 null
+     */
+    public String findPropertyName(String name) {
+        return caseInsensitivePropertyMap.get(name.toLowerCase(Locale.ENGLISH));
+    }
+
+    private void addProperty(Field field) {
+        String name = field.getName();
+        propertyTypes.put(name, field.getType());
+        caseInsensitivePropertyMap.putIfAbsent(name.toLowerCase(Locale.ENGLISH), name);
+
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        Method getter = findMethod("get" + capitalized, field.getType());
+        if (getter == null && (field.getType() == boolean.class || field.getType() == Boolean.class)) {
+            getter = findMethod("is" + capitalized, field.getType());
+        }
+        PropertyGetter propertyGetter = getter != null ? AccessorFactory.getter(getter) : AccessorFactory.getter(field);
+        if (propertyGetter != null) {
+            getters.put(name, propertyGetter);
+        }
+
+        Method setter = null;
+        try {
+            setter = type.getMethod("set" + capitalized, field.getType());
+        } catch (NoSuchMethodException e) {
+            // 没有 setter 方法时直接设置字段
+        }
+        PropertySetter propertySetter = null;
+        if (setter != null) {
+            propertySetter = AccessorFactory.setter(setter);
+        } else if (!Modifier.isFinal(field.getModifiers())) {
+            propertySetter = AccessorFactory.setter(field);
+        }
+        if (propertySetter != null) {
+            setters.put(name, propertySetter);
+        }
+    }
+
+    private Method findMethod(String name, Class<?> returnType) {
+        try {
+            Method method = type.getMethod(name);
+            return returnType.isAssignableFrom(method.getReturnType()) ? method : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Supplier<Object> resolveConstructor(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            return AccessorFactory.constructor(constructor);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -1,27 +1,49 @@
 package com.jvyou.mybatis.session;
 
+import com.jvyou.mybatis.binding.MapperProxyFactory;
 import com.jvyou.mybatis.cache.Cache;
-import com.jvyou.mybatis.cache.PerpetualCache;
+import com.jvyou.mybatis.cache.CacheBuilder;
+import com.jvyou.mybatis.cache.CacheStats;
+import com.jvyou.mybatis.cache.PersistentCache;
+import com.jvyou.mybatis.cache.TableWriteTracker;
+import com.jvyou.mybatis.cache.invalidation.CacheInvalidationBus;
+import com.jvyou.mybatis.cache.invalidation.InvalidationBroadcaster;
+import com.jvyou.mybatis.cache.jmx.CacheMBeans;
+import com.jvyou.mybatis.executor.BatchExecutor;
+import com.jvyou.mybatis.executor.CacheRefresher;
 import com.jvyou.mybatis.executor.CachingExecutor;
 import com.jvyou.mybatis.executor.Executor;
+import com.jvyou.mybatis.executor.ReuseExecutor;
 import com.jvyou.mybatis.executor.SimpleExecutor;
 import com.jvyou.mybatis.executor.parameter.DefaultParameterHandler;
 import com.jvyou.mybatis.executor.parameter.ParameterHandler;
 import com.jvyou.mybatis.executor.resultset.DefaultResultSetHandler;
 import com.jvyou.mybatis.executor.resultset.ResultSetHandler;
+import com.jvyou.mybatis.executor.resultset.RowMappingPlan;
 import com.jvyou.mybatis.executor.statement.PreparedStatementHandler;
 import com.jvyou.mybatis.executor.statement.StatementHandler;
+import com.jvyou.mybatis.mapping.BoundSql;
 import com.jvyou.mybatis.mapping.MappedStatement;
 import com.jvyou.mybatis.plugin.InterceptorChain;
 import com.jvyou.mybatis.plugin.LimitPlugin;
 import com.jvyou.mybatis.plugin.SqlLogPlugin;
+import com.jvyou.mybatis.transaction.JdbcTransaction;
 import com.jvyou.mybatis.transaction.Transaction;
 import com.jvyou.mybatis.type.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 
 import javax.sql.DataSource;
+import java.io.File;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * @author 橘柚
@@ -42,9 +64,40 @@ public class Configuration {
     // 全局开启二级缓存
     protected boolean cacheEnabled = true;
     // 缓存 Map
-    protected final Map<String, Cache> caches = new HashMap<>();
+    protected final Map<String, Cache> caches = new ConcurrentHashMap<>();
+    // 表写入时间记录，二级缓存按表失效，跨命名空间共用
+    private final TableWriteTracker tableWriteTracker = new TableWriteTracker();
+    // 二级缓存的提前刷新，后台查询使用新的 SimpleExecutor 和自动提交的事务
+    private final CacheRefresher cacheRefresher = new CacheRefresher(
+            () -> new SimpleExecutor(this, new JdbcTransaction(getDataSource(), true, TransactionIsolationLevel.DEFAULT)),
+            tableWriteTracker, CacheRefresher.DEFAULT_THREADS);
+    // 节点标识，多个节点之间广播缓存失效时区分消息来源
+    protected String nodeId = UUID.randomUUID().toString();
+    // 节点之间的缓存失效，通过 setInvalidationBroadcaster 开启，为空时写入只使本节点的缓存失效
+    @Setter(AccessLevel.NONE)
+    private CacheInvalidationBus invalidationBus;
+    // 持久化二级缓存文件所在的目录，必须只有当前用户可以写入
+    protected File persistentCacheDirectory = PersistentCache.DEFAULT_DIRECTORY;
+    // 持久化二级缓存允许反序列化的类名或者包名，Mapper 方法签名中的类型会自动允许，实体类中其他类型的属性需要在这里添加
+    protected Set<String> persistentCacheAllowedClasses = new LinkedHashSet<>();
     //数据源
     private DataSource dataSource;
+    // 环境 ID，是缓存键的一部分，连接不同数据库的配置不会共用缓存数据
+    protected String environmentId = "default";
+    // 默认的执行器类型
+    protected ExecutorType defaultExecutorType = ExecutorType.SIMPLE;
+    // 批量执行器自动执行批处理的阈值
+    protected int defaultBatchSize = 1000;
+    // 可重用执行器每个连接最多缓存的预编译语句数量
+    protected int reuseStatementCacheSize = 256;
+    // 默认的 fetchSize，为空时使用驱动的默认值
+    protected Integer defaultFetchSize;
+    // 行映射计划缓存，键为返回类型和结果集的列
+    private final Map<RowMappingPlan.Key, RowMappingPlan> rowMappingPlans = new ConcurrentHashMap<>();
+    // Mapper 代理工厂缓存，键为 Mapper 接口
+    private final Map<Class<?>, MapperProxyFactory<?>> mapperProxyFactories = new ConcurrentHashMap<>();
+    // 是否优先使用注解处理器在编译期生成的 Mapper 实现类，没有生成时使用动态代理
+    protected boolean useGeneratedMappers = true;
 
     public Configuration() {
         // 添加默认的类型处理器
@@ -87,6 +140,22 @@ public class Configuration {
         return mappedStatements.get(id);
     }
 
+    /**
+     * 获取 Mapper 接口的代理对象，同一个接口共享代理工厂以及工厂里缓存的 Mapper 方法元信息
+     *
+     * @param mapperClass Mapper 接口类型
+     * @param sqlSession  代理对象使用的 SqlSession
+     * @return Mapper 接口的代理对象
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getMapper(Class<T> mapperClass, SqlSession sqlSession) {
+        MapperProxyFactory<T> factory = (MapperProxyFactory<T>) mapperProxyFactories.get(mapperClass);
+        if (factory == null) {
+            factory = (MapperProxyFactory<T>) mapperProxyFactories.computeIfAbsent(mapperClass, type -> new MapperProxyFactory<>(mapperClass, useGeneratedMappers));
+        }
+        return factory.getProxy(sqlSession);
+    }
+
     /**
      * 根据给定的类型获取对应的参数类型处理器。
      *
@@ -100,15 +169,34 @@ public class Configuration {
     }
 
     /**
-     * 创建一个新的SqlExecutor对象，并使用责任链模式包装它。
+     * 创建一个默认类型的SqlExecutor对象，并使用责任链模式包装它。
      *
      * @return 返回包装后的 SqlExecutor 对象。
      */
     public Executor newSqlExecutor(Transaction transaction) {
-        SimpleExecutor executor = new SimpleExecutor(this, transaction);
+        return newSqlExecutor(transaction, defaultExecutorType);
+    }
+
+    /**
+     * 创建一个新的SqlExecutor对象，并使用责任链模式包装它。
+     *
+     * @param transaction  事务
+     * @param executorType 执行器类型
+     * @return 返回包装后的 SqlExecutor 对象。
+     */
+    public Executor newSqlExecutor(Transaction transaction, ExecutorType executorType) {
+        executorType = executorType == null ? defaultExecutorType : executorType;
+        Executor executor;
+        if (executorType == ExecutorType.BATCH) {
+            executor = new BatchExecutor(this, transaction);
+        } else if (executorType == ExecutorType.REUSE) {
+            executor = new ReuseExecutor(this, transaction);
+        } else {
+            executor = new SimpleExecutor(this, transaction);
+        }
         // 统一通过 CachingExecutor 对执行器进行装饰，在解析 Configuration对象中存在了是否开启二级缓存
         // 并包装了 MappedStatement 的缓存对象，CachingExecutor 里面会通过对 MS 的缓存对象是否存在进行判断是否走二级缓存
-        return interceptorChain.wrap(new CachingExecutor(executor));
+        return interceptorChain.wrap(new CachingExecutor(executor, tableWriteTracker, cacheRefresher, invalidationBus));
     }
 
     public ResultSetHandler newResultSetHandler() {
@@ -127,16 +215,73 @@ public class Configuration {
      * @return 陈述语句处理器
      */
     public StatementHandler newStatementHandler(MappedStatement ms, Object parameter) {
-        return interceptorChain.wrap(new PreparedStatementHandler(this, ms, parameter));
+        return newStatementHandler(ms, parameter, ms.getBoundSql(parameter));
+    }
+
+    /**
+     * 使用已经解析好的 BoundSql 新建陈述语句处理器
+     *
+     * @param ms        MappedStatement
+     * @param parameter 参数对象
+     * @param boundSql  解析后的 SQL 以及参数名称列表
+     * @return 陈述语句处理器
+     */
+    public StatementHandler newStatementHandler(MappedStatement ms, Object parameter, BoundSql boundSql) {
+        return interceptorChain.wrap(new PreparedStatementHandler(this, ms, parameter, boundSql));
     }
 
     /**
-     * 获取缓存
+     * 获取缓存，不存在时使用默认配置创建
      *
      * @param id 缓存ID
      * @return 缓存
      */
     public Cache getCache(String id) {
-        return caches.computeIfAbsent(id, k -> new PerpetualCache(id));
+        return getCache(id, k -> new CacheBuilder(k).build());
+    }
+
+    /**
+     * 获取缓存，不存在时使用 cacheFactory 创建
+     *
+     * @param id           缓存ID
+     * @param cacheFactory 缓存工厂，参数为缓存ID
+     * @return 缓存
+     */
+    public Cache getCache(String id, Function<String, Cache> cacheFactory) {
+        return caches.computeIfAbsent(id, cacheFactory);
+    }
+
+    /**
+     * 设置节点之间的缓存失效广播，之后打开的会话提交写入时通知其他节点，并应用其他节点的写入
+     *
+     * @param broadcaster 广播，为空时关闭
+     */
+    public void setInvalidationBroadcaster(InvalidationBroadcaster broadcaster) {
+        if (invalidationBus != null) {
+            invalidationBus.close();
+        }
+        invalidationBus = broadcaster == null ? null : new CacheInvalidationBus(nodeId, tableWriteTracker, caches, broadcaster);
+    }
+
+    /**
+     * 获取所有二级缓存的统计快照
+     *
+     * @return 缓存ID -> 统计，按缓存ID排序
+     */
+    public Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> stats = new TreeMap<>();
+        caches.forEach((id, cache) -> stats.put(id, cache.getStats()));
+        return stats;
+    }
+
+    /**
+     * 把所有二级缓存注册到平台 MBeanServer，之后新建的缓存需要再次调用
+     */
+    public void registerCacheMBeans() {
+        CacheMBeans.register(caches.values());
+    }
+
+    public void unregisterCacheMBeans() {
+        CacheMBeans.unregister(caches.values());
     }
 }
@@ -0,0 +1,26 @@
+package com.jvyou.mybatis.session;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 9:20
+ * ---description 执行器类型
+ */
+public enum ExecutorType {
+
+    /**
+     * 简单执行器，每次执行都会创建新的预编译语句，执行完毕后立即关闭
+     */
+    SIMPLE,
+
+    /**
+     * 可重用执行器，以解析后的 SQL 为键缓存当前连接上的预编译语句，会话关闭时统一关闭
+     */
+    REUSE,
+
+    /**
+     * 批量执行器，连续的、SQL 相同的更新语句会合并成一个 JDBC 批处理执行
+     */
+    BATCH
+
+}
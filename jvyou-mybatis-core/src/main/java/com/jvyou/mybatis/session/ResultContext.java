@@ -0,0 +1,37 @@
+package com.jvyou.mybatis.session;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 11:40
+ * ---description 结果上下文，ResultHandler 回调时通过它获取当前行的结果
+ */
+public interface ResultContext<T> {
+
+    /**
+     * 获取当前行映射好的对象
+     *
+     * @return 当前行的结果
+     */
+    T getResultObject();
+
+    /**
+     * 获取到目前为止已经处理的行数
+     *
+     * @return 已经处理的行数
+     */
+    int getResultCount();
+
+    /**
+     * 是否已经停止
+     *
+     * @return 调用过 stop 方法返回 true
+     */
+    boolean isStopped();
+
+    /**
+     * 停止读取后面的行
+     */
+    void stop();
+
+}
@@ -0,0 +1,18 @@
+package com.jvyou.mybatis.session;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 11:40
+ * ---description 结果处理器，查询时每映射好一行就回调一次，不会把结果收集成集合
+ */
+public interface ResultHandler<T> {
+
+    /**
+     * 处理一行映射好的结果，调用 ResultContext#stop 可以提前结束查询
+     *
+     * @param resultContext 结果上下文
+     */
+    void handleResult(ResultContext<? extends T> resultContext);
+
+}
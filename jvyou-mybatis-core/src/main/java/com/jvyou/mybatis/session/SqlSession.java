@@ -1,6 +1,11 @@
 package com.jvyou.mybatis.session;
 
+import com.jvyou.mybatis.cursor.Cursor;
+import com.jvyou.mybatis.executor.BatchResult;
+import com.jvyou.mybatis.executor.StatementCacheStats;
+
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * @author 橘柚
@@ -66,6 +71,25 @@ public interface SqlSession {
      */
     <E> List<E> selectList(String statementId);
 
+    /**
+     * 回调查询，每映射好一行结果就交给结果处理器，不会把结果收集成集合
+     *
+     * @param statementId 语句id
+     * @param parameter   参数
+     * @param handler     结果处理器，可以通过 ResultContext#stop 提前结束查询
+     */
+    void select(String statementId, Object parameter, ResultHandler<?> handler);
+
+    /**
+     * 游标查询，遍历游标时才逐行读取并映射结果，适合处理大结果集
+     *
+     * @param statementId 语句id
+     * @param parameter   参数
+     * @param <T>         实体类型
+     * @return 游标，必须在 Session 关闭之前遍历或关闭
+     */
+    <T> Cursor<T> selectCursor(String statementId, Object parameter);
+
     /**
      * 获取 Mapper 对象
      *
@@ -75,6 +99,29 @@ public interface SqlSession {
      */
     <T> T getMapper(Class<T> mapperClass);
 
+    /**
+     * 将批量执行器中缓存的语句发送到数据库执行
+     *
+     * @return 每个批处理语句的执行结果
+     */
+    List<BatchResult> flushStatements();
+
+    /**
+     * 在 action 中多次执行相同的 SQL 时复用同一个预编译语句，分批执行大集合参数时使用
+     *
+     * @param action 要执行的操作
+     * @param <R>    返回值类型
+     * @return action 的返回值
+     */
+    <R> R reuseStatements(Supplier<R> action);
+
+    /**
+     * 获取会话执行器的预编译语句缓存统计，只有 REUSE 执行器有数据
+     *
+     * @return 统计快照
+     */
+    StatementCacheStats getStatementCacheStats();
+
     /**
      * 关闭 Session
      */
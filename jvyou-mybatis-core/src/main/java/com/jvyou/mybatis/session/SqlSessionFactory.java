@@ -27,4 +27,23 @@ public interface SqlSessionFactory {
 
     SqlSession openSession(TransactionIsolationLevel level);
 
+    /**
+     * 获取指定执行器类型的 SqlSession，默认不自动提交事务
+     *
+     * @param execType 执行器类型
+     * @return SqlSession
+     */
+    default SqlSession openSession(ExecutorType execType) {
+        return openSession(execType, false);
+    }
+
+    /**
+     * 获取指定执行器类型的 SqlSession
+     *
+     * @param execType   执行器类型
+     * @param autoCommit 是否自动提交
+     * @return SqlSession
+     */
+    SqlSession openSession(ExecutorType execType, boolean autoCommit);
+
 }
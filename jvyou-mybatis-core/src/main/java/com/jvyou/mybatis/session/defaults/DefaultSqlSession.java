@@ -1,14 +1,19 @@
 package com.jvyou.mybatis.session.defaults;
 
-import com.jvyou.mybatis.binding.MapperProxyFactory;
+import com.jvyou.mybatis.cursor.Cursor;
 import com.jvyou.mybatis.exception.TooManyResultsException;
+import com.jvyou.mybatis.executor.BatchResult;
 import com.jvyou.mybatis.executor.Executor;
+import com.jvyou.mybatis.executor.StatementCacheStats;
 import com.jvyou.mybatis.mapping.MappedStatement;
 import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.ResultHandler;
 import com.jvyou.mybatis.session.SqlSession;
 import lombok.SneakyThrows;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * @author 橘柚
@@ -21,6 +26,11 @@ public class DefaultSqlSession implements SqlSession {
     private final Configuration configuration;
     private final Executor executor;
 
+    /**
+     * 会话中打开过的游标，关闭会话时一起关闭，避免连接归还后游标还占用着 ResultSet 和语句
+     */
+    private final List<Cursor<?>> cursorList = new ArrayList<>();
+
     public DefaultSqlSession(Configuration configuration, Executor executor) {
         this.configuration = configuration;
         this.executor = executor;
@@ -66,14 +76,47 @@ public class DefaultSqlSession implements SqlSession {
         return selectList(statementId, null);
     }
 
+    @Override
+    public void select(String statementId, Object parameter, ResultHandler<?> handler) {
+        MappedStatement mappedStatement = configuration.getMappedStatement(statementId);
+        executor.query(mappedStatement, parameter, handler);
+    }
+
+    @Override
+    public <T> Cursor<T> selectCursor(String statementId, Object parameter) {
+        MappedStatement mappedStatement = configuration.getMappedStatement(statementId);
+        Cursor<T> cursor = executor.queryCursor(mappedStatement, parameter);
+        cursorList.add(cursor);
+        return cursor;
+    }
+
     @Override
     public <T> T getMapper(Class<T> mapperClass) {
-        return new MapperProxyFactory().getProxy(mapperClass, this);
+        return configuration.getMapper(mapperClass, this);
+    }
+
+    @Override
+    public List<BatchResult> flushStatements() {
+        return executor.flushStatements();
+    }
+
+    @Override
+    public <R> R reuseStatements(Supplier<R> action) {
+        return executor.reuseStatements(action);
+    }
+
+    @Override
+    public StatementCacheStats getStatementCacheStats() {
+        return executor.getStatementCacheStats();
     }
 
     @Override
     public void close() {
-        executor.close();
+        try {
+            closeCursors();
+        } finally {
+            executor.close();
+        }
     }
 
     @SneakyThrows
@@ -88,8 +131,25 @@ public class DefaultSqlSession implements SqlSession {
         executor.rollback(false);
     }
 
+    private void closeCursors() {
+        // 已经关闭或者读取完毕的游标再次关闭时什么也不做
+        for (Cursor<?> cursor : cursorList) {
+            cursor.close();
+        }
+        cursorList.clear();
+    }
+
     @Override
     public Configuration getConfiguration() {
         return configuration;
     }
+
+    /**
+     * 获取当前会话使用的执行器
+     *
+     * @return 执行器
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
 }
@@ -1,6 +1,7 @@
 package com.jvyou.mybatis.session.defaults;
 
 import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.ExecutorType;
 import com.jvyou.mybatis.session.SqlSession;
 import com.jvyou.mybatis.session.SqlSessionFactory;
 import com.jvyou.mybatis.session.TransactionIsolationLevel;
@@ -23,16 +24,21 @@ public class DefaultSqlSessionFactory implements SqlSessionFactory {
 
     @Override
     public SqlSession openSession(boolean autoCommit) {
-        return openSessionFromDataSource(TransactionIsolationLevel.DEFAULT, autoCommit);
+        return openSessionFromDataSource(configuration.getDefaultExecutorType(), TransactionIsolationLevel.DEFAULT, autoCommit);
     }
 
     @Override
     public SqlSession openSession(TransactionIsolationLevel level) {
-        return openSessionFromDataSource(level, false);
+        return openSessionFromDataSource(configuration.getDefaultExecutorType(), level, false);
     }
 
-    private SqlSession openSessionFromDataSource(TransactionIsolationLevel level, boolean autoCommit) {
+    @Override
+    public SqlSession openSession(ExecutorType execType, boolean autoCommit) {
+        return openSessionFromDataSource(execType, TransactionIsolationLevel.DEFAULT, autoCommit);
+    }
+
+    private SqlSession openSessionFromDataSource(ExecutorType execType, TransactionIsolationLevel level, boolean autoCommit) {
         Transaction transaction = new JdbcTransaction(configuration.getDataSource(), autoCommit, level);
-        return new DefaultSqlSession(configuration, configuration.newSqlExecutor(transaction));
+        return new DefaultSqlSession(configuration, configuration.newSqlExecutor(transaction, execType));
     }
 }
@@ -56,6 +56,11 @@ public class JdbcTransaction implements Transaction {
         }
     }
 
+    @Override
+    public boolean isAutoCommit() {
+        return autoCommit;
+    }
+
     @SneakyThrows
     @Override
     public void close() {
@@ -32,4 +32,11 @@ public interface Transaction {
      */
     void close();
 
+    /**
+     * 是否自动提交，自动提交时每条语句执行完就已经提交
+     *
+     * @return 是否自动提交
+     */
+    boolean isAutoCommit();
+
 }
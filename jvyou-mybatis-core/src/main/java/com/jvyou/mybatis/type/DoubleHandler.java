@@ -20,4 +20,9 @@ public class DoubleHandler implements TypeHandler<Double> {
     public Double getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getDouble(columnName);
     }
+
+    @Override
+    public Double getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getDouble(columnIndex);
+    }
 }
@@ -20,4 +20,9 @@ public class IntegerHandler implements TypeHandler<Integer> {
     public Integer getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getInt(columnName);
     }
+
+    @Override
+    public Integer getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getInt(columnIndex);
+    }
 }
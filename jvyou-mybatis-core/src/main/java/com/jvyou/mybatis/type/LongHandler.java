@@ -20,4 +20,9 @@ public class LongHandler implements TypeHandler<Long> {
     public Long getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getLong(columnName);
     }
+
+    @Override
+    public Long getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getLong(columnIndex);
+    }
 }
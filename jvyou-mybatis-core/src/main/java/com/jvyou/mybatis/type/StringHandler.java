@@ -20,4 +20,9 @@ public class StringHandler implements TypeHandler<String> {
     public String getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getString(columnName);
     }
+
+    @Override
+    public String getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getString(columnIndex);
+    }
 }
@@ -16,4 +16,14 @@ public interface TypeHandler<T> {
 
     T getResult(ResultSet rs, String columnName) throws SQLException;
 
+    /**
+     * 按列下标获取结果，比按列名获取少一次列名查找
+     *
+     * @param rs          结果集
+     * @param columnIndex 列下标，从 1 开始
+     * @return 列的值
+     * @throws SQLException SQL异常
+     */
+    T getResult(ResultSet rs, int columnIndex) throws SQLException;
+
 }
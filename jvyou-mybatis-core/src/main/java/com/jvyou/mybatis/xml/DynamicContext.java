@@ -1,6 +1,12 @@
 package com.jvyou.mybatis.xml;
 
+import com.jvyou.mybatis.constant.SQLKeyword;
+import com.jvyou.mybatis.constant.SymbolKeyword;
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -8,31 +14,306 @@ import java.util.Map;
  * @version 1.0-SNAPSHOT
  * @since 2024/7/1 1:15
  * ---description 动态上下文
+ * 追加 SQL 片段时在同一次遍历中合并连续的空白字符，并把 #{} 替换成 ? 占位符，渲染结束只生成一个字符串。
+ * foreach 等节点绑定的变量保存在上下文自己的 Map 中，不会写入调用方传入的参数，读取时先查绑定的变量再查参数
  */
-public class DynamicContext {
+public class DynamicContext implements SQLKeyword, SymbolKeyword {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * 分支签名最多记录的分支数，最高位留给起始标记位
+     */
+    private static final int MAX_BRANCHES = 63;
+
+    /**
+     * 只计算分支签名时为 null，不拼接 SQL
+     */
+    private final StringBuilder sqlBuilder;
+
+    private final ContextMap bindings;
+
+    /**
+     * #{} 中的参数名称，按出现的顺序
+     */
+    private final List<String> paramNames = new ArrayList<>();
 
-    private final StringBuilder sqlBuilder = new StringBuilder();
+    /**
+     * 最后追加的字符是否是空白，用于合并相邻片段之间的空白
+     */
+    private boolean lastWhitespace;
+
+    /**
+     * 分支签名，从标记位 1 开始，每经过一个分支左移一位并记录是否进入，标记位保证不同长度的签名不会相同
+     */
+    private long branchSignature = 1L;
+
+    private int branchCount;
+
+    /**
+     * foreach 生成唯一参数名使用的序号
+     */
+    private int uniqueNumber;
+
+    public DynamicContext(Map<String, Object> parameter) {
+        this(parameter, true);
+    }
 
-    private final Map<String, Object> bindings ;
+    /**
+     * @param parameter 参数
+     * @param renderSql 是否拼接 SQL，为 false 时只计算分支签名
+     */
+    public DynamicContext(Map<String, Object> parameter, boolean renderSql) {
+        this(parameter, renderSql, DEFAULT_CAPACITY);
+    }
 
-    public DynamicContext(Map<String, Object> bindings) {
-        this.bindings = bindings;
+    /**
+     * @param parameter       参数，渲染过程中只读取
+     * @param renderSql       是否拼接 SQL，为 false 时只计算分支签名
+     * @param initialCapacity SQL 缓冲区的初始大小，一般传入上一次渲染的长度，避免扩容
+     */
+    public DynamicContext(Map<String, Object> parameter, boolean renderSql, int initialCapacity) {
+        this.bindings = new ContextMap(parameter);
+        this.sqlBuilder = renderSql ? new StringBuilder(Math.max(initialCapacity, DEFAULT_CAPACITY)) : null;
     }
 
+    /**
+     * 获取渲染后的 SQL，#{} 已经替换成 ? 占位符，连续的空白字符已经合并成一个空格
+     *
+     * @return SQL
+     */
     public String getSql() {
-        return sqlBuilder.toString();
+        return sqlBuilder == null ? "" : sqlBuilder.toString();
+    }
+
+    /**
+     * @return #{} 中的参数名称，和 SQL 中的 ? 一一对应
+     */
+    public List<String> getParamNames() {
+        return paramNames;
     }
 
+    /**
+     * 追加 SQL 片段，合并空白字符并解析其中的 #{}，片段之间使用空格分隔
+     *
+     * @param sql SQL 片段
+     */
     public void appendSql(String sql) {
-        sqlBuilder.append(sql);
-        sqlBuilder.append(" ");
+        if (sqlBuilder == null) {
+            return;
+        }
+        int length = sql.length();
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+            if (c == '#' && sql.startsWith(SQL_OPEN_TOKEN, i)) {
+                int end = sql.indexOf(SQL_CLOSE_TOKEN, i);
+                if (end == -1) {
+                    throw new JvyouMybatisException("在 " + sql.substring(i) + " 附近没有找到对应的结束标记");
+                }
+                paramNames.add(normalizeWhitespace(sql.substring(i + SQL_OPEN_TOKEN.length(), end)));
+                sqlBuilder.append(QUESTION_MARK);
+                lastWhitespace = false;
+                i = end + SQL_CLOSE_TOKEN.length() - 1;
+            } else {
+                appendChar(c);
+            }
+        }
+        appendChar(' ');
+    }
+
+    /**
+     * 追加加载时已经解析好的 SQL 片段，#{} 已经替换成 ? 占位符，只需要合并空白字符
+     *
+     * @param parsedSql  解析后的 SQL 片段
+     * @param paramNames 片段中的参数名称
+     */
+    public void appendParsedSql(String parsedSql, List<String> paramNames) {
+        if (sqlBuilder == null) {
+            return;
+        }
+        int length = parsedSql.length();
+        for (int i = 0; i < length; i++) {
+            appendChar(parsedSql.charAt(i));
+        }
+        appendChar(' ');
+        this.paramNames.addAll(paramNames);
+    }
+
+    /**
+     * @return 当前已渲染的 SQL 长度，只计算分支签名时为 0
+     */
+    public int getSqlLength() {
+        return sqlBuilder == null ? 0 : sqlBuilder.length();
+    }
+
+    /**
+     * 获取从指定位置开始渲染的 SQL，trim 等节点用来处理子节点的渲染结果
+     *
+     * @param start 开始位置
+     * @return SQL 片段，只计算分支签名时返回空字符串
+     */
+    public String getSql(int start) {
+        return sqlBuilder == null ? "" : sqlBuilder.substring(start);
+    }
+
+    /**
+     * 用已经解析好的 SQL 片段替换从指定位置开始渲染的内容，片段中不会再解析 #{}
+     *
+     * @param start     开始位置
+     * @param parsedSql 替换后的 SQL 片段，为空时只删除原来的内容
+     */
+    public void replaceSql(int start, String parsedSql) {
+        if (sqlBuilder == null) {
+            return;
+        }
+        sqlBuilder.setLength(start);
+        lastWhitespace = start > 0 && sqlBuilder.charAt(start - 1) == ' ';
+        if (parsedSql.isEmpty()) {
+            return;
+        }
+        int length = parsedSql.length();
+        for (int i = 0; i < length; i++) {
+            appendChar(parsedSql.charAt(i));
+        }
+        appendChar(' ');
     }
 
+    private void appendChar(char c) {
+        if (isWhitespace(c)) {
+            if (!lastWhitespace) {
+                sqlBuilder.append(' ');
+                lastWhitespace = true;
+            }
+        } else {
+            sqlBuilder.append(c);
+            lastWhitespace = false;
+        }
+    }
+
+    /**
+     * 把连续的空白字符合并成一个空格，加载 XML 时对静态文本调用一次
+     *
+     * @param text 文本
+     * @return 合并空白后的文本，没有需要合并的空白时返回原字符串
+     */
+    public static String normalizeWhitespace(String text) {
+        int length = text.length();
+        boolean normalized = true;
+        for (int i = 0; i < length && normalized; i++) {
+            char c = text.charAt(i);
+            if (isWhitespace(c) && (c != ' ' || i + 1 < length && isWhitespace(text.charAt(i + 1)))) {
+                normalized = false;
+            }
+        }
+        if (normalized) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(length);
+        boolean whitespace = false;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (isWhitespace(c)) {
+                if (!whitespace) {
+                    builder.append(' ');
+                    whitespace = true;
+                }
+            } else {
+                builder.append(c);
+                whitespace = false;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 和正则表达式的 \s 相同的空白字符
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * 记录一次分支判断的结果，if 等条件节点在判断后调用
+     *
+     * @param taken 是否进入分支
+     * @return taken
+     */
+    public boolean recordBranch(boolean taken) {
+        branchCount++;
+        if (branchCount <= MAX_BRANCHES) {
+            branchSignature = branchSignature << 1 | (taken ? 1L : 0L);
+        }
+        return taken;
+    }
+
+    /**
+     * 获取分支签名，相同签名的渲染结果（不包含 ${} 时）相同
+     *
+     * @return 分支签名，分支数超过上限时返回 -1
+     */
+    public long getBranchSignature() {
+        return branchCount <= MAX_BRANCHES ? branchSignature : -1L;
+    }
+
+    /**
+     * @return 本次渲染中唯一的序号
+     */
+    public int nextUniqueNumber() {
+        return uniqueNumber++;
+    }
+
+    /**
+     * 绑定渲染过程中使用的变量，只对本次渲染和生成的 BoundSql 可见
+     *
+     * @param name  变量名
+     * @param value 变量值
+     */
     public void bind(String name, Object value) {
         bindings.put(name, value);
     }
 
+    /**
+     * 获取表达式求值使用的 Map，先查绑定的变量，再查参数
+     *
+     * @return 绑定的变量和参数
+     */
     public Map<String, Object> getBindings() {
         return bindings;
     }
+
+    /**
+     * 是否绑定过变量，没有时 BoundSql 直接使用原参数
+     *
+     * @return 绑定过变量时返回 true
+     */
+    public boolean hasAdditionalBindings() {
+        return !bindings.isEmpty();
+    }
+
+    /**
+     * 自己只保存绑定的变量，查不到的键再从参数中读取
+     */
+    private static final class ContextMap extends HashMap<String, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, Object> parameter;
+
+        ContextMap(Map<String, Object> parameter) {
+            this.parameter = parameter;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (super.containsKey(key)) {
+                return super.get(key);
+            }
+            return parameter == null ? null : parameter.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return super.containsKey(key) || parameter != null && parameter.containsKey(key);
+        }
+    }
 }
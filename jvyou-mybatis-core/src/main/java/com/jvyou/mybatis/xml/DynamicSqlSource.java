@@ -0,0 +1,87 @@
+package com.jvyou.mybatis.xml;
+
+import com.jvyou.mybatis.mapping.BoundSql;
+import com.jvyou.mybatis.mapping.SqlSource;
+import com.jvyou.mybatis.mapping.StaticSqlSource;
+import com.jvyou.mybatis.xml.tag.SqlNode;
+
+import java.util.Map;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 17:20
+ * ---description 动态 SQL
+ * 每次执行根据参数渲染 SQL 节点，渲染结果和 foreach 等节点绑定的变量只保存在本次的 BoundSql 中，不会修改 MappedStatement 和参数。
+ * 渲染结果只由 if 等分支决定时，先只计算分支签名，签名相同的调用直接复用解析好的 SQL，不再拼接字符串
+ */
+public class DynamicSqlSource implements SqlSource {
+
+    private final SqlNode rootSqlNode;
+
+    /**
+     * 分支签名缓存，节点树包含 ${} 时为 null
+     */
+    private final SqlShapeCache shapeCache;
+
+    /**
+     * 上一次渲染的 SQL 长度，用于预分配缓冲区
+     */
+    private volatile int lastSqlLength;
+
+    public DynamicSqlSource(SqlNode rootSqlNode) {
+        this.rootSqlNode = rootSqlNode;
+        this.shapeCache = rootSqlNode.isCacheable() ? new SqlShapeCache() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public BoundSql getBoundSql(Object parameter) {
+        Map<String, Object> bindings = (Map<String, Object>) parameter;
+        if (shapeCache == null) {
+            return renderBoundSql(bindings);
+        }
+        DynamicContext signatureContext = new DynamicContext(bindings, false);
+        rootSqlNode.apply(signatureContext);
+        long signature = signatureContext.getBranchSignature();
+        if (signature == -1L) {
+            return renderBoundSql(bindings);
+        }
+        StaticSqlSource sqlSource = shapeCache.get(signature);
+        if (sqlSource == null) {
+            sqlSource = render(new DynamicContext(bindings, true, lastSqlLength));
+            shapeCache.put(signature, sqlSource);
+        }
+        return withAdditionalParameters(sqlSource.getBoundSql(parameter), signatureContext);
+    }
+
+    /**
+     * @return 分支签名缓存，不能缓存时返回 null
+     */
+    public SqlShapeCache getShapeCache() {
+        return shapeCache;
+    }
+
+    private BoundSql renderBoundSql(Map<String, Object> parameter) {
+        DynamicContext context = new DynamicContext(parameter, true, lastSqlLength);
+        return withAdditionalParameters(render(context).getBoundSql(parameter), context);
+    }
+
+    /**
+     * 渲染时绑定的变量放在 BoundSql 中，不写入调用方的参数
+     */
+    private static BoundSql withAdditionalParameters(BoundSql boundSql, DynamicContext context) {
+        if (context.hasAdditionalBindings()) {
+            boundSql.setAdditionalParameters(context.getBindings());
+        }
+        return boundSql;
+    }
+
+    private StaticSqlSource render(DynamicContext context) {
+        rootSqlNode.apply(context);
+        // 渲染时已经合并了空白字符并解析了 #{}，这里不再做字符串处理
+        String sql = context.getSql();
+        lastSqlLength = sql.length();
+        return new StaticSqlSource(sql, context.getParamNames());
+    }
+}
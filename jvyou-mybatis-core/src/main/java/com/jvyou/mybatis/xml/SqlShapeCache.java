@@ -0,0 +1,78 @@
+package com.jvyou.mybatis.xml;
+
+import com.jvyou.mybatis.mapping.StaticSqlSource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 18:40
+ * ---description 动态 SQL 的形状缓存
+ * 以分支签名为键缓存解析好的 StaticSqlSource，数量有上限，满了之后新的形状不再缓存，已缓存的形状继续命中
+ */
+public class SqlShapeCache {
+
+    public static final int DEFAULT_MAX_SHAPES = 256;
+
+    private final int maxShapes;
+
+    private final Map<Long, StaticSqlSource> shapes = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public SqlShapeCache() {
+        this(DEFAULT_MAX_SHAPES);
+    }
+
+    public SqlShapeCache(int maxShapes) {
+        this.maxShapes = maxShapes;
+    }
+
+    /**
+     * 获取分支签名对应的 SQL，同时记录命中次数
+     *
+     * @param signature 分支签名
+     * @return 缓存的 SQL，没有时返回 null
+     */
+    public StaticSqlSource get(long signature) {
+        StaticSqlSource sqlSource = shapes.get(signature);
+        if (sqlSource == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return sqlSource;
+    }
+
+    public void put(long signature, StaticSqlSource sqlSource) {
+        if (shapes.size() < maxShapes) {
+            shapes.putIfAbsent(signature, sqlSource);
+        }
+    }
+
+    public int size() {
+        return shapes.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return 命中率，还没有访问时返回 0
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,45 @@
+package com.jvyou.mybatis.xml.expression;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 18:00
+ * ---description 预先解析好的表达式，用于 if 标签的 test 属性和 ${} 占位符
+ */
+public interface Expression {
+
+    /**
+     * 计算表达式的值
+     *
+     * @param root 表达式的根对象，一般是 Mapper 方法参数组成的 Map 集合
+     * @return 表达式的值
+     */
+    Object getValue(Object root);
+
+    /**
+     * 按 OGNL 的规则把表达式的值转换为布尔值：null 为 false，数字为 0 时为 false，其他非 null 的值都为 true
+     *
+     * @param root 表达式的根对象
+     * @return 布尔值
+     */
+    default boolean evaluateBoolean(Object root) {
+        return toBoolean(getValue(root));
+    }
+
+    static boolean toBoolean(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Character) {
+            return (Character) value != 0;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue() != 0;
+        }
+        return true;
+    }
+
+}
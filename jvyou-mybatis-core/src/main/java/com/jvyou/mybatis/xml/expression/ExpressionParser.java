@@ -0,0 +1,52 @@
+package com.jvyou.mybatis.xml.expression;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 18:00
+ * ---description 表达式解析器
+ * 优先使用内置的简单表达式，内置规则不支持的语法使用预先解析好的 OGNL 语法树
+ */
+public class ExpressionParser {
+
+    private static final int MAX_CACHED_EXPRESSIONS = 1024;
+
+    /**
+     * 运行时才拿到表达式字符串的场景（如 BindingTokenHandler）使用的缓存，数量有上限
+     */
+    private static final Map<String, Expression> CACHE = new ConcurrentHashMap<>();
+
+    private ExpressionParser() {
+    }
+
+    /**
+     * 解析表达式，应在构建阶段调用，解析结果由调用方保存
+     *
+     * @param text 表达式
+     * @return 解析好的表达式
+     */
+    public static Expression parse(String text) {
+        Expression expression = SimpleExpression.compile(text);
+        return expression != null ? expression : new OgnlExpression(text);
+    }
+
+    /**
+     * 从缓存中获取解析好的表达式，缓存中没有时解析
+     *
+     * @param text 表达式
+     * @return 解析好的表达式
+     */
+    public static Expression getCached(String text) {
+        Expression expression = CACHE.get(text);
+        if (expression == null) {
+            expression = parse(text);
+            if (CACHE.size() < MAX_CACHED_EXPRESSIONS) {
+                CACHE.putIfAbsent(text, expression);
+            }
+        }
+        return expression;
+    }
+}
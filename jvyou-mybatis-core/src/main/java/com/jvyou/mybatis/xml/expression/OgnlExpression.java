@@ -0,0 +1,41 @@
+package com.jvyou.mybatis.xml.expression;
+
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+import ognl.Ognl;
+import ognl.OgnlException;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 18:00
+ * ---description OGNL 表达式，构建时解析成语法树，执行时不再重复解析表达式字符串
+ */
+public class OgnlExpression implements Expression {
+
+    private final String text;
+
+    private final Object tree;
+
+    public OgnlExpression(String text) {
+        this.text = text;
+        try {
+            this.tree = Ognl.parseExpression(text);
+        } catch (OgnlException e) {
+            throw new JvyouMybatisException("Error parsing expression '" + text + "', nested exception is:\n" + e);
+        }
+    }
+
+    @Override
+    public Object getValue(Object root) {
+        try {
+            return Ognl.getValue(tree, root);
+        } catch (OgnlException e) {
+            throw new JvyouMybatisException("Error evaluating expression '" + text + "', nested exception is:\n" + e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,506 @@
+package com.jvyou.mybatis.xml.expression;
+
+import com.jvyou.mybatis.reflection.Reflector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 18:10
+ * ---description 内置的简单表达式
+ * 支持属性路径、null/true/false、数字和双引号字符串字面量、比较运算（== != < <= > >=）、逻辑运算（&& || !）和括号，
+ * 这些是 if 标签最常见的写法，执行时不经过 OGNL。当前使用的 OGNL 版本不支持 and、or、gt 等单词形式的运算符，这里同样不支持。
+ * 解析不了的表达式返回 null 交给 OGNL；执行时遇到内置规则处理不了的值（如数字和字符串比较）时，本次计算交给 OGNL
+ */
+class SimpleExpression implements Expression {
+
+    /**
+     * 内置规则处理不了时抛出，不需要堆栈信息
+     */
+    private static final RuntimeException UNSUPPORTED = new RuntimeException("unsupported", null, false, false) {
+    };
+
+    private final String text;
+
+    private final Node root;
+
+    /**
+     * 回退使用的 OGNL 表达式，第一次需要时才解析
+     */
+    private volatile OgnlExpression fallback;
+
+    private SimpleExpression(String text, Node root) {
+        this.text = text;
+        this.root = root;
+    }
+
+    /**
+     * 解析表达式
+     *
+     * @param text 表达式
+     * @return 内置表达式，包含不支持的语法时返回 null
+     */
+    static SimpleExpression compile(String text) {
+        List<String> tokens = tokenize(text);
+        if (tokens == null || tokens.isEmpty()) {
+            return null;
+        }
+        Parser parser = new Parser(tokens);
+        Node node = parser.parseOr();
+        if (node == null || parser.position != tokens.size()) {
+            return null;
+        }
+        return new SimpleExpression(text, node);
+    }
+
+    @Override
+    public Object getValue(Object root) {
+        try {
+            return this.root.evaluate(root);
+        } catch (RuntimeException e) {
+            if (e != UNSUPPORTED) {
+                throw e;
+            }
+            return getFallback().getValue(root);
+        }
+    }
+
+    @Override
+    public boolean evaluateBoolean(Object root) {
+        try {
+            return this.root.test(root);
+        } catch (RuntimeException e) {
+            if (e != UNSUPPORTED) {
+                throw e;
+            }
+            return getFallback().evaluateBoolean(root);
+        }
+    }
+
+    private OgnlExpression getFallback() {
+        OgnlExpression expression = fallback;
+        if (expression == null) {
+            expression = new OgnlExpression(text);
+            fallback = expression;
+        }
+        return expression;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    // ---------------------------------------------------------------- 词法分析
+
+    /**
+     * 拆分成记号，遇到不支持的字符时返回 null
+     */
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                // 属性路径作为一个记号，eg: user.name
+                int start = i;
+                while (i < length && (Character.isJavaIdentifierPart(text.charAt(i)) || text.charAt(i) == '.')) {
+                    i++;
+                }
+                String path = text.substring(start, i);
+                if (path.endsWith(".") || path.contains("..")) {
+                    return null;
+                }
+                tokens.add(path);
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                while (i < length && (Character.isDigit(text.charAt(i)) || text.charAt(i) == '.')) {
+                    i++;
+                }
+                if (i < length && Character.isLetter(text.charAt(i))) {
+                    // 1L、1.0d 等带类型后缀的数字交给 OGNL
+                    return null;
+                }
+                tokens.add(text.substring(start, i));
+            } else if (c == '"') {
+                // 单引号字面量在当前的 OGNL 版本中和字符串的比较结果不同，交给 OGNL
+                int end = text.indexOf(c, i + 1);
+                if (end == -1 || text.indexOf('\\', i) != -1 && text.indexOf('\\', i) < end) {
+                    return null;
+                }
+                tokens.add(text.substring(i, end + 1));
+                i = end + 1;
+            } else if (c == '(' || c == ')') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else {
+                String operator = null;
+                for (String candidate : new String[]{"==", "!=", "<=", ">=", "&&", "||", "<", ">", "!"}) {
+                    if (text.startsWith(candidate, i)) {
+                        operator = candidate;
+                        break;
+                    }
+                }
+                if (operator == null) {
+                    return null;
+                }
+                tokens.add(operator);
+                i += operator.length();
+            }
+        }
+        return tokens;
+    }
+
+    // ---------------------------------------------------------------- 语法分析
+
+    private static class Parser {
+
+        private final List<String> tokens;
+
+        private int position;
+
+        Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        private String peek() {
+            return position < tokens.size() ? tokens.get(position) : null;
+        }
+
+        private boolean accept(String... candidates) {
+            String token = peek();
+            for (String candidate : candidates) {
+                if (candidate.equals(token)) {
+                    position++;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Node parseOr() {
+            Node left = parseAnd();
+            while (left != null && accept("||")) {
+                Node right = parseAnd();
+                if (right == null) {
+                    return null;
+                }
+                left = new Or(left, right);
+            }
+            return left;
+        }
+
+        Node parseAnd() {
+            Node left = parseComparison();
+            while (left != null && accept("&&")) {
+                Node right = parseComparison();
+                if (right == null) {
+                    return null;
+                }
+                left = new And(left, right);
+            }
+            return left;
+        }
+
+        Node parseComparison() {
+            Node left = parseNot();
+            String operator = peek();
+            if (left == null || operator == null) {
+                return left;
+            }
+            Operator op = Operator.of(operator);
+            if (op == null) {
+                return left;
+            }
+            position++;
+            Node right = parseNot();
+            return right == null ? null : new Comparison(op, left, right);
+        }
+
+        /**
+         * 与 OGNL 一致，! 只作用于紧跟的操作数，!a == b 等价于 (!a) == b
+         */
+        Node parseNot() {
+            if (accept("!")) {
+                Node operand = parseNot();
+                return operand == null ? null : new Not(operand);
+            }
+            return parsePrimary();
+        }
+
+        Node parsePrimary() {
+            String token = peek();
+            if (token == null) {
+                return null;
+            }
+            position++;
+            if (token.equals("(")) {
+                Node node = parseOr();
+                return node != null && accept(")") ? node : null;
+            }
+            if (token.equals("null")) {
+                return new Literal(null);
+            }
+            if (token.equals("true") || token.equals("false")) {
+                return new Literal(Boolean.valueOf(token));
+            }
+            char first = token.charAt(0);
+            if (first == '"') {
+                return new Literal(token.substring(1, token.length() - 1));
+            }
+            if (Character.isDigit(first)) {
+                return new Literal(parseNumber(token));
+            }
+            if (Character.isJavaIdentifierStart(first)) {
+                if ("(".equals(peek())) {
+                    // 方法调用交给 OGNL
+                    return null;
+                }
+                return new Property(token.split("\\."));
+            }
+            return null;
+        }
+
+        private static Object parseNumber(String token) {
+            if (token.indexOf('.') >= 0) {
+                return Double.valueOf(token);
+            }
+            long value = Long.parseLong(token);
+            return value <= Integer.MAX_VALUE ? (Object) (int) value : (Object) value;
+        }
+    }
+
+    // ---------------------------------------------------------------- 语法树节点
+
+    private interface Node {
+
+        Object evaluate(Object root);
+
+        default boolean test(Object root) {
+            return Expression.toBoolean(evaluate(root));
+        }
+    }
+
+    private static class Literal implements Node {
+
+        private final Object value;
+
+        Literal(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object evaluate(Object root) {
+            return value;
+        }
+    }
+
+    private static class Property implements Node {
+
+        private final String[] path;
+
+        Property(String[] path) {
+            this.path = path;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Object evaluate(Object root) {
+            Object value = root;
+            for (String name : path) {
+                if (value == null) {
+                    // OGNL 中访问 null 的属性会报错，交给 OGNL 保持一致的行为
+                    throw UNSUPPORTED;
+                }
+                if (value instanceof Map) {
+                    value = ((Map<String, Object>) value).get(name);
+                } else {
+                    value = getProperty(value, name);
+                }
+            }
+            return value;
+        }
+
+        /**
+         * JDK 类型的属性按 OGNL 的规则访问（例如 String 的 isEmpty()），反射信息不一定可用，统一交给 OGNL
+         */
+        private static Object getProperty(Object value, String name) {
+            String className = value.getClass().getName();
+            if (className.startsWith("java.") || className.startsWith("javax.")) {
+                throw UNSUPPORTED;
+            }
+            Reflector reflector;
+            try {
+                reflector = Reflector.forClass(value.getClass());
+            } catch (RuntimeException e) {
+                throw UNSUPPORTED;
+            }
+            if (!reflector.hasGetter(name)) {
+                throw UNSUPPORTED;
+            }
+            return reflector.getGetter(name).get(value);
+        }
+    }
+
+    private static class Not implements Node {
+
+        private final Node operand;
+
+        Not(Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public Object evaluate(Object root) {
+            return !operand.test(root);
+        }
+    }
+
+    private static class And implements Node {
+
+        private final Node left;
+
+        private final Node right;
+
+        And(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Object evaluate(Object root) {
+            // 和 OGNL 一样返回最后计算的操作数的值
+            Object value = left.evaluate(root);
+            return Expression.toBoolean(value) ? right.evaluate(root) : value;
+        }
+
+        @Override
+        public boolean test(Object root) {
+            return left.test(root) && right.test(root);
+        }
+    }
+
+    private static class Or implements Node {
+
+        private final Node left;
+
+        private final Node right;
+
+        Or(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Object evaluate(Object root) {
+            Object value = left.evaluate(root);
+            return Expression.toBoolean(value) ? value : right.evaluate(root);
+        }
+
+        @Override
+        public boolean test(Object root) {
+            return left.test(root) || right.test(root);
+        }
+    }
+
+    private enum Operator {
+        EQ, NEQ, LT, LTE, GT, GTE;
+
+        static Operator of(String token) {
+            switch (token) {
+                case "==":
+                    return EQ;
+                case "!=":
+                    return NEQ;
+                case "<":
+                    return LT;
+                case "<=":
+                    return LTE;
+                case ">":
+                    return GT;
+                case ">=":
+                    return GTE;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static class Comparison implements Node {
+
+        private final Operator operator;
+
+        private final Node left;
+
+        private final Node right;
+
+        Comparison(Operator operator, Node left, Node right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Object evaluate(Object root) {
+            Object a = left.evaluate(root);
+            Object b = right.evaluate(root);
+            switch (operator) {
+                case EQ:
+                    return isEqual(a, b);
+                case NEQ:
+                    return !isEqual(a, b);
+                default:
+                    int result = compare(a, b);
+                    switch (operator) {
+                        case LT:
+                            return result < 0;
+                        case LTE:
+                            return result <= 0;
+                        case GT:
+                            return result > 0;
+                        default:
+                            return result >= 0;
+                    }
+            }
+        }
+
+        private static boolean isEqual(Object a, Object b) {
+            if (a == null || b == null) {
+                return a == b;
+            }
+            if (a instanceof Number && b instanceof Number) {
+                return compare(a, b) == 0;
+            }
+            if (a.getClass() == b.getClass() && (a instanceof String || a instanceof Boolean)) {
+                return a.equals(b);
+            }
+            // 不同类型之间 OGNL 会做类型转换，交给 OGNL
+            throw UNSUPPORTED;
+        }
+
+        private static int compare(Object a, Object b) {
+            if (a instanceof Number && b instanceof Number) {
+                if (isIntegral(a) && isIntegral(b)) {
+                    return Long.compare(((Number) a).longValue(), ((Number) b).longValue());
+                }
+                if ((a instanceof Double || a instanceof Float || isIntegral(a)) && (b instanceof Double || b instanceof Float || isIntegral(b))) {
+                    return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+                }
+            } else if (a instanceof String && b instanceof String) {
+                return ((String) a).compareTo((String) b);
+            }
+            // BigDecimal、null 以及不同类型的大小比较交给 OGNL
+            throw UNSUPPORTED;
+        }
+
+        private static boolean isIntegral(Object value) {
+            return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.jvyou.mybatis.xml.tag;
+
+import com.jvyou.mybatis.xml.DynamicContext;
+
+import java.util.List;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 19:20
+ * ---description choose标签
+ * 按顺序判断 when 子标签，只渲染第一个成立的，都不成立时渲染 otherwise
+ */
+public class ChooseSqlNode implements SqlNode {
+
+    private final List<IfSqlNode> whenSqlNodes;
+
+    /**
+     * otherwise 子标签，没有时为 null
+     */
+    private final SqlNode otherwiseSqlNode;
+
+    public ChooseSqlNode(List<IfSqlNode> whenSqlNodes, SqlNode otherwiseSqlNode) {
+        this.whenSqlNodes = whenSqlNodes;
+        this.otherwiseSqlNode = otherwiseSqlNode;
+    }
+
+    @Override
+    public void apply(DynamicContext context) {
+        for (IfSqlNode whenSqlNode : whenSqlNodes) {
+            if (whenSqlNode.applyIfTrue(context)) {
+                return;
+            }
+        }
+        if (otherwiseSqlNode != null) {
+            otherwiseSqlNode.apply(context);
+        }
+    }
+
+    @Override
+    public boolean isCacheable() {
+        for (IfSqlNode whenSqlNode : whenSqlNodes) {
+            if (!whenSqlNode.isCacheable()) {
+                return false;
+            }
+        }
+        return otherwiseSqlNode == null || otherwiseSqlNode.isCacheable();
+    }
+}
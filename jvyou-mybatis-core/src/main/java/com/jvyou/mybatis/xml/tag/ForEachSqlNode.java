@@ -0,0 +1,167 @@
+package com.jvyou.mybatis.xml.tag;
+
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+import com.jvyou.mybatis.xml.DynamicContext;
+import com.jvyou.mybatis.xml.expression.Expression;
+import com.jvyou.mybatis.xml.expression.ExpressionParser;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 19:30
+ * ---description foreach标签
+ * 遍历集合、数组或 Map（index 为 key），每个元素绑定成唯一的参数名 __frch_item_N，子节点中的 #{item} 会改写成对应的参数名。
+ * bucketed 为 true 时把元素个数补齐到 2 的幂，补齐的位置重复最后一个元素，用在 IN 列表中结果不变，
+ * 不同长度的列表只会生成少量不同的 SQL，数据库和驱动的预编译语句缓存更容易命中
+ */
+public class ForEachSqlNode implements SqlNode {
+
+    public static final String ITEM_PREFIX = "__frch_";
+
+    private final String collectionText;
+
+    private final Expression collection;
+
+    private final String item;
+
+    private final String index;
+
+    private final String open;
+
+    private final String close;
+
+    private final String separator;
+
+    private final boolean bucketed;
+
+    private final SqlNode contents;
+
+    public ForEachSqlNode(SqlNode contents, String collection, String item, String index,
+                          String open, String close, String separator, boolean bucketed) {
+        this.contents = contents;
+        this.collectionText = collection;
+        this.collection = ExpressionParser.parse(collection);
+        this.item = item;
+        this.index = index;
+        this.open = open;
+        this.close = close;
+        this.separator = separator;
+        this.bucketed = bucketed;
+    }
+
+    @Override
+    public void apply(DynamicContext context) {
+        Object value = collection.getValue(context.getBindings());
+        if (value == null) {
+            throw new JvyouMybatisException("foreach 的 collection 表达式 '" + collectionText + "' 的值为 null");
+        }
+        List<Object[]> entries = toEntries(value);
+        if (entries.isEmpty()) {
+            return;
+        }
+        int count = bucketed ? bucketSize(entries.size()) : entries.size();
+        appendIfPresent(context, open);
+        for (int i = 0; i < count; i++) {
+            // 补齐的位置重复最后一个元素
+            Object[] entry = entries.get(Math.min(i, entries.size() - 1));
+            if (i > 0) {
+                appendIfPresent(context, separator);
+            }
+            int uniqueNumber = context.nextUniqueNumber();
+            bind(context, item, entry[1], uniqueNumber);
+            bind(context, index, entry[0], uniqueNumber);
+            int from = context.getParamNames().size();
+            contents.apply(context);
+            rewriteParamNames(context.getParamNames(), from, uniqueNumber);
+        }
+        appendIfPresent(context, close);
+    }
+
+    /**
+     * 补齐后的元素个数，不小于 size 的最小的 2 的幂
+     */
+    static int bucketSize(int size) {
+        return size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    public static String itemizedName(String name, int uniqueNumber) {
+        return ITEM_PREFIX + name + "_" + uniqueNumber;
+    }
+
+    private static void bind(DynamicContext context, String name, Object value, int uniqueNumber) {
+        if (name == null) {
+            return;
+        }
+        // ${item} 通过原名称取值，#{item} 改写后通过唯一名称取值
+        context.bind(name, value);
+        context.bind(itemizedName(name, uniqueNumber), value);
+    }
+
+    private void rewriteParamNames(List<String> paramNames, int from, int uniqueNumber) {
+        for (int i = from; i < paramNames.size(); i++) {
+            String name = paramNames.get(i);
+            String rewritten = rewrite(name, item, uniqueNumber);
+            if (rewritten == null) {
+                rewritten = rewrite(name, index, uniqueNumber);
+            }
+            if (rewritten != null) {
+                paramNames.set(i, rewritten);
+            }
+        }
+    }
+
+    /**
+     * 把 item、item.name 改写成 __frch_item_N、__frch_item_N.name，不是 target 开头时返回 null
+     */
+    private static String rewrite(String name, String target, int uniqueNumber) {
+        if (target == null || !name.startsWith(target)) {
+            return null;
+        }
+        if (name.length() == target.length() || name.charAt(target.length()) == '.') {
+            return itemizedName(target, uniqueNumber) + name.substring(target.length());
+        }
+        return null;
+    }
+
+    private static void appendIfPresent(DynamicContext context, String sql) {
+        if (sql != null && !sql.isEmpty()) {
+            context.appendSql(sql);
+        }
+    }
+
+    /**
+     * 转换成 [index, item] 列表，Map 的 index 为 key
+     */
+    private List<Object[]> toEntries(Object value) {
+        List<Object[]> entries;
+        if (value instanceof Map) {
+            entries = new ArrayList<>(((Map<?, ?>) value).size());
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                entries.add(new Object[]{entry.getKey(), entry.getValue()});
+            }
+        } else if (value instanceof Iterable) {
+            entries = new ArrayList<>(value instanceof Collection ? ((Collection<?>) value).size() : 16);
+            Iterator<?> iterator = ((Iterable<?>) value).iterator();
+            for (int i = 0; iterator.hasNext(); i++) {
+                entries.add(new Object[]{i, iterator.next()});
+            }
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            entries = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                entries.add(new Object[]{i, Array.get(value, i)});
+            }
+        } else {
+            throw new JvyouMybatisException("foreach 的 collection 表达式 '" + collectionText + "' 的值不是集合、数组或 Map："
+                    + value.getClass().getName());
+        }
+        return entries;
+    }
+}
@@ -1,8 +1,8 @@
 package com.jvyou.mybatis.xml.tag;
 
 import com.jvyou.mybatis.xml.DynamicContext;
-import lombok.SneakyThrows;
-import ognl.Ognl;
+import com.jvyou.mybatis.xml.expression.Expression;
+import com.jvyou.mybatis.xml.expression.ExpressionParser;
 
 /**
  * @author 橘柚
@@ -13,9 +13,9 @@ import ognl.Ognl;
 public class IfSqlNode implements SqlNode {
 
     /**
-     * if语句的判断条件
+     * if语句的判断条件，加载 XML 时解析
      */
-    private final String test;
+    private final Expression test;
 
     /**
      * if语句的子节点
@@ -23,17 +23,32 @@ public class IfSqlNode implements SqlNode {
     private final SqlNode sqlNode;
 
     public IfSqlNode(String test, SqlNode sqlNode) {
-        this.test = test;
+        this.test = ExpressionParser.parse(test);
         this.sqlNode = sqlNode;
     }
 
-    @SneakyThrows
     @Override
     public void apply(DynamicContext context) {
+        applyIfTrue(context);
+    }
+
+    /**
+     * 条件成立时渲染子节点，choose 标签根据返回值判断是否已经有 when 成立
+     *
+     * @param context 动态上下文
+     * @return 条件是否成立
+     */
+    boolean applyIfTrue(DynamicContext context) {
         // test 条件是否成立
-        Boolean value = (Boolean) Ognl.getValue(test, context.getBindings());
-        if (value) {
+        if (context.recordBranch(test.evaluateBoolean(context.getBindings()))) {
             sqlNode.apply(context);
+            return true;
         }
+        return false;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return sqlNode.isCacheable();
     }
 }
@@ -24,4 +24,14 @@ public class MixedSqlNode implements SqlNode{
             sqlNode.apply(context);
         }
     }
+
+    @Override
+    public boolean isCacheable() {
+        for (SqlNode sqlNode : sqlNodes) {
+            if (!sqlNode.isCacheable()) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -0,0 +1,15 @@
+package com.jvyou.mybatis.xml.tag;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 19:10
+ * ---description set标签
+ * 内容不为空时才加上 set，并去掉首尾多余的逗号
+ */
+public class SetSqlNode extends TrimSqlNode {
+
+    public SetSqlNode(SqlNode sqlNode) {
+        super(sqlNode, "set", ",", null, ",");
+    }
+}
@@ -20,4 +20,14 @@ public interface SqlNode {
      */
     void apply(DynamicContext context);
 
+    /**
+     * 渲染结果是否只由经过的分支决定，包含 ${} 等直接输出参数值的节点时不能按分支签名缓存。
+     * 自定义的节点如果有分支，需要通过 DynamicContext#recordBranch 记录后才能返回 true
+     *
+     * @return 是否可以按分支签名缓存
+     */
+    default boolean isCacheable() {
+        return false;
+    }
+
 }
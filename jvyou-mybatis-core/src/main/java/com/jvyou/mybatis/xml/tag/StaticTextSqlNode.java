@@ -1,23 +1,40 @@
 package com.jvyou.mybatis.xml.tag;
 
+import com.jvyou.mybatis.constant.SQLKeyword;
+import com.jvyou.mybatis.parser.GenericTokenParser;
+import com.jvyou.mybatis.parser.ParameterMappingTokenHandler;
 import com.jvyou.mybatis.xml.DynamicContext;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * @author 橘柚
  * @version 1.0-SNAPSHOT
  * @since 2024/7/1 1:13
  * ---description 文本元素
+ * 加载时合并空白字符并把 #{} 解析成 ? 占位符，渲染时直接追加
  */
-public class StaticTextSqlNode implements SqlNode {
+public class StaticTextSqlNode implements SqlNode, SQLKeyword {
+
+    private final String parsedText;
 
-    private final String text;
+    private final List<String> paramNames;
 
     public StaticTextSqlNode(String text) {
-        this.text = text;
+        ParameterMappingTokenHandler tokenHandler = new ParameterMappingTokenHandler();
+        GenericTokenParser genericTokenParser = new GenericTokenParser(SQL_OPEN_TOKEN, SQL_CLOSE_TOKEN, tokenHandler);
+        this.parsedText = genericTokenParser.parse(DynamicContext.normalizeWhitespace(text));
+        this.paramNames = Collections.unmodifiableList(tokenHandler.getParams());
     }
 
     @Override
     public void apply(DynamicContext context) {
-        context.appendSql(text);
+        context.appendParsedSql(parsedText, paramNames);
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
     }
 }
@@ -1,28 +1,72 @@
 package com.jvyou.mybatis.xml.tag;
 
-import com.jvyou.mybatis.parser.BindingTokenHandler;
-import com.jvyou.mybatis.parser.GenericTokenParser;
+import com.jvyou.mybatis.exception.JvyouMybatisException;
 import com.jvyou.mybatis.xml.DynamicContext;
+import com.jvyou.mybatis.xml.expression.Expression;
+import com.jvyou.mybatis.xml.expression.ExpressionParser;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author 橘柚
  * @version 1.0-SNAPSHOT
  * @since 2024/7/1 1:13
  * ---description 文本元素, 需要解析 ${}
+ * 加载 XML 时把文本拆分成普通文本和 ${} 表达式两种片段，表达式提前解析好
  */
 public class TextSqlNode implements SqlNode {
 
+    private static final String OPEN_TOKEN = "${";
+
+    private static final String CLOSE_TOKEN = "}";
+
     private final String text;
 
+    /**
+     * 文本片段，String 为普通文本，Expression 为 ${} 表达式
+     */
+    private final Object[] segments;
+
     public TextSqlNode(String text) {
         this.text = text;
+        this.segments = split(text);
     }
 
     @Override
     public void apply(DynamicContext context) {
-        BindingTokenHandler bindingTokenHandler = new BindingTokenHandler(context.getBindings());
-        GenericTokenParser parser = new GenericTokenParser("${", "}", bindingTokenHandler);
-        String sql = parser.parse(text);
-        context.appendSql(sql);
+        StringBuilder sql = new StringBuilder(text.length() + 16);
+        for (Object segment : segments) {
+            if (segment instanceof Expression) {
+                sql.append(((Expression) segment).getValue(context.getBindings()));
+            } else {
+                sql.append((String) segment);
+            }
+        }
+        context.appendSql(sql.toString());
+    }
+
+    private static Object[] split(String text) {
+        List<Object> segments = new ArrayList<>();
+        int offset = 0;
+        while (true) {
+            int start = text.indexOf(OPEN_TOKEN, offset);
+            if (start == -1) {
+                break;
+            }
+            if (start > offset) {
+                segments.add(text.substring(offset, start));
+            }
+            int end = text.indexOf(CLOSE_TOKEN, start);
+            if (end == -1) {
+                throw new JvyouMybatisException("在 " + text.substring(start) + " 附近没有找到对应的结束标记");
+            }
+            segments.add(ExpressionParser.parse(text.substring(start + OPEN_TOKEN.length(), end)));
+            offset = end + CLOSE_TOKEN.length();
+        }
+        if (offset < text.length()) {
+            segments.add(text.substring(offset));
+        }
+        return segments.toArray();
     }
 }
@@ -0,0 +1,87 @@
+package com.jvyou.mybatis.xml.tag;
+
+import com.jvyou.mybatis.xml.DynamicContext;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 19:10
+ * ---description trim标签
+ * 子节点渲染后去掉首尾多余的 prefixOverrides、suffixOverrides，内容不为空时再加上 prefix、suffix，
+ * 多个覆盖值使用 | 分隔，eg: prefixOverrides="AND |OR "
+ */
+public class TrimSqlNode implements SqlNode {
+
+    private final SqlNode contents;
+
+    private final String prefix;
+
+    private final String suffix;
+
+    /**
+     * 前缀覆盖值，比较时忽略大小写
+     */
+    private final String[] prefixesToOverride;
+
+    /**
+     * 后缀覆盖值，比较时忽略大小写
+     */
+    private final String[] suffixesToOverride;
+
+    public TrimSqlNode(SqlNode contents, String prefix, String prefixOverrides, String suffix, String suffixOverrides) {
+        this.contents = contents;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.prefixesToOverride = parseOverrides(prefixOverrides);
+        this.suffixesToOverride = parseOverrides(suffixOverrides);
+    }
+
+    @Override
+    public void apply(DynamicContext context) {
+        int start = context.getSqlLength();
+        contents.apply(context);
+        String sql = context.getSql(start).trim();
+        if (sql.isEmpty()) {
+            context.replaceSql(start, "");
+            return;
+        }
+        for (String override : prefixesToOverride) {
+            if (sql.regionMatches(true, 0, override, 0, override.length())) {
+                sql = sql.substring(override.length()).trim();
+                break;
+            }
+        }
+        for (String override : suffixesToOverride) {
+            if (sql.regionMatches(true, sql.length() - override.length(), override, 0, override.length())) {
+                sql = sql.substring(0, sql.length() - override.length()).trim();
+                break;
+            }
+        }
+        StringBuilder trimmed = new StringBuilder(sql.length() + 16);
+        if (prefix != null && !prefix.isEmpty()) {
+            trimmed.append(prefix).append(' ');
+        }
+        trimmed.append(sql);
+        if (suffix != null && !suffix.isEmpty()) {
+            trimmed.append(' ').append(suffix);
+        }
+        context.replaceSql(start, trimmed.toString());
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return contents.isCacheable();
+    }
+
+    private static String[] parseOverrides(String overrides) {
+        if (overrides == null || overrides.isEmpty()) {
+            return new String[0];
+        }
+        // 渲染时空白字符已经合并成空格，这里同样处理覆盖值，保留末尾的空格用于区分 AND 和 ANDROID 这样的单词
+        String[] values = overrides.split("\\|");
+        for (int i = 0; i < values.length; i++) {
+            values[i] = DynamicContext.normalizeWhitespace(values[i]);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,129 @@
+package com.jvyou.mybatis.binding;
+
+import com.jvyou.mybatis.annotations.Chunked;
+import com.jvyou.mybatis.annotations.Param;
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+import com.jvyou.mybatis.executor.BatchExecutor;
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.mapping.SqlCommandType;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.SqlSession;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 20:00
+ * ---description
+ */
+class ChunkedMapperMethodTest {
+
+    private final Configuration configuration = new Configuration();
+
+    /**
+     * 每次执行语句时传入的拆分参数
+     */
+    private final List<Object> chunks = new ArrayList<>();
+
+    private int reuseScopes;
+
+    /**
+     * 模拟批处理执行器，增删改返回标记值
+     */
+    private boolean batch;
+
+    @SuppressWarnings("unchecked")
+    private final SqlSession sqlSession = (SqlSession) Proxy.newProxyInstance(SqlSession.class.getClassLoader(), new Class[]{SqlSession.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getConfiguration":
+                        return configuration;
+                    case "reuseStatements":
+                        reuseScopes++;
+                        return ((Supplier<?>) args[0]).get();
+                    case "selectList":
+                        Object ids = ((Map<String, Object>) args[1]).get("ids");
+                        chunks.add(ids);
+                        return new ArrayList<>((List<Integer>) ids);
+                    case "delete":
+                        int[] array = (int[]) ((Map<String, Object>) args[1]).get("ids");
+                        chunks.add(array);
+                        return batch ? BatchExecutor.BATCH_UPDATE_RETURN_VALUE : array.length;
+                    default:
+                        return null;
+                }
+            });
+
+    ChunkedMapperMethodTest() {
+        addStatement("findByIds", SqlCommandType.SELECT, true, Integer.class);
+        addStatement("deleteByIds", SqlCommandType.DELETE, false, int.class);
+        addStatement("countByIds", SqlCommandType.SELECT, false, Integer.class);
+    }
+
+    @Test
+    void selectResultsAreMerged() {
+        ChunkMapper mapper = configuration.getMapper(ChunkMapper.class, sqlSession);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), mapper.findByIds(Arrays.asList(1, 2, 3, 4, 5)));
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)), chunks);
+        assertEquals(1, reuseScopes);
+
+        // 不超过每批大小时直接执行
+        chunks.clear();
+        assertEquals(Arrays.asList(1, 2), mapper.findByIds(Arrays.asList(1, 2)));
+        assertEquals(1, chunks.size());
+        assertEquals(1, reuseScopes);
+    }
+
+    @Test
+    void updateCountsAreSummed() {
+        ChunkMapper mapper = configuration.getMapper(ChunkMapper.class, sqlSession);
+        assertEquals(5, mapper.deleteByIds("tag", new int[]{1, 2, 3, 4, 5}));
+        assertEquals(3, chunks.size());
+        assertArrayEquals(new int[]{5}, (int[]) chunks.get(2));
+    }
+
+    @Test
+    void batchModeReturnsSentinelInsteadOfSum() {
+        batch = true;
+        ChunkMapper mapper = configuration.getMapper(ChunkMapper.class, sqlSession);
+        assertEquals(BatchExecutor.BATCH_UPDATE_RETURN_VALUE, mapper.deleteByIds("tag", new int[]{1, 2, 3, 4, 5}));
+        assertEquals(3, chunks.size());
+    }
+
+    @Test
+    void singleResultCannotBeChunked() {
+        ChunkMapper mapper = configuration.getMapper(ChunkMapper.class, sqlSession);
+        assertThrows(JvyouMybatisException.class, () -> mapper.countByIds(Arrays.asList(1, 2, 3)));
+    }
+
+    private void addStatement(String method, SqlCommandType type, boolean many, Class<?> resultType) {
+        configuration.addMappedStatement(MappedStatement.builder()
+                .id(ChunkMapper.class.getName() + "." + method)
+                .sql("")
+                .resultType(resultType)
+                .isSelectMany(many)
+                .sqlCommandType(type)
+                .build());
+    }
+
+    interface ChunkMapper {
+
+        @Chunked(size = 2)
+        List<Integer> findByIds(@Param("ids") List<Integer> ids);
+
+        @Chunked(size = 2, param = "ids")
+        int deleteByIds(@Param("tag") String tag, @Param("ids") int[] ids);
+
+        @Chunked(size = 2)
+        Integer countByIds(@Param("ids") List<Integer> ids);
+    }
+}
@@ -0,0 +1,96 @@
+package com.jvyou.mybatis.binding;
+
+import com.jvyou.mybatis.annotations.Param;
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.mapping.SqlCommandType;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.SqlSession;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 16:10
+ * ---description Mapper 代理调用测试，缓存的 MapperMethod 和每次调用都解析方法传给会话的参数相同
+ */
+class MapperMethodCacheTest {
+
+    private final Configuration configuration = new Configuration();
+
+    private final Map<String, Object> lastParameter = new HashMap<>();
+
+    private final SqlSession sqlSession = (SqlSession) Proxy.newProxyInstance(SqlSession.class.getClassLoader(), new Class[]{SqlSession.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getConfiguration":
+                        return configuration;
+                    case "update":
+                        lastParameter.clear();
+                        lastParameter.putAll((Map<String, Object>) args[1]);
+                        return 1;
+                    default:
+                        return null;
+                }
+            });
+
+    MapperMethodCacheTest() {
+        configuration.addMappedStatement(MappedStatement.builder()
+                .id(TestMapper.class.getName() + ".updateName")
+                .sql("update user set name = #{name} where id = #{id}")
+                .resultType(long.class)
+                .sqlCommandType(SqlCommandType.UPDATE)
+                .build());
+    }
+
+    @Test
+    void mapperMethodIsCachedPerInterface() {
+        TestMapper mapper = configuration.getMapper(TestMapper.class, sqlSession);
+        assertEquals(1L, mapper.updateName(7, "jvyou"));
+        assertEquals(7, lastParameter.get("id"));
+        assertEquals("jvyou", lastParameter.get("name"));
+
+        configuration.getMapper(TestMapper.class, sqlSession).updateName(8, "other");
+        MapperProxyFactory<?> factory = configuration.getMapperProxyFactories().get(TestMapper.class);
+        assertEquals(1, factory.getMethodCache().size());
+        assertNotNull(mapper.toString());
+    }
+
+    @Test
+    void cachedMethodPassesSameParametersAsResolving() throws Exception {
+        TestMapper mapper = configuration.getMapper(TestMapper.class, sqlSession);
+        Method method = TestMapper.class.getMethod("updateName", int.class, String.class);
+        for (int i = 0; i < 3; i++) {
+            Object expectedResult = resolveAndInvoke(method, new Object[]{i, "jvyou" + i});
+            Map<String, Object> expected = new HashMap<>(lastParameter);
+            assertEquals(expectedResult, mapper.updateName(i, "jvyou" + i));
+            assertEquals(expected, lastParameter);
+        }
+    }
+
+    /**
+     * 改造前 MapperProxyInvocationHandler 的调用方式：每次读取参数注解、拼接语句 id 并查找 MappedStatement
+     */
+    private Object resolveAndInvoke(Method method, Object[] args) {
+        Map<String, Object> paramMap = new HashMap<>();
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isAnnotationPresent(Param.class)) {
+                paramMap.put(parameters[i].getAnnotation(Param.class).value(), args[i]);
+            }
+        }
+        MappedStatement ms = configuration.getMappedStatement(TestMapper.class.getName() + "." + method.getName());
+        return Long.parseLong(String.valueOf(sqlSession.update(ms.getId(), paramMap)));
+    }
+
+    public interface TestMapper {
+        long updateName(@Param("id") int id, @Param("name") String name);
+    }
+}
@@ -0,0 +1,115 @@
+package com.jvyou.mybatis.builder;
+
+import com.jvyou.mybatis.mapping.BoundSql;
+import com.jvyou.mybatis.mapping.SqlSource;
+import com.jvyou.mybatis.xml.DynamicSqlSource;
+import org.dom4j.DocumentHelper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 19:40
+ * ---description
+ */
+class SqlNodeParserTest {
+
+    @Test
+    void whereAndSetTrimOverrides() throws Exception {
+        SqlSource select = parse("<select>select * from t_user<where>"
+                + "<if test=\"id != null\">and id = #{id}</if>"
+                + "<if test=\"name != null\">and name = #{name}</if></where></select>");
+        assertEquals("select * from t_user where id = ? and name = ? ", select.getBoundSql(params("id", 1, "name", "a")).getParsedSql());
+        assertEquals("select * from t_user where name = ? ", select.getBoundSql(params("name", "a")).getParsedSql());
+        assertEquals("select * from t_user ", select.getBoundSql(params()).getParsedSql());
+
+        SqlSource update = parse("<update>update t_user<set>"
+                + "<if test=\"name != null\">name = #{name},</if>"
+                + "<if test=\"age != null\">age = #{age},</if></set>where id = #{id}</update>");
+        BoundSql boundSql = update.getBoundSql(params("name", "a", "id", 1));
+        assertEquals("update t_user set name = ? where id = ? ", boundSql.getParsedSql());
+        assertEquals(Arrays.asList("name", "id"), boundSql.getParamNames());
+
+        SqlSource trim = parse("<select>select * from t_user"
+                + "<trim prefix=\"where (\" suffix=\")\" prefixOverrides=\"OR \">"
+                + "<if test=\"id != null\">or id = #{id}</if><if test=\"name != null\">or name = #{name}</if></trim></select>");
+        assertEquals("select * from t_user where ( name = ? ) ", trim.getBoundSql(params("name", "a")).getParsedSql());
+    }
+
+    @Test
+    void chooseRendersFirstMatchingBranch() throws Exception {
+        SqlSource sqlSource = parse("<select>select * from t_user where<choose>"
+                + "<when test=\"id != null\">id = #{id}</when>"
+                + "<when test=\"name != null\">name = #{name}</when>"
+                + "<otherwise>1 = 1</otherwise></choose></select>");
+        assertEquals("select * from t_user where id = ? ", sqlSource.getBoundSql(params("id", 1, "name", "a")).getParsedSql());
+        assertEquals("select * from t_user where name = ? ", sqlSource.getBoundSql(params("name", "a")).getParsedSql());
+        assertEquals("select * from t_user where 1 = 1 ", sqlSource.getBoundSql(params()).getParsedSql());
+        // 三种情况的签名不同，都会被缓存
+        assertEquals(3, ((DynamicSqlSource) sqlSource).getShapeCache().size());
+    }
+
+    @Test
+    void forEachBindsEachItem() throws Exception {
+        SqlSource sqlSource = parse("<insert>insert into t_user(name, age) values"
+                + "<foreach collection=\"users\" item=\"user\" separator=\",\">(#{user.name}, #{user.age})</foreach></insert>");
+        Map<String, Object> first = new HashMap<>();
+        first.put("name", "a");
+        first.put("age", 1);
+        Map<String, Object> second = new HashMap<>();
+        second.put("name", "b");
+        second.put("age", 2);
+        Map<String, Object> parameter = params("users", Arrays.asList(first, second));
+        Map<String, Object> original = new HashMap<>(parameter);
+        BoundSql boundSql = sqlSource.getBoundSql(parameter);
+        assertEquals("insert into t_user(name, age) values (?, ?) , (?, ?) ", boundSql.getParsedSql());
+        assertEquals(Arrays.asList("__frch_user_0.name", "__frch_user_0.age", "__frch_user_1.name", "__frch_user_1.age"),
+                boundSql.getParamNames());
+        // 元素绑定在 BoundSql 上，调用方的参数不变
+        assertEquals(original, parameter);
+        Map<?, ?> bindings = (Map<?, ?>) boundSql.getBindingParameter(parameter);
+        assertSame(second, bindings.get("__frch_user_1"));
+        assertSame(parameter.get("users"), bindings.get("users"));
+    }
+
+    @Test
+    void bucketedForEachPadsToPowerOfTwo() throws Exception {
+        SqlSource sqlSource = parse("<select>select * from t_user where id in"
+                + "<foreach collection=\"ids\" item=\"id\" open=\"(\" separator=\",\" close=\")\" bucketed=\"true\">#{id}</foreach></select>");
+        Map<String, Object> parameter = params("ids", new int[]{7, 8, 9});
+        BoundSql boundSql = sqlSource.getBoundSql(parameter);
+        assertEquals("select * from t_user where id in ( ? , ? , ? , ? ) ", boundSql.getParsedSql());
+        List<String> names = boundSql.getParamNames();
+        assertEquals(4, names.size());
+        // 补齐的位置重复最后一个元素
+        Map<?, ?> bindings = (Map<?, ?>) boundSql.getBindingParameter(parameter);
+        assertEquals(9, bindings.get(names.get(2)));
+        assertEquals(9, bindings.get(names.get(3)));
+
+        // 5 到 8 个元素生成同样的 SQL
+        String five = sqlSource.getBoundSql(params("ids", Arrays.asList(1, 2, 3, 4, 5))).getParsedSql();
+        String eight = sqlSource.getBoundSql(params("ids", Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8))).getParsedSql();
+        assertEquals(five, eight);
+        assertEquals("select * from t_user where id in ( ? ) ", sqlSource.getBoundSql(params("ids", Collections.singleton(1))).getParsedSql());
+    }
+
+    private static SqlSource parse(String xml) throws Exception {
+        return new SqlNodeParser().parseSqlSource(DocumentHelper.parseText(xml).getRootElement());
+    }
+
+    private static Map<String, Object> params(Object... keyValues) {
+        Map<String, Object> params = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            params.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return params;
+    }
+}
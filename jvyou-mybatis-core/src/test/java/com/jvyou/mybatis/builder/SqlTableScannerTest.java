@@ -0,0 +1,50 @@
+package com.jvyou.mybatis.builder;
+
+import org.dom4j.DocumentHelper;
+import org.dom4j.Element;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 22:00
+ * ---description
+ */
+class SqlTableScannerTest {
+
+    @Test
+    void scan() {
+        assertTables("select * from t_user where id = #{id}", "t_user");
+        assertTables("select u.*, o.id from `db`.`T_USER` as u left join t_order o on o.user_id = u.id", "t_user", "t_order");
+        assertTables("select * from t_user u, t_role r where u.role_id = r.id", "t_user", "t_role");
+        assertTables("select * from t_user where id in (select user_id from t_order where name = 'from t_x')", "t_user", "t_order");
+        assertTables("insert into t_user(name) values (#{name}) on duplicate key update name = values(name)", "t_user");
+        assertTables("update t_user set name = #{name} where id = #{id}", "t_user");
+        assertTables("delete from t_user where id = #{id}", "t_user");
+        assertTables("select * from t_user where id = #{id} for update", "t_user");
+        assertTables("select * from t_user order by ${column}", "t_user");
+        assertTables("select now()");
+        assertNull(SqlTableScanner.scan("select * from ${table}"));
+        assertNull(SqlTableScanner.scan("select * from t_user_${suffix}"));
+    }
+
+    @Test
+    void scanElementSeparatesTextNodes() throws Exception {
+        Element element = DocumentHelper.parseText("<select id=\"find\">select * from t_user<where><if test=\"id != null\">and id = #{id}</if>"
+                + "<if test=\"roleId != null\">and role_id in (select id from t_role)</if></where></select>").getRootElement();
+        assertEquals(new LinkedHashSet<>(Arrays.asList("t_user", "t_role")), SqlTableScanner.scan(element));
+
+        Element joined = DocumentHelper.parseText("<select id=\"find\">select * from t_user u<if test=\"join\">join t_order o on o.user_id = u.id</if></select>").getRootElement();
+        assertEquals(new LinkedHashSet<>(Arrays.asList("t_user", "t_order")), SqlTableScanner.scan(joined));
+    }
+
+    private static void assertTables(String sql, String... tables) {
+        assertEquals(tables.length == 0 ? Collections.emptySet() : new LinkedHashSet<>(Arrays.asList(tables)), SqlTableScanner.scan(sql), sql);
+    }
+}
@@ -0,0 +1,123 @@
+package com.jvyou.mybatis.cache;
+
+import com.jvyou.mybatis.cache.decorators.LruCache;
+import com.jvyou.mybatis.cache.decorators.ScheduledCache;
+import com.jvyou.mybatis.cache.decorators.StatisticsCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 21:10
+ * ---description
+ */
+class CacheBuilderTest {
+
+    @Test
+    void lruEvictsLeastRecentlyUsed() {
+        Cache cache = new CacheBuilder("lru").size(3).build();
+        assertTrue(((StatisticsCache) cache).getDelegate() instanceof LruCache);
+        cache.putObject(new CacheKey("a"), 1);
+        cache.putObject(new CacheKey("b"), 2);
+        cache.putObject(new CacheKey("c"), 3);
+        cache.getObject(new CacheKey("a"));
+        cache.putObject(new CacheKey("d"), 4);
+        assertEquals(3, cache.getSize());
+        assertNull(cache.getObject(new CacheKey("b")));
+        assertEquals(1, cache.getObject(new CacheKey("a")));
+        assertEquals(1, cache.getStats().getEvictionCount());
+        assertEquals(4, cache.getStats().getPutCount());
+    }
+
+    @Test
+    void fifoEvictsEldestInsertion() {
+        Cache cache = new CacheBuilder("fifo").size(3).eviction(Eviction.FIFO).build();
+        cache.putObject(new CacheKey("a"), 1);
+        cache.putObject(new CacheKey("b"), 2);
+        cache.putObject(new CacheKey("c"), 3);
+        cache.getObject(new CacheKey("a"));
+        cache.putObject(new CacheKey("d"), 4);
+        assertNull(cache.getObject(new CacheKey("a")));
+        assertEquals(2, cache.getObject(new CacheKey("b")));
+    }
+
+    @Test
+    void tinyLfuKeepsHotKeysDuringScan() {
+        Cache cache = new CacheBuilder("tinyLfu").size(100).eviction(Eviction.TINY_LFU).build();
+        for (int i = 0; i < 50; i++) {
+            cache.putObject(new CacheKey("hot" + i), i);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.getObject(new CacheKey("hot" + i));
+            }
+        }
+        // 只访问一次的扫描不会把热点数据挤出缓存
+        for (int i = 0; i < 1000; i++) {
+            cache.putObject(new CacheKey("scan" + i), i);
+        }
+        assertTrue(cache.getSize() <= 100);
+        int hotHits = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.getObject(new CacheKey("hot" + i)) != null) {
+                hotHits++;
+            }
+        }
+        assertTrue(hotHits >= 45, "hot hits: " + hotHits);
+
+        Cache lru = new CacheBuilder("lru").size(100).build();
+        for (int i = 0; i < 50; i++) {
+            lru.putObject(new CacheKey("hot" + i), i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            lru.putObject(new CacheKey("scan" + i), i);
+        }
+        assertNull(lru.getObject(new CacheKey("hot0")));
+    }
+
+    @Test
+    void referencesAndFlushInterval() throws Exception {
+        Cache cache = new CacheBuilder("soft").references(ReferenceType.SOFT).flushInterval(50).build();
+        assertTrue(((StatisticsCache) cache).getDelegate() instanceof ScheduledCache);
+        cache.putObject(new CacheKey("a"), "value");
+        assertEquals("value", cache.getObject(new CacheKey("a")));
+        assertEquals(1, cache.getSize());
+        TimeUnit.MILLISECONDS.sleep(80);
+        assertNull(cache.getObject(new CacheKey("a")));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void concurrentWritesStayBounded() throws Exception {
+        Cache cache = new CacheBuilder("concurrent").size(1000).build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        String key = "k" + (thread * 20_000 + i);
+                        cache.putObject(new CacheKey(key), i);
+                        cache.getObject(new CacheKey(key));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1000, cache.getSize());
+    }
+}
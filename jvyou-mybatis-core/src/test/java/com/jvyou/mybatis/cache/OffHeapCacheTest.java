@@ -0,0 +1,131 @@
+package com.jvyou.mybatis.cache;
+
+import com.jvyou.mybatis.annotations.CacheNamespace;
+import com.jvyou.mybatis.annotations.Property;
+import com.jvyou.mybatis.cache.decorators.StatisticsCache;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 22:50
+ * ---description 堆外缓存测试，以及和堆上缓存返回相同的查询结果
+ */
+class OffHeapCacheTest {
+
+    private static final int ENTRIES = 2_000;
+
+    private static final int ROWS = 10;
+
+    @Test
+    void storesCopiesAndEvictsByBytes() {
+        OffHeapCache cache = new OffHeapCache("offHeap");
+        cache.setCapacity(64 * 1024);
+        cache.setSlabSize(16 * 1024);
+        cache.setBlockSize(256);
+        List<Row> rows = rows(1);
+        cache.putObject(new CacheKey("a"), rows);
+        @SuppressWarnings("unchecked")
+        List<Row> cached = (List<Row>) cache.getObject(new CacheKey("a"));
+        assertEquals(rows, cached);
+        assertNotSame(rows, cached);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.putObject(new CacheKey(i), rows(i));
+        }
+        assertTrue(cache.getAllocatedBytes() <= 64 * 1024);
+        assertTrue(cache.getEvictionCount() > 0);
+        assertNull(cache.getObject(new CacheKey("a")));
+        assertNotNull(cache.getObject(new CacheKey(999)));
+
+        // 不能序列化的值不缓存
+        cache.putObject(new CacheKey("b"), Collections.singletonList(new Object()));
+        assertNull(cache.getObject(new CacheKey("b")));
+        assertEquals(1, cache.getRejectedCount());
+
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    @Test
+    void selectedByCacheNamespace() {
+        CacheNamespace namespace = OffHeapMapper.class.getAnnotation(CacheNamespace.class);
+        Cache cache = ((StatisticsCache) CacheBuilder.of("offHeap", namespace).build()).getDelegate();
+        assertTrue(cache instanceof OffHeapCache);
+        assertEquals(1024 * 1024, ((OffHeapCache) cache).getCapacity());
+        assertEquals(1024, ((OffHeapCache) cache).getBlockSize());
+    }
+
+    @Test
+    void returnsSameRowsAsOnHeapCache() {
+        Cache onHeap = new CacheBuilder("onHeap").size(ENTRIES * 2).build();
+        OffHeapCache offHeap = new OffHeapCache("offHeap");
+        offHeap.setCapacity(16L * 1024 * 1024);
+        for (int i = 0; i < ENTRIES; i++) {
+            onHeap.putObject(new CacheKey("query", i), rows(i));
+            offHeap.putObject(new CacheKey("query", i), rows(i));
+        }
+        for (int i = 0; i < ENTRIES; i++) {
+            CacheKey key = new CacheKey("query", (int) ((i * 2654435761L) % ENTRIES));
+            Object expected = onHeap.getObject(key);
+            assertNotNull(expected);
+            assertEquals(expected, offHeap.getObject(key));
+        }
+        assertEquals(0, offHeap.getEvictionCount());
+    }
+
+    private static List<Row> rows(int seed) {
+        List<Row> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Row(seed * ROWS + i, "user" + seed, "user" + seed + "@jvyou.com"));
+        }
+        return rows;
+    }
+
+    @CacheNamespace(implementation = OffHeapCache.class, properties = {
+            @Property(name = "capacity", value = "1048576"),
+            @Property(name = "blockSize", value = "1024")
+    })
+    private interface OffHeapMapper {
+    }
+
+    private static class Row implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long id;
+
+        private final String name;
+
+        private final String email;
+
+        Row(long id, String name, String email) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Row)) {
+                return false;
+            }
+            Row row = (Row) o;
+            return id == row.id && name.equals(row.name) && email.equals(row.email);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, name, email);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.jvyou.mybatis.cache;
+
+import com.jvyou.mybatis.cache.decorators.TieredCache;
+import com.jvyou.mybatis.exception.JvyouMybatisException;
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.mapping.SqlCommandType;
+import com.jvyou.mybatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 23:30
+ * ---description 持久化缓存测试
+ */
+class PersistentCacheTest {
+
+    private static final int CAPACITY = 64 * 1024;
+
+    @TempDir
+    File directory;
+
+    @Test
+    void entriesSurviveRestart() {
+        PersistentCache cache = open(60_000);
+        assertTrue(cache.isEnabled());
+        cache.putObject(new CacheKey("a"), entry("rows of a", "t_user"));
+        cache.putObject(new CacheKey("b"), entry("rows of b", "t_order"));
+        cache.putObject(new CacheKey("b"), entry("new rows of b", "t_order"));
+        // 同一个文件只能打开一次
+        assertFalse(open(60_000).isEnabled());
+        cache.close();
+
+        PersistentCache reopened = open(60_000);
+        assertEquals(2, reopened.getSize());
+        assertEquals("rows of a", ((CacheEntry) reopened.getObject(new CacheKey("a"))).getValue());
+        assertEquals("new rows of b", ((CacheEntry) reopened.getObject(new CacheKey("b"))).getValue());
+        reopened.close();
+    }
+
+    @Test
+    void writesDeleteDependentEntries() {
+        TableWriteTracker tracker = new TableWriteTracker();
+        PersistentCache cache = open(60_000);
+        tracker.addListener(cache::invalidateTables);
+        cache.putObject(new CacheKey("user"), entry("user", "t_user"));
+        cache.putObject(new CacheKey("order"), entry("order", "t_order"));
+        cache.putObject(new CacheKey("unknown"), new CacheEntry("unknown", null, tracker.now()));
+
+        tracker.recordWrite(Collections.singleton("T_USER"));
+        assertNull(cache.getObject(new CacheKey("user")));
+        assertNull(cache.getObject(new CacheKey("unknown")));
+        assertNotNull(cache.getObject(new CacheKey("order")));
+        cache.close();
+
+        // 删除标记也写在文件里，重启后不会复活
+        PersistentCache reopened = open(60_000);
+        assertEquals(1, reopened.getSize());
+        assertNull(reopened.getObject(new CacheKey("user")));
+        reopened.close();
+    }
+
+    @Test
+    void expiredAndOverflowingEntriesAreDropped() throws Exception {
+        PersistentCache cache = open(50);
+        cache.putObject(new CacheKey("a"), entry("a", "t_user"));
+        Thread.sleep(100);
+        assertNull(cache.getObject(new CacheKey("a")));
+
+        // 写满后清空重新开始
+        char[] chars = new char[1024];
+        Arrays.fill(chars, 'x');
+        for (int i = 0; i < 100; i++) {
+            cache.putObject(new CacheKey(i), entry(new String(chars), "t_user"));
+        }
+        assertTrue(cache.getWrittenBytes() <= CAPACITY);
+        assertNotNull(cache.getObject(new CacheKey(99)));
+        assertNull(cache.getObject(new CacheKey(0)));
+
+        cache.putObject(new CacheKey("object"), entry(new Object(), "t_user"));
+        assertNull(cache.getObject(new CacheKey("object")));
+        assertEquals(1, cache.getRejectedCount());
+        cache.close();
+    }
+
+    @Test
+    void diskHitsArePromotedToMemory() {
+        Cache memory = new PerpetualCache("tiered");
+        PersistentCache disk = open(60_000);
+        disk.putObject(new CacheKey("a"), entry("a", "t_user"));
+        TieredCache cache = new TieredCache(memory, disk);
+        assertEquals(0, cache.getSize());
+        assertNotNull(cache.getObject(new CacheKey("a")));
+        assertEquals(1, memory.getSize());
+
+        cache.removeObject(new CacheKey("a"));
+        assertEquals(0, disk.getSize());
+        disk.close();
+    }
+
+    @Test
+    void changedStatementsDoNotHitOldEntries() {
+        Configuration configuration = new Configuration();
+        MappedStatement before = MappedStatement.builder()
+                .id("user.select").sql("select id, name from t_user").sqlCommandType(SqlCommandType.SELECT).build();
+        MappedStatement after = MappedStatement.builder()
+                .id("user.select").sql("select id, name, email from t_user").sqlCommandType(SqlCommandType.SELECT).build();
+        assertNotEquals(before.getFingerprint(), after.getFingerprint());
+        assertNotEquals(before.getCacheKey(configuration, before.getBoundSql(null), null),
+                after.getCacheKey(configuration, before.getBoundSql(null), null));
+    }
+
+    @Test
+    void onlyAllowedClassesAreDeserialized() {
+        PersistentCache cache = open(60_000);
+        cache.putObject(new CacheKey("a"), entry(new Payload("a"), "t_user"));
+        // 白名单以外的类不会被反序列化，条目被删除
+        assertNull(cache.getObject(new CacheKey("a")));
+        assertEquals(0, cache.getSize());
+        cache.close();
+
+        PersistentCache allowed = new PersistentCache("com.jvyou.mybatis.mapper.UserMapper", directory, CAPACITY, 60_000,
+                Collections.singleton(Payload.class.getName()));
+        allowed.putObject(new CacheKey(Color.RED), entry(new Payload("b"), "t_user"));
+        assertEquals("b", ((Payload) ((CacheEntry) allowed.getObject(new CacheKey(Color.RED))).getValue()).name);
+        allowed.close();
+    }
+
+    @Test
+    void corruptedLengthsAreIgnored() throws Exception {
+        PersistentCache cache = open(60_000);
+        cache.putObject(new CacheKey("a"), entry("a", "t_user"));
+        cache.close();
+        // 第一条记录的键长度：文件头 16 字节，记录长度 4 字节，写入时间 8 字节
+        try (RandomAccessFile file = new RandomAccessFile(cache.getFile(), "rw")) {
+            file.seek(16 + 4 + 8);
+            file.writeInt(Integer.MAX_VALUE - 8);
+        }
+        PersistentCache reopened = open(60_000);
+        assertEquals(0, reopened.getSize());
+        assertEquals(0, reopened.getWrittenBytes());
+        reopened.close();
+    }
+
+    @Test
+    void keysRecomputeHashOnDeserialization() throws Exception {
+        CacheKey key = new CacheKey("user.select", Color.RED);
+        // 模拟另一个进程中枚举的标识哈希值不同
+        Field hashcode = CacheKey.class.getDeclaredField("hashcode");
+        hashcode.setAccessible(true);
+        hashcode.setInt(key, 42);
+        Field checksum = CacheKey.class.getDeclaredField("checksum");
+        checksum.setAccessible(true);
+        checksum.setLong(key, 42);
+
+        CacheKey loaded = (CacheKey) CacheSerializer.deserialize(CacheSerializer.serialize(key));
+        assertEquals(new CacheKey("user.select", Color.RED), loaded);
+        assertEquals(new CacheKey("user.select", Color.RED).hashCode(), loaded.hashCode());
+    }
+
+    @Test
+    void directoryMustBePrivate() throws Exception {
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return;
+        }
+        File created = new File(directory, "created");
+        PersistentCache cache = new PersistentCache("a", created, CAPACITY, 60_000);
+        assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(created.toPath())));
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(cache.getFile().toPath())));
+        cache.close();
+
+        File shared = new File(directory, "shared");
+        Files.createDirectory(shared.toPath());
+        Files.setPosixFilePermissions(shared.toPath(), PosixFilePermissions.fromString("rwxrwxrwx"));
+        assertThrows(JvyouMybatisException.class, () -> new PersistentCache("a", shared, CAPACITY, 60_000));
+    }
+
+    private PersistentCache open(long maxAge) {
+        return new PersistentCache("com.jvyou.mybatis.mapper.UserMapper", directory, CAPACITY, maxAge);
+    }
+
+    private static CacheEntry entry(Object value, String table) {
+        return new CacheEntry(value, new HashSet<>(Collections.singleton(table)), 1);
+    }
+
+    enum Color {
+        RED
+    }
+
+    static class Payload implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        Payload(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.jvyou.mybatis.cache.invalidation;
+
+import com.jvyou.mybatis.builder.SqlTableScanner;
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.executor.CachingExecutor;
+import com.jvyou.mybatis.executor.Executor;
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.mapping.SqlCommandType;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.transaction.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 00:50
+ * ---description 节点之间缓存失效的测试
+ */
+class InvalidationBroadcasterTest {
+
+    @Test
+    void committedWritesInvalidateOtherNodes() {
+        LocalInvalidationBroadcaster.Hub hub = new LocalInvalidationBroadcaster.Hub();
+        Configuration first = new Configuration();
+        Configuration second = new Configuration();
+        first.setInvalidationBroadcaster(hub.join());
+        second.setInvalidationBroadcaster(hub.join());
+        Cache secondCache = second.getCache("test");
+        secondCache.putObject(new CacheKey("a"), "rows");
+        long stamp = second.getTableWriteTracker().now();
+
+        MappedStatement update = MappedStatement.builder()
+                .id("test.update").sqlCommandType(SqlCommandType.UPDATE).cache(first.getCache("test"))
+                .tables(SqlTableScanner.scan("update t_user set name = 'a'")).build();
+        // 回滚的写入不广播
+        CachingExecutor rolledBack = newExecutor(first, false);
+        rolledBack.update(update, null);
+        rolledBack.rollback(false);
+        assertEquals(0, second.getTableWriteTracker().getLastWrite("t_user"));
+
+        newExecutor(first, true).update(update, null);
+        assertFalse(second.getTableWriteTracker().isFresh(Collections.singleton("t_user"), stamp));
+        assertTrue(second.getTableWriteTracker().isFresh(Collections.singleton("t_order"), stamp));
+        assertEquals(1, secondCache.getSize());
+
+        // 写入的表无法确定时清空其他节点的同一个命名空间
+        MappedStatement unknown = MappedStatement.builder()
+                .id("test.unknown").sqlCommandType(SqlCommandType.UPDATE).cache(first.getCache("test")).build();
+        newExecutor(first, true).update(unknown, null);
+        assertEquals(0, secondCache.getSize());
+    }
+
+    @Test
+    void udpLoopbackDeliversMessages() throws Exception {
+        InetSocketAddress any = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        UdpInvalidationBroadcaster first = new UdpInvalidationBroadcaster(any, Collections.emptyList());
+        UdpInvalidationBroadcaster second = new UdpInvalidationBroadcaster(any, Collections.emptyList());
+        try {
+            first.addPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), second.getLocalPort()));
+            BlockingQueue<InvalidationMessage> received = new LinkedBlockingQueue<>();
+            second.setReceiver(received::add);
+            first.publish(new InvalidationMessage("first", Collections.singleton("t_user"), Collections.singleton("com.jvyou.UserMapper")));
+            InvalidationMessage message = received.poll(2, TimeUnit.SECONDS);
+            assertNotNull(message);
+            assertEquals("first", message.getNodeId());
+            assertEquals(Collections.singleton("t_user"), message.getTables());
+            assertEquals(Collections.singleton("com.jvyou.UserMapper"), message.getNamespaces());
+        } finally {
+            first.close();
+            second.close();
+        }
+    }
+
+    @Test
+    void udpRejectsPacketsWithoutValidSignature() throws Exception {
+        InetSocketAddress any = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        byte[] secret = "cluster-secret".getBytes(StandardCharsets.UTF_8);
+        UdpInvalidationBroadcaster signed = new UdpInvalidationBroadcaster(any, Collections.emptyList(), secret);
+        UdpInvalidationBroadcaster unsigned = new UdpInvalidationBroadcaster(any, Collections.emptyList());
+        UdpInvalidationBroadcaster wrongKey = new UdpInvalidationBroadcaster(any, Collections.emptyList(),
+                "other-secret".getBytes(StandardCharsets.UTF_8));
+        UdpInvalidationBroadcaster receiver = new UdpInvalidationBroadcaster(any, Collections.emptyList(), secret);
+        try {
+            InetSocketAddress target = new InetSocketAddress(InetAddress.getLoopbackAddress(), receiver.getLocalPort());
+            signed.addPeer(target);
+            unsigned.addPeer(target);
+            wrongKey.addPeer(target);
+            BlockingQueue<InvalidationMessage> received = new LinkedBlockingQueue<>();
+            receiver.setReceiver(received::add);
+
+            unsigned.publish(new InvalidationMessage("unsigned", Collections.singleton("t_user"), Collections.emptyList()));
+            wrongKey.publish(new InvalidationMessage("wrongKey", Collections.singleton("t_user"), Collections.emptyList()));
+            signed.publish(new InvalidationMessage("signed", Collections.singleton("t_user"), Collections.emptyList()));
+            InvalidationMessage message = received.poll(2, TimeUnit.SECONDS);
+            assertNotNull(message);
+            assertEquals("signed", message.getNodeId());
+            assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+            assertEquals(2, receiver.getRejectedCount());
+        } finally {
+            signed.close();
+            unsigned.close();
+            wrongKey.close();
+            receiver.close();
+        }
+    }
+
+    @Test
+    void oversizedMessagesDegradeToClearAll() throws Exception {
+        InetSocketAddress any = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        UdpInvalidationBroadcaster first = new UdpInvalidationBroadcaster(any, Collections.emptyList());
+        UdpInvalidationBroadcaster second = new UdpInvalidationBroadcaster(any, Collections.emptyList());
+        try {
+            first.addPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), second.getLocalPort()));
+            BlockingQueue<InvalidationMessage> received = new LinkedBlockingQueue<>();
+            second.setReceiver(received::add);
+            List<String> tables = new ArrayList<>();
+            for (int i = 0; i < 10000; i++) {
+                tables.add("t_table_" + i);
+            }
+            first.publish(new InvalidationMessage("first", tables, Collections.emptyList()));
+            InvalidationMessage message = received.poll(2, TimeUnit.SECONDS);
+            assertNotNull(message);
+            assertTrue(message.isClearAll());
+        } finally {
+            first.close();
+            second.close();
+        }
+
+        // 收到清空所有命名空间的消息时清空本节点的每个缓存
+        LocalInvalidationBroadcaster.Hub hub = new LocalInvalidationBroadcaster.Hub();
+        Configuration configuration = new Configuration();
+        configuration.setInvalidationBroadcaster(hub.join());
+        configuration.getCache("a").putObject(new CacheKey("a"), "rows");
+        configuration.getCache("b").putObject(new CacheKey("b"), "rows");
+        hub.join().publish(InvalidationMessage.clearAll("other"));
+        assertEquals(0, configuration.getCache("a").getSize());
+        assertEquals(0, configuration.getCache("b").getSize());
+    }
+
+    @Test
+    void publishFailuresDoNotSkipCacheCommit() {
+        Configuration configuration = new Configuration();
+        configuration.setInvalidationBroadcaster(new InvalidationBroadcaster() {
+            @Override
+            public void publish(InvalidationMessage message) {
+                throw new IllegalStateException("network is down");
+            }
+
+            @Override
+            public void setReceiver(Consumer<InvalidationMessage> receiver) {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        Cache cache = configuration.getCache("test");
+        MappedStatement select = MappedStatement.builder()
+                .id("test.select").sqlCommandType(SqlCommandType.SELECT).cache(cache)
+                .tables(SqlTableScanner.scan("select * from t_order")).build();
+        MappedStatement update = MappedStatement.builder()
+                .id("test.update").sqlCommandType(SqlCommandType.UPDATE).cache(cache)
+                .tables(SqlTableScanner.scan("update t_user set name = 'a'")).build();
+
+        CachingExecutor executor = newExecutor(configuration, false);
+        executor.query(select, null);
+        executor.update(update, null);
+        executor.commit(false);
+        assertEquals(1, configuration.getInvalidationBus().getPublishFailureCount());
+        assertNotEquals(0, configuration.getTableWriteTracker().getLastWrite("t_user"));
+        assertEquals(1, cache.getSize());
+
+        // 提交后的其他步骤抛出异常时，暂存的查询结果照常写入，暂存的写入被丢弃
+        cache.clear();
+        configuration.getTableWriteTracker().addListener(tables -> {
+            throw new IllegalStateException("listener failed");
+        });
+        executor.query(select, 1);
+        executor.update(update, null);
+        assertThrows(IllegalStateException.class, () -> executor.commit(false));
+        assertEquals(1, cache.getSize());
+        // 写入已经丢弃，再次提交不会重新记录
+        assertDoesNotThrow(() -> executor.commit(false));
+    }
+
+    @Test
+    void burstsAreCoalesced() throws Exception {
+        LocalInvalidationBroadcaster.Hub hub = new LocalInvalidationBroadcaster.Hub();
+        BatchingInvalidationBroadcaster batching = new BatchingInvalidationBroadcaster(hub.join(), 100);
+        BlockingQueue<InvalidationMessage> received = new LinkedBlockingQueue<>();
+        hub.join().setReceiver(received::add);
+        for (int i = 0; i < 100; i++) {
+            batching.publish(new InvalidationMessage("node", Collections.singleton("t_" + i % 10), Collections.emptyList()));
+        }
+        InvalidationMessage message = received.poll(2, TimeUnit.SECONDS);
+        assertNotNull(message);
+        assertEquals(10, message.getTables().size());
+        assertEquals(100, batching.getPublishedCount());
+        assertEquals(1, batching.getSentCount());
+
+        // 关闭时发送还没到时间的消息
+        batching.publish(new InvalidationMessage("node", Collections.singleton("t_last"), Collections.emptyList()));
+        batching.close();
+        List<InvalidationMessage> rest = new ArrayList<>();
+        received.drainTo(rest);
+        assertEquals(1, rest.size());
+        assertEquals(Collections.singleton("t_last"), rest.get(0).getTables());
+    }
+
+    private static CachingExecutor newExecutor(Configuration configuration, boolean autoCommit) {
+        Transaction transaction = (Transaction) Proxy.newProxyInstance(Transaction.class.getClassLoader(), new Class[]{Transaction.class},
+                (proxy, method, args) -> method.getName().equals("isAutoCommit") ? autoCommit : null);
+        Executor delegate = (Executor) Proxy.newProxyInstance(Executor.class.getClassLoader(), new Class[]{Executor.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "query":
+                            return Collections.singletonList("row");
+                        case "update":
+                            return 1;
+                        case "getTransaction":
+                            return transaction;
+                        case "createCacheKey":
+                            return new CacheKey(((MappedStatement) args[0]).getId(), args[1]);
+                        default:
+                            return null;
+                    }
+                });
+        return new CachingExecutor(delegate, configuration.getTableWriteTracker(), null, configuration.getInvalidationBus());
+    }
+}
@@ -0,0 +1,108 @@
+package com.jvyou.mybatis.cursor;
+
+import com.jvyou.mybatis.executor.MockConnection;
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.mapping.SqlCommandType;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.ExecutorType;
+import com.jvyou.mybatis.session.SqlSession;
+import com.jvyou.mybatis.session.defaults.DefaultSqlSession;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 10:10
+ * ---description
+ */
+class DefaultCursorTest {
+
+    private final Configuration configuration = new Configuration();
+
+    private final MockConnection connection = new MockConnection(new String[]{"id"}, new Object[][]{{1}, {2}, {3}});
+
+    private final SqlSession session;
+
+    DefaultCursorTest() {
+        configuration.addMappedStatement(MappedStatement.builder().id("test.select").sql("select id from t_user")
+                .resultType(Integer.class).sqlCommandType(SqlCommandType.SELECT).build());
+        session = new DefaultSqlSession(configuration, configuration.newSqlExecutor(connection.toTransaction(), ExecutorType.SIMPLE));
+    }
+
+    @Test
+    void rowsAreReadWhileIterating() {
+        Cursor<Integer> cursor = session.selectCursor("test.select", null);
+        assertFalse(cursor.isOpen());
+        assertEquals(-1, cursor.getCurrentIndex());
+
+        Iterator<Integer> iterator = cursor.iterator();
+        assertEquals(1, iterator.next());
+        assertTrue(cursor.isOpen());
+        assertEquals(0, cursor.getCurrentIndex());
+        assertEquals(1, connection.getStatements().get(0).getOpenResultSetCount());
+
+        List<Integer> rest = new ArrayList<>();
+        iterator.forEachRemaining(rest::add);
+        assertEquals(2, rest.size());
+        assertTrue(cursor.isConsumed());
+        // 读取完毕后 ResultSet 和语句一起关闭
+        assertEquals(0, connection.getStatements().get(0).getOpenResultSetCount());
+        assertTrue(connection.getStatements().get(0).isClosed());
+    }
+
+    @Test
+    void closeReleasesStatementBeforeConsumed() {
+        Cursor<Integer> cursor = session.selectCursor("test.select", null);
+        Iterator<Integer> iterator = cursor.iterator();
+        iterator.next();
+        cursor.close();
+
+        assertFalse(cursor.isOpen());
+        assertFalse(cursor.isConsumed());
+        assertFalse(iterator.hasNext());
+        assertTrue(connection.getStatements().get(0).isClosed());
+        assertThrows(IllegalStateException.class, cursor::iterator);
+        // 重复关闭不报错
+        cursor.close();
+    }
+
+    @Test
+    void onlyOneIteratorPerCursor() {
+        Cursor<Integer> cursor = session.selectCursor("test.select", null);
+        cursor.iterator();
+        assertThrows(IllegalStateException.class, cursor::iterator);
+    }
+
+    @Test
+    void closingSessionClosesOpenCursors() {
+        Cursor<Integer> notStarted = session.selectCursor("test.select", null);
+        Cursor<Integer> started = session.selectCursor("test.select", null);
+        started.iterator().next();
+        session.close();
+
+        connection.getStatements().forEach(statement -> assertTrue(statement.isClosed()));
+        assertThrows(IllegalStateException.class, notStarted::iterator);
+        assertFalse(started.isOpen());
+    }
+
+    @Test
+    void cursorQueriesAreLogged() {
+        PrintStream err = System.err;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(out, true));
+        try {
+            session.selectCursor("test.select", null).close();
+        } finally {
+            System.setErr(err);
+        }
+        assertTrue(out.toString().contains("SQL:select id from t_user"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.jvyou.mybatis.executor;
+
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.mapping.SqlCommandType;
+import com.jvyou.mybatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 09:20
+ * ---description
+ */
+class BatchExecutorTest {
+
+    private final Configuration configuration = new Configuration();
+
+    private final MockConnection connection = new MockConnection(new String[]{"id"}, new Object[][]{{1}});
+
+    private final MappedStatement insert = MappedStatement.builder()
+            .id("test.insert").sql("insert into t_user(name) values(#{name})").sqlCommandType(SqlCommandType.INSERT).build();
+
+    private final MappedStatement select = MappedStatement.builder()
+            .id("test.select").sql("select id from t_user").resultType(Integer.class).sqlCommandType(SqlCommandType.SELECT).build();
+
+    @Test
+    void autoFlushedBatchesAreReturnedByNextFlush() {
+        configuration.setDefaultBatchSize(3);
+        BatchExecutor executor = new BatchExecutor(configuration, connection.toTransaction());
+        for (int i = 0; i < 7; i++) {
+            assertEquals(BatchExecutor.BATCH_UPDATE_RETURN_VALUE, executor.update(insert, Collections.singletonMap("name", "u" + i)));
+        }
+        // 达到阈值的两批已经发送到数据库，第 7 条还在攒批
+        assertEquals(3, connection.getStatements().size());
+        assertEquals(1, connection.getStatements().get(1).getExecutedBatches().size());
+        assertTrue(connection.getStatements().get(1).isClosed());
+        assertTrue(connection.getStatements().get(2).getExecutedBatches().isEmpty());
+
+        List<BatchResult> results = executor.flushStatements();
+        assertEquals(3, results.size());
+        int[] sizes = results.stream().mapToInt(result -> result.getUpdateCounts().length).toArray();
+        assertArrayEquals(new int[]{3, 3, 1}, sizes);
+        assertEquals(7, results.stream().mapToInt(result -> result.getParameterObjects().size()).sum());
+        assertEquals(Collections.singletonMap("name", "u6"), results.get(2).getParameterObjects().get(0));
+        connection.getStatements().forEach(statement -> assertEquals(1, statement.getExecutedBatches().size()));
+
+        // 已经返回过的结果不会重复返回
+        assertTrue(executor.flushStatements().isEmpty());
+    }
+
+    @Test
+    void batchesFlushedBeforeQueryAreKeptUntilFlush() {
+        BatchExecutor executor = new BatchExecutor(configuration, connection.toTransaction());
+        executor.update(insert, Collections.singletonMap("name", "a"));
+        executor.update(insert, Collections.singletonMap("name", "b"));
+        executor.query(select, null);
+        assertEquals(1, connection.getStatements().get(0).getExecutedBatches().size());
+
+        executor.update(insert, Collections.singletonMap("name", "c"));
+        List<BatchResult> results = executor.flushStatements();
+        assertEquals(2, results.size());
+        assertArrayEquals(new int[]{1, 1}, results.get(0).getUpdateCounts());
+        assertArrayEquals(new int[]{1}, results.get(1).getUpdateCounts());
+    }
+
+    @Test
+    void rollbackDiscardsAutoFlushedResults() {
+        configuration.setDefaultBatchSize(2);
+        BatchExecutor executor = new BatchExecutor(configuration, connection.toTransaction());
+        for (int i = 0; i < 3; i++) {
+            executor.update(insert, Collections.singletonMap("name", "u" + i));
+        }
+        executor.rollback(true);
+        assertTrue(executor.flushStatements().isEmpty());
+        // 没有执行的批次直接丢弃
+        assertTrue(connection.getStatements().get(1).getExecutedBatches().isEmpty());
+        assertTrue(connection.getStatements().get(1).isClosed());
+    }
+}
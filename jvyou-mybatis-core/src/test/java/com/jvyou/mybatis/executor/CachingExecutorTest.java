@@ -0,0 +1,365 @@
+package com.jvyou.mybatis.executor;
+
+import com.jvyou.mybatis.builder.SqlTableScanner;
+import com.jvyou.mybatis.cache.Cache;
+import com.jvyou.mybatis.cache.CacheBuilder;
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.cache.CacheStats;
+import com.jvyou.mybatis.cache.TableWriteTracker;
+import com.jvyou.mybatis.cache.decorators.BlockingCache;
+import com.jvyou.mybatis.cache.decorators.StatisticsCache;
+import com.jvyou.mybatis.cache.jmx.CacheMBeans;
+import com.jvyou.mybatis.mapping.BoundSql;
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.mapping.SqlCommandType;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.transaction.Transaction;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 21:30
+ * ---description
+ */
+class CachingExecutorTest {
+
+    private final Cache cache = new CacheBuilder("test").build();
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private final TableWriteTracker tracker = new TableWriteTracker();
+
+    /**
+     * 模拟数据库查询耗时
+     */
+    private volatile long queryMillis;
+
+    private final MappedStatement select = MappedStatement.builder()
+            .id("test.select").sql("select * from t_user").sqlCommandType(SqlCommandType.SELECT).cache(cache)
+            .tables(SqlTableScanner.scan("select * from t_user")).build();
+
+    private final MappedStatement update = MappedStatement.builder()
+            .id("test.update").sql("update t_user set name = 'a'").sqlCommandType(SqlCommandType.UPDATE).cache(cache)
+            .tables(SqlTableScanner.scan("update t_user set name = 'a'")).build();
+
+    @Test
+    void queryResultsArePublishedOnCommit() {
+        CachingExecutor first = newExecutor(false);
+        CachingExecutor second = newExecutor(false);
+        first.query(select, null);
+        // 会话自己可以读到暂存的结果，其他会话看不到
+        first.query(select, null);
+        assertEquals(1, queries.get());
+        assertEquals(0, cache.getSize());
+        second.query(select, null);
+        assertEquals(2, queries.get());
+
+        first.commit(false);
+        assertEquals(1, cache.getSize());
+        newExecutor(false).query(select, null);
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void updatesClearCacheOnlyOnCommit() {
+        CachingExecutor reader = newExecutor(false);
+        reader.query(select, null);
+        reader.close();
+        assertEquals(1, cache.getSize());
+
+        CachingExecutor writer = newExecutor(false);
+        writer.update(update, null);
+        // 未提交的更新不会清空共享缓存，但写入的会话自己不再使用旧数据
+        assertEquals(1, cache.getSize());
+        writer.query(select, null);
+        assertEquals(2, queries.get());
+        writer.rollback(false);
+        assertEquals(1, cache.getSize());
+
+        writer.update(update, null);
+        writer.commit(false);
+        // 提交后依赖 t_user 的条目失效
+        CachingExecutor afterCommit = newExecutor(false);
+        afterCommit.query(select, null);
+        afterCommit.close();
+        assertEquals(3, queries.get());
+
+        // 执行过更新但没有提交就关闭，暂存的查询结果被丢弃
+        CachingExecutor uncommitted = newExecutor(false);
+        uncommitted.update(update, null);
+        uncommitted.query(select, null);
+        uncommitted.close();
+        assertEquals(4, queries.get());
+        newExecutor(false).query(select, null);
+        assertEquals(4, queries.get());
+    }
+
+    @Test
+    void autoCommitAppliesImmediately() {
+        CachingExecutor executor = newExecutor(true);
+        executor.query(select, null);
+        assertEquals(1, cache.getSize());
+        executor.update(update, null);
+        executor.query(select, null);
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void writesInvalidateOnlyDependentEntriesAcrossNamespaces() {
+        Cache orderCache = new CacheBuilder("order").build();
+        MappedStatement selectOrders = MappedStatement.builder()
+                .id("order.select").sqlCommandType(SqlCommandType.SELECT).cache(orderCache)
+                .tables(SqlTableScanner.scan("select * from t_order o join t_user u on o.user_id = u.id")).build();
+        MappedStatement insertOrder = MappedStatement.builder()
+                .id("order.insert").sqlCommandType(SqlCommandType.INSERT).cache(orderCache)
+                .tables(SqlTableScanner.scan("insert into t_order(user_id) values (#{userId})")).build();
+        CachingExecutor executor = newExecutor(true);
+        executor.query(select, null);
+        executor.query(selectOrders, null);
+        assertEquals(2, queries.get());
+
+        // 写 t_order 不影响只依赖 t_user 的缓存
+        executor.update(insertOrder, null);
+        executor.query(select, null);
+        assertEquals(2, queries.get());
+        executor.query(selectOrders, null);
+        assertEquals(3, queries.get());
+
+        // 另一个命名空间依赖 t_user 的缓存同样失效
+        executor.update(update, null);
+        executor.query(select, null);
+        executor.query(selectOrders, null);
+        assertEquals(5, queries.get());
+    }
+
+    @Test
+    void unknownWritesClearTheNamespace() {
+        MappedStatement unknown = MappedStatement.builder()
+                .id("test.unknown").sqlCommandType(SqlCommandType.UPDATE).cache(cache).build();
+        CachingExecutor executor = newExecutor(true);
+        executor.query(select, null);
+        executor.update(unknown, null);
+        assertEquals(0, cache.getSize());
+        executor.query(select, null);
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void concurrentMissesAreCoalesced() throws Exception {
+        Cache built = new CacheBuilder("blocking").blocking(true).build();
+        BlockingCache blockingCache = (BlockingCache) ((StatisticsCache) built).getDelegate();
+        MappedStatement blockingSelect = MappedStatement.builder()
+                .id("blocking.select").sqlCommandType(SqlCommandType.SELECT).cache(built).tables(select.getTables()).build();
+        queryMillis = 300;
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(threads);
+            List<Future<List<Object>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    CachingExecutor executor = newExecutor(true);
+                    barrier.await();
+                    return executor.query(blockingSelect, null);
+                }));
+            }
+            for (Future<List<Object>> result : results) {
+                assertEquals(Collections.singletonList("row"), result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, queries.get());
+        assertEquals(threads - 1, blockingCache.getCoalescedCount());
+        // 等到其他线程结果的也算未命中，但没有查询数据库
+        assertEquals(threads, built.getStats().getMissCount());
+        assertEquals(1, built.getStats().getLoadCount());
+    }
+
+    @Test
+    void waitersQueryThemselvesAfterTimeout() throws Exception {
+        Cache built = new CacheBuilder("blocking").blocking(true).blockingTimeout(50).build();
+        BlockingCache blockingCache = (BlockingCache) ((StatisticsCache) built).getDelegate();
+        MappedStatement blockingSelect = MappedStatement.builder()
+                .id("blocking.select").sqlCommandType(SqlCommandType.SELECT).cache(built).tables(select.getTables()).build();
+        queryMillis = 500;
+        Thread loader = new Thread(() -> newExecutor(true).query(blockingSelect, null));
+        loader.start();
+        while (queries.get() == 0) {
+            Thread.sleep(1);
+        }
+        newExecutor(true).query(blockingSelect, null);
+        loader.join();
+        assertEquals(2, queries.get());
+        assertEquals(0, blockingCache.getCoalescedCount());
+    }
+
+    @Test
+    void statisticsAreExposedPerNamespace() throws Exception {
+        CachingExecutor executor = newExecutor(true);
+        queryMillis = 5;
+        executor.query(select, null);
+        executor.query(select, null);
+        executor.query(select, null);
+        executor.update(update, null);
+        executor.query(select, null);
+
+        Configuration configuration = new Configuration();
+        configuration.getCache("test", id -> cache);
+        CacheStats stats = configuration.getCacheStats().get("test");
+        assertEquals(2, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(2, stats.getLoadCount());
+        assertEquals(2, stats.getPutCount());
+        assertEquals(1, stats.getSize());
+        assertTrue(stats.getAverageLoadTime() >= 5_000_000);
+
+        configuration.registerCacheMBeans();
+        try {
+            ObjectName name = CacheMBeans.objectName("test");
+            assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "HitCount"));
+            assertEquals(0.5, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "HitRate"));
+        } finally {
+            configuration.unregisterCacheMBeans();
+        }
+    }
+
+    @Test
+    void expiredEntriesReloadAndHotEntriesRefreshAhead() throws Exception {
+        MappedStatement shortLived = MappedStatement.builder()
+                .id("test.shortLived").sqlCommandType(SqlCommandType.SELECT).cache(cache).tables(select.getTables())
+                .cacheTtl(100).build();
+        CachingExecutor executor = newExecutor(true);
+        executor.query(shortLived, null);
+        executor.query(shortLived, null);
+        assertEquals(1, queries.get());
+        Thread.sleep(150);
+        executor.query(shortLived, null);
+        assertEquals(2, queries.get());
+
+        CacheRefresher refresher = new CacheRefresher(() -> newDelegate(true), tracker, 1);
+        try {
+            MappedStatement hot = MappedStatement.builder()
+                    .id("test.hot").sqlCommandType(SqlCommandType.SELECT).cache(cache).tables(select.getTables())
+                    .cacheTtl(600).refreshAhead(200).build();
+            CachingExecutor refreshing = new CachingExecutor(newDelegate(true), tracker, refresher);
+            long loadedAt = System.currentTimeMillis();
+            refreshing.query(hot, null);
+            assertEquals(3, queries.get());
+            refreshing.query(hot, null);
+            assertEquals(0, refresher.getPendingCount());
+            Thread.sleep(loadedAt + 450 - System.currentTimeMillis());
+            // 进入提前刷新的时间段，返回旧的结果，后台重新查询
+            queryMillis = 100;
+            long start = System.nanoTime();
+            assertEquals(Collections.singletonList("row"), refreshing.query(hot, null));
+            assertTrue(System.nanoTime() - start < 50_000_000L);
+            long deadline = System.currentTimeMillis() + 2000;
+            while ((refresher.getPendingCount() > 0 || queries.get() < 4) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(4, queries.get());
+            // 刷新后的条目重新计算存活时间，原来的过期时间之后仍然命中
+            Thread.sleep(loadedAt + 650 - System.currentTimeMillis());
+            refreshing.query(hot, null);
+            assertEquals(4, queries.get());
+        } finally {
+            refresher.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshUsesCopiesAndCountsFailures() throws Exception {
+        CountDownLatch mutated = new CountDownLatch(1);
+        List<Object[]> calls = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger attempts = new AtomicInteger();
+        CacheRefresher refresher = new CacheRefresher(() -> (Executor) Proxy.newProxyInstance(Executor.class.getClassLoader(),
+                new Class[]{Executor.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("query")) {
+                        return null;
+                    }
+                    mutated.await();
+                    if (attempts.incrementAndGet() > 1) {
+                        throw new IllegalStateException("database is down");
+                    }
+                    Object parameter = args[1];
+                    BoundSql boundSql = (BoundSql) args[2];
+                    calls.add(new Object[]{((Map<String, Object>) parameter).get("id"), new ArrayList<>(boundSql.getParamNames()),
+                            boundSql.getBindingParameter(parameter) instanceof Map
+                                    ? ((Map<String, Object>) boundSql.getBindingParameter(parameter)).get("__frch_item_0") : null});
+                    return Collections.singletonList("row");
+                }), tracker, 1);
+        try {
+            Map<String, Object> parameter = new HashMap<>();
+            parameter.put("id", 1);
+            BoundSql boundSql = new BoundSql("select * from t_user where id = ? and role in (?)", new ArrayList<>(Arrays.asList("id", "__frch_item_0")));
+            boundSql.setAdditionalParameters(new HashMap<>(Collections.singletonMap("__frch_item_0", "admin")));
+            assertTrue(refresher.refresh(select, parameter, boundSql, new CacheKey("a")));
+            // 会话在提交刷新之后修改参数和 BoundSql，后台查询不受影响
+            parameter.put("id", 2);
+            boundSql.getParamNames().clear();
+            boundSql.getAdditionalParameters().put("__frch_item_0", "guest");
+            mutated.countDown();
+            assertTrue(refresher.refresh(select, parameter, boundSql, new CacheKey("b")));
+
+            long deadline = System.currentTimeMillis() + 2000;
+            while ((refresher.getPendingCount() > 0 || refresher.getFailureCount() == 0) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, calls.size());
+            assertEquals(1, calls.get(0)[0]);
+            assertEquals(Arrays.asList("id", "__frch_item_0"), calls.get(0)[1]);
+            assertEquals("admin", calls.get(0)[2]);
+            assertEquals(1, refresher.getFailureCount());
+            assertEquals(1, cache.getStats().getRefreshFailureCount());
+        } finally {
+            refresher.shutdown();
+        }
+    }
+
+    private CachingExecutor newExecutor(boolean autoCommit) {
+        return new CachingExecutor(newDelegate(autoCommit), tracker);
+    }
+
+    private Executor newDelegate(boolean autoCommit) {
+        Transaction transaction = (Transaction) Proxy.newProxyInstance(Transaction.class.getClassLoader(), new Class[]{Transaction.class},
+                (proxy, method, args) -> method.getName().equals("isAutoCommit") ? autoCommit : null);
+        return (Executor) Proxy.newProxyInstance(Executor.class.getClassLoader(), new Class[]{Executor.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "query":
+                            queries.incrementAndGet();
+                            Thread.sleep(queryMillis);
+                            return Collections.singletonList("row");
+                        case "update":
+                            return 1;
+                        case "getTransaction":
+                            return transaction;
+                        case "createCacheKey":
+                            return new CacheKey(((MappedStatement) args[0]).getId(), args[1]);
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
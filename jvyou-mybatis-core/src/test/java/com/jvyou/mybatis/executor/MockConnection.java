@@ -0,0 +1,198 @@
+package com.jvyou.mybatis.executor;
+
+import com.jvyou.mybatis.executor.resultset.MockResultSet;
+import com.jvyou.mybatis.transaction.Transaction;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 09:10
+ * ---description 基于内存数据的数据库连接，用于不连接数据库的执行器测试
+ * 记录创建的每个预编译语句；查询语句返回构造时给定的结果集，更新语句影响 1 行，executeBatch 中每条语句影响 1 行
+ */
+public class MockConnection {
+
+    private final String[] columnLabels;
+
+    private final Object[][] rows;
+
+    private final List<MockStatement> statements = new ArrayList<>();
+
+    public MockConnection(String[] columnLabels, Object[][] rows) {
+        this.columnLabels = columnLabels;
+        this.rows = rows;
+    }
+
+    public Connection toConnection() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("prepareStatement".equals(method.getName())) {
+                        MockStatement statement = new MockStatement((String) args[0]);
+                        statements.add(statement);
+                        return statement.proxy;
+                    }
+                    return "isClosed".equals(method.getName()) ? false : null;
+                });
+    }
+
+    /**
+     * 创建一个使用该连接、手动提交的事务
+     *
+     * @return 事务
+     */
+    public Transaction toTransaction() {
+        Connection connection = toConnection();
+        return (Transaction) Proxy.newProxyInstance(Transaction.class.getClassLoader(), new Class[]{Transaction.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getConnection":
+                            return connection;
+                        case "isAutoCommit":
+                            return false;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    /**
+     * 获取创建过的所有预编译语句，按创建顺序排列
+     *
+     * @return 预编译语句
+     */
+    public List<MockStatement> getStatements() {
+        return statements;
+    }
+
+    /**
+     * 记录执行情况的预编译语句
+     */
+    public class MockStatement {
+
+        private final String sql;
+
+        private final PreparedStatement proxy;
+
+        private final List<int[]> executedBatches = new ArrayList<>();
+
+        private final List<ResultSet> openResultSets = new ArrayList<>();
+
+        private int pendingBatch;
+
+        private int executions;
+
+        private boolean closed;
+
+        private boolean closeOnCompletion;
+
+        MockStatement(String sql) {
+            this.sql = sql;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class[]{PreparedStatement.class},
+                    (p, method, args) -> {
+                        switch (method.getName()) {
+                            case "toString":
+                                return sql;
+                            case "hashCode":
+                                return System.identityHashCode(p);
+                            case "equals":
+                                return p == args[0];
+                            case "execute":
+                                executions++;
+                                return isQuery();
+                            case "getResultSet":
+                                return isQuery() ? newResultSet() : null;
+                            case "getUpdateCount":
+                                return isQuery() ? -1 : 1;
+                            case "addBatch":
+                                pendingBatch++;
+                                return null;
+                            case "executeBatch":
+                                int[] counts = new int[pendingBatch];
+                                Arrays.fill(counts, 1);
+                                pendingBatch = 0;
+                                executedBatches.add(counts);
+                                return counts;
+                            case "closeOnCompletion":
+                                closeOnCompletion = true;
+                                return null;
+                            case "close":
+                                closed = true;
+                                return null;
+                            case "isClosed":
+                                return closed;
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * @return execute 被调用的次数
+         */
+        public int getExecutions() {
+            return executions;
+        }
+
+        /**
+         * @return 每次 executeBatch 返回的影响行数
+         */
+        public List<int[]> getExecutedBatches() {
+            return executedBatches;
+        }
+
+        /**
+         * @return 还没有关闭的结果集数量
+         */
+        public int getOpenResultSetCount() {
+            return openResultSets.size();
+        }
+
+        private boolean isQuery() {
+            return sql.trim().toLowerCase().startsWith("select");
+        }
+
+        private ResultSet newResultSet() {
+            MockResultSet data = new MockResultSet(columnLabels, rows);
+            ResultSet[] self = new ResultSet[1];
+            self[0] = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class[]{ResultSet.class},
+                    (p, method, args) -> {
+                        switch (method.getName()) {
+                            case "hashCode":
+                                return System.identityHashCode(p);
+                            case "equals":
+                                return p == args[0];
+                            case "close":
+                                if (openResultSets.remove(self[0]) && closeOnCompletion && openResultSets.isEmpty()) {
+                                    closed = true;
+                                }
+                                return null;
+                            case "isClosed":
+                                return !openResultSets.contains(self[0]);
+                            default:
+                                if (closed || !openResultSets.contains(self[0])) {
+                                    throw new java.sql.SQLException("ResultSet is closed");
+                                }
+                                return data.invoke(p, method, args);
+                        }
+                    });
+            openResultSets.add(self[0]);
+            return self[0];
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.jvyou.mybatis.executor;
+
+import com.jvyou.mybatis.cursor.Cursor;
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.mapping.SqlCommandType;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.ExecutorType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 09:50
+ * ---description
+ */
+class ReuseExecutorTest {
+
+    private final Configuration configuration = new Configuration();
+
+    private final MockConnection connection = new MockConnection(new String[]{"id"}, new Object[][]{{1}, {2}, {3}});
+
+    @Test
+    void sameSqlReusesPreparedStatement() {
+        Executor executor = configuration.newSqlExecutor(connection.toTransaction(), ExecutorType.REUSE);
+        MappedStatement select = select("select id from t_user where id = #{id}");
+        executor.query(select, Collections.singletonMap("id", 1));
+        executor.query(select, Collections.singletonMap("id", 2));
+        executor.update(update("update t_user set name = #{name}"), Collections.singletonMap("name", "a"));
+
+        assertEquals(2, connection.getStatements().size());
+        assertEquals(2, connection.getStatements().get(0).getExecutions());
+        StatementCacheStats stats = executor.getStatementCacheStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(2, stats.getSize());
+
+        executor.close();
+        connection.getStatements().forEach(statement -> assertTrue(statement.isClosed()));
+        assertEquals(0, executor.getStatementCacheStats().getSize());
+    }
+
+    @Test
+    void leastRecentlyUsedStatementIsEvicted() {
+        configuration.setReuseStatementCacheSize(2);
+        Executor executor = configuration.newSqlExecutor(connection.toTransaction(), ExecutorType.REUSE);
+        MappedStatement first = select("select id from t_user where id = #{id}");
+        executor.query(first, Collections.singletonMap("id", 1));
+        executor.query(select("select id from t_user where name = #{name}"), Collections.singletonMap("name", "a"));
+        // 访问第一条，第二条成为最久没有使用的语句
+        executor.query(first, Collections.singletonMap("id", 2));
+        executor.query(select("select id from t_user where age = #{age}"), Collections.singletonMap("age", 3));
+
+        assertFalse(connection.getStatements().get(0).isClosed());
+        assertTrue(connection.getStatements().get(1).isClosed());
+        assertEquals(2, executor.getStatementCacheStats().getSize());
+        assertEquals(1, executor.getStatementCacheStats().getHitCount());
+    }
+
+    @Test
+    void openCursorKeepsItsOwnStatement() {
+        Executor executor = configuration.newSqlExecutor(connection.toTransaction(), ExecutorType.REUSE);
+        MappedStatement select = select("select id from t_user");
+        Cursor<Integer> cursor = executor.queryCursor(select, null);
+        Iterator<Integer> iterator = cursor.iterator();
+        assertEquals(1, iterator.next());
+
+        // 相同 SQL 的普通查询不会重新执行游标正在读取的语句
+        assertEquals(3, executor.query(select, null).size());
+        assertEquals(2, iterator.next());
+        assertEquals(3, iterator.next());
+        assertEquals(2, connection.getStatements().size());
+        assertEquals(1, executor.getStatementCacheStats().getSize());
+
+        cursor.close();
+        assertTrue(connection.getStatements().get(0).isClosed());
+        assertFalse(connection.getStatements().get(1).isClosed());
+    }
+
+    private static MappedStatement select(String sql) {
+        return MappedStatement.builder().id("test.select").sql(sql).resultType(Integer.class).sqlCommandType(SqlCommandType.SELECT).build();
+    }
+
+    private static MappedStatement update(String sql) {
+        return MappedStatement.builder().id("test.update").sql(sql).sqlCommandType(SqlCommandType.UPDATE).build();
+    }
+}
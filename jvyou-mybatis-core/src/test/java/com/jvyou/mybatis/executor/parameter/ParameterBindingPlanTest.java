@@ -0,0 +1,103 @@
+package com.jvyou.mybatis.executor.parameter;
+
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 15:30
+ * ---description
+ */
+class ParameterBindingPlanTest {
+
+    private final Configuration configuration = new Configuration();
+
+    @Test
+    void bindNestedPropertiesAndNulls() {
+        ParameterBindingPlan plan = new ParameterBindingPlan(configuration, Arrays.asList("id", "user.name", "user.dept.name", "remark"));
+        Map<String, Object> parameter = new HashMap<>();
+        parameter.put("id", 1);
+        parameter.put("user", new User("jvyou", new Dept("dev")));
+
+        Map<Integer, Object> bound = new TreeMap<>();
+        plan.bind(recordingStatement(bound), parameter);
+        assertEquals(Arrays.asList(1, "jvyou", "dev", null), Arrays.asList(bound.values().toArray()));
+    }
+
+    @Test
+    void bindEntityAndSimpleParameterDirectly() {
+        Map<Integer, Object> bound = new TreeMap<>();
+        new ParameterBindingPlan(configuration, Arrays.asList("name", "dept.name"))
+                .bind(recordingStatement(bound), new User("jvyou", new Dept("dev")));
+        assertEquals(Arrays.asList("jvyou", "dev"), Arrays.asList(bound.values().toArray()));
+
+        bound.clear();
+        new ParameterBindingPlan(configuration, Arrays.asList("id")).bind(recordingStatement(bound), 5L);
+        assertEquals(5L, bound.get(1));
+    }
+
+    @Test
+    void planIsCachedPerParamNames() {
+        MappedStatement ms = MappedStatement.builder().id("test").build();
+        List<String> paramNames = Arrays.asList("id", "name");
+        ParameterBindingPlan plan = ms.getParameterBindingPlan(configuration, paramNames);
+        assertSame(plan, ms.getParameterBindingPlan(configuration, paramNames));
+        assertSame(plan, ms.getParameterBindingPlan(configuration, Arrays.asList("id", "name")));
+        assertNotSame(plan, ms.getParameterBindingPlan(configuration, Arrays.asList("id")));
+    }
+
+    private static PreparedStatement recordingStatement(Map<Integer, Object> bound) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("set") && args != null && args.length == 2) {
+                        bound.put((Integer) args[0], method.getName().equals("setNull") ? null : args[1]);
+                    }
+                    return null;
+                });
+    }
+
+    public static class User {
+
+        private final String name;
+
+        private final Dept dept;
+
+        public User(String name, Dept dept) {
+            this.name = name;
+            this.dept = dept;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Dept getDept() {
+            return dept;
+        }
+    }
+
+    public static class Dept {
+
+        private final String name;
+
+        public Dept(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.jvyou.mybatis.executor.result;
+
+import com.jvyou.mybatis.executor.MockConnection;
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.mapping.SqlCommandType;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.ExecutorType;
+import com.jvyou.mybatis.session.ResultContext;
+import com.jvyou.mybatis.session.ResultHandler;
+import com.jvyou.mybatis.session.SqlSession;
+import com.jvyou.mybatis.session.defaults.DefaultSqlSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/18 10:30
+ * ---description
+ */
+class ResultHandlerTest {
+
+    private static final int ROWS = 1000;
+
+    private final Configuration configuration = new Configuration();
+
+    private final MockConnection connection;
+
+    private final SqlSession session;
+
+    ResultHandlerTest() {
+        Object[][] rows = new Object[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = new Object[]{i + 1};
+        }
+        connection = new MockConnection(new String[]{"id"}, rows);
+        configuration.addMappedStatement(MappedStatement.builder().id("test.select").sql("select id from t_user")
+                .resultType(Integer.class).sqlCommandType(SqlCommandType.SELECT).build());
+        session = new DefaultSqlSession(configuration, configuration.newSqlExecutor(connection.toTransaction(), ExecutorType.SIMPLE));
+    }
+
+    @Test
+    void everyRowIsHandedToHandlerInOrder() {
+        List<Integer> ids = new ArrayList<>();
+        ResultHandler<Integer> handler = context -> {
+            ids.add(context.getResultObject());
+            assertEquals(ids.size(), context.getResultCount());
+            assertFalse(context.isStopped());
+        };
+        session.select("test.select", null, handler);
+        assertEquals(ROWS, ids.size());
+        assertEquals(1, ids.get(0));
+        assertEquals(ROWS, ids.get(ROWS - 1));
+        assertEquals(0, connection.getStatements().get(0).getOpenResultSetCount());
+        assertTrue(connection.getStatements().get(0).isClosed());
+    }
+
+    @Test
+    void stopEndsQueryEarly() {
+        List<Integer> ids = new ArrayList<>();
+        ResultHandler<Integer> handler = context -> {
+            ids.add(context.getResultObject());
+            if (context.getResultCount() == 10) {
+                context.stop();
+            }
+        };
+        session.select("test.select", null, handler);
+        assertEquals(10, ids.size());
+        assertEquals(10, ids.get(9));
+        // 提前结束时同样关闭 ResultSet 和语句
+        assertEquals(0, connection.getStatements().get(0).getOpenResultSetCount());
+        assertTrue(connection.getStatements().get(0).isClosed());
+    }
+
+    @Test
+    void handlerResultsBypassLocalCache() {
+        ResultHandler<Integer> handler = ResultContext::stop;
+        session.select("test.select", null, handler);
+        session.select("test.select", null, handler);
+        assertEquals(2, connection.getStatements().size());
+        // 结果处理器的查询没有放进一级缓存，随后的普通查询会查询数据库并拿到全部结果
+        assertEquals(ROWS, session.selectList("test.select", null).size());
+        assertEquals(3, connection.getStatements().size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.jvyou.mybatis.executor.resultset;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 13:40
+ * ---description 基于内存数据的结果集，用于不连接数据库的结果集处理测试
+ */
+public class MockResultSet implements InvocationHandler {
+
+    private final String[] columnLabels;
+
+    private final Object[][] rows;
+
+    /**
+     * 和真实驱动一样，按列名取值时需要先把列名转换成列下标
+     */
+    private final Map<String, Integer> columnIndexMap = new HashMap<>();
+
+    private int cursor = -1;
+
+    public MockResultSet(String[] columnLabels, Object[][] rows) {
+        this.columnLabels = columnLabels;
+        this.rows = rows;
+        for (int i = 0; i < columnLabels.length; i++) {
+            columnIndexMap.put(columnLabels[i].toLowerCase(), i + 1);
+        }
+    }
+
+    public ResultSet toResultSet() {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class[]{ResultSet.class}, this);
+    }
+
+    /**
+     * 创建一个 getResultSet 返回该结果集的预编译语句
+     *
+     * @return 预编译语句
+     */
+    public PreparedStatement toPreparedStatement() {
+        ResultSet resultSet = toResultSet();
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class[]{PreparedStatement.class},
+                (proxy, method, args) -> "getResultSet".equals(method.getName()) ? resultSet : null);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "next":
+                return ++cursor < rows.length;
+            case "close":
+                return null;
+            case "isClosed":
+                return false;
+            case "getMetaData":
+                return Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(), new Class[]{ResultSetMetaData.class},
+                        (p, m, a) -> "getColumnCount".equals(m.getName()) ? columnLabels.length : columnLabels[(Integer) a[0] - 1]);
+            default:
+                int columnIndex = args[0] instanceof Integer
+                        ? (Integer) args[0]
+                        : columnIndexMap.get(((String) args[0]).toLowerCase());
+                return rows[cursor][columnIndex - 1];
+        }
+    }
+}
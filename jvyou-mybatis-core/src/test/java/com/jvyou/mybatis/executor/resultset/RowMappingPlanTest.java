@@ -0,0 +1,102 @@
+package com.jvyou.mybatis.executor.resultset;
+
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 13:45
+ * ---description 行映射计划测试，缓存映射计划的结果和逐行反射映射相同
+ */
+class RowMappingPlanTest {
+
+    private static final int COLUMNS = 50;
+
+    private static final int ROWS = 200;
+
+    private final Configuration configuration = new Configuration();
+
+    private final MappedStatement ms = MappedStatement.builder()
+            .id("test.selectWide")
+            .resultType(WideEntity.class)
+            .build();
+
+    private final String[] columnLabels = new String[COLUMNS];
+
+    private final Object[][] rows = new Object[ROWS][COLUMNS];
+
+    RowMappingPlanTest() {
+        for (int i = 0; i < COLUMNS; i++) {
+            columnLabels[i] = "c" + i;
+        }
+        for (int r = 0; r < ROWS; r++) {
+            for (int i = 0; i < COLUMNS; i++) {
+                switch (i % 4) {
+                    case 0:
+                        rows[r][i] = r + i;
+                        break;
+                    case 1:
+                        rows[r][i] = "value" + i;
+                        break;
+                    case 2:
+                        rows[r][i] = (long) r * i;
+                        break;
+                    default:
+                        rows[r][i] = r / 2.0;
+                }
+            }
+        }
+    }
+
+    @Test
+    void mapWideRows() throws Exception {
+        DefaultResultSetHandler handler = new DefaultResultSetHandler(configuration);
+        List<WideEntity> result = handler.handleResultSets(ms, new MockResultSet(columnLabels, rows).toPreparedStatement());
+        assertEquals(ROWS, result.size());
+        WideEntity last = result.get(ROWS - 1);
+        for (int i = 0; i < COLUMNS; i++) {
+            assertEquals(rows[ROWS - 1][i], last.get(i));
+        }
+    }
+
+    @Test
+    void plannedMappingMatchesReflectiveMapping() throws Exception {
+        List<Object> expected = mapReflectively();
+        for (int i = 0; i < 2; i++) {
+            List<WideEntity> actual = new DefaultResultSetHandler(configuration)
+                    .handleResultSets(ms, new MockResultSet(columnLabels, rows).toPreparedStatement());
+            assertEquals(expected, actual);
+        }
+        // 同一个返回类型和同一组结果列只解析一次
+        assertEquals(1, configuration.getRowMappingPlans().size());
+    }
+
+    /**
+     * 改造前 DefaultResultSetHandler 的映射方式：每行都获取字段、设置可访问、查找类型处理器并按列名取值
+     */
+    private List<Object> mapReflectively() throws Exception {
+        ResultSet resultSet = new MockResultSet(columnLabels, rows).toResultSet();
+        Class<?> returnType = ms.getResultType();
+        List<Object> result = new ArrayList<>();
+        Field[] fields = returnType.getDeclaredFields();
+        while (resultSet.next()) {
+            Object obj = returnType.newInstance();
+            for (Field field : fields) {
+                Object fieldValue = configuration.getParamTypeHandler(field.getType()).getResult(resultSet, field.getName());
+                field.setAccessible(true);
+                field.set(obj, fieldValue);
+            }
+            result.add(obj);
+        }
+        return result;
+    }
+}
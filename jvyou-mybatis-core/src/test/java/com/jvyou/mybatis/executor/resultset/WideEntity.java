@@ -0,0 +1,117 @@
+package com.jvyou.mybatis.executor.resultset;
+
+import lombok.Data;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 13:40
+ * ---description 50 列的宽表实体，用于行映射基准测试
+ */
+@Data
+public class WideEntity {
+
+    private Integer c0;
+
+    private String c1;
+
+    private Long c2;
+
+    private Double c3;
+
+    private Integer c4;
+
+    private String c5;
+
+    private Long c6;
+
+    private Double c7;
+
+    private Integer c8;
+
+    private String c9;
+
+    private Long c10;
+
+    private Double c11;
+
+    private Integer c12;
+
+    private String c13;
+
+    private Long c14;
+
+    private Double c15;
+
+    private Integer c16;
+
+    private String c17;
+
+    private Long c18;
+
+    private Double c19;
+
+    private Integer c20;
+
+    private String c21;
+
+    private Long c22;
+
+    private Double c23;
+
+    private Integer c24;
+
+    private String c25;
+
+    private Long c26;
+
+    private Double c27;
+
+    private Integer c28;
+
+    private String c29;
+
+    private Long c30;
+
+    private Double c31;
+
+    private Integer c32;
+
+    private String c33;
+
+    private Long c34;
+
+    private Double c35;
+
+    private Integer c36;
+
+    private String c37;
+
+    private Long c38;
+
+    private Double c39;
+
+    private Integer c40;
+
+    private String c41;
+
+    private Long c42;
+
+    private Double c43;
+
+    private Integer c44;
+
+    private String c45;
+
+    private Long c46;
+
+    private Double c47;
+
+    private Integer c48;
+
+    private String c49;
+
+    public Object get(int i) throws Exception {
+        return WideEntity.class.getDeclaredField("c" + i).get(this);
+    }
+}
@@ -0,0 +1,164 @@
+package com.jvyou.mybatis.mapping;
+
+import com.jvyou.mybatis.cache.CacheKey;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.xml.DynamicSqlSource;
+import com.jvyou.mybatis.xml.SqlShapeCache;
+import com.jvyou.mybatis.xml.tag.IfSqlNode;
+import com.jvyou.mybatis.xml.tag.MixedSqlNode;
+import com.jvyou.mybatis.xml.tag.SqlNode;
+import com.jvyou.mybatis.xml.tag.StaticTextSqlNode;
+import com.jvyou.mybatis.xml.tag.TextSqlNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 17:40
+ * ---description
+ */
+class SqlSourceTest {
+
+    @Test
+    void staticSqlIsParsedOnce() {
+        MappedStatement ms = MappedStatement.builder()
+                .id("test.select")
+                .sql("select * from t_user where id = #{id} and name = #{name}")
+                .build();
+        BoundSql first = ms.getBoundSql(null);
+        BoundSql second = ms.getBoundSql(null);
+        assertEquals("select * from t_user where id = ? and name = ?", first.getParsedSql());
+        assertEquals(Arrays.asList("id", "name"), first.getParamNames());
+        // 每次返回新的 BoundSql，但共享同一个不可变的参数名称列表
+        assertNotSame(first, second);
+        assertSame(first.getParamNames(), second.getParamNames());
+        assertThrows(UnsupportedOperationException.class, () -> first.getParamNames().add("age"));
+    }
+
+    @Test
+    void dynamicSqlDoesNotMutateMappedStatement() {
+        SqlNode root = new MixedSqlNode(Arrays.asList(
+                new StaticTextSqlNode("select * from t_user where 1 = 1"),
+                new IfSqlNode("name != null", new StaticTextSqlNode("and name = #{name}"))
+        ));
+        MappedStatement ms = MappedStatement.builder()
+                .id("test.dynamic")
+                .sql("")
+                .sqlSource(new DynamicSqlSource(root))
+                .build();
+
+        Map<String, Object> withName = new HashMap<>();
+        withName.put("name", "jvyou");
+        BoundSql filtered = ms.getBoundSql(withName);
+        BoundSql all = ms.getBoundSql(new HashMap<>());
+        assertEquals("select * from t_user where 1 = 1 and name = ? ", filtered.getParsedSql());
+        assertEquals(Collections.singletonList("name"), filtered.getParamNames());
+        assertEquals("select * from t_user where 1 = 1 ", all.getParsedSql());
+        assertEquals("", ms.getSql());
+        Configuration configuration = new Configuration();
+        assertNotEquals(ms.getCacheKey(configuration, filtered, withName), ms.getCacheKey(configuration, all, withName));
+    }
+
+    @Test
+    void cacheKeyUsesBoundParameterValues() throws Exception {
+        Configuration configuration = new Configuration();
+        MappedStatement ms = MappedStatement.builder()
+                .id("test.select")
+                .sql("select * from t_user where id = #{id} and name = #{name}")
+                .build();
+        Map<String, Object> first = new HashMap<>();
+        first.put("id", 1);
+        first.put("name", "jvyou");
+        Map<String, Object> second = new HashMap<>(first);
+        // 没有绑定到占位符的参数不影响缓存的键
+        second.put("unused", new Object());
+        CacheKey key = ms.getCacheKey(configuration, ms.getBoundSql(first), first);
+        assertEquals(key, ms.getCacheKey(configuration, ms.getBoundSql(second), second));
+        assertEquals(key.hashCode(), ms.getCacheKey(configuration, ms.getBoundSql(second), second).hashCode());
+        second.put("id", 2);
+        assertNotEquals(key, ms.getCacheKey(configuration, ms.getBoundSql(second), second));
+        configuration.setEnvironmentId("other");
+        assertNotEquals(key, ms.getCacheKey(configuration, ms.getBoundSql(first), first));
+
+        assertEquals(new CacheKey("a", new int[]{1, 2}), new CacheKey("a", new int[]{1, 2}));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(key);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(key, in.readObject());
+        }
+    }
+
+    @Test
+    void dynamicSqlIsCachedPerBranchSignature() {
+        SqlNode root = new MixedSqlNode(Arrays.asList(
+                new StaticTextSqlNode("select * from t_user where 1 = 1"),
+                new IfSqlNode("id != null", new StaticTextSqlNode("and id = #{id}")),
+                new IfSqlNode("name != null", new MixedSqlNode(Arrays.asList(
+                        new StaticTextSqlNode("and name = #{name}"),
+                        new IfSqlNode("age != null", new StaticTextSqlNode("and age = #{age}"))
+                )))
+        ));
+        DynamicSqlSource sqlSource = new DynamicSqlSource(root);
+        SqlShapeCache cache = sqlSource.getShapeCache();
+        assertNotNull(cache);
+
+        Map<String, Object> first = new HashMap<>();
+        first.put("id", 1);
+        first.put("name", "a");
+        Map<String, Object> second = new HashMap<>();
+        second.put("id", 2);
+        second.put("name", "b");
+        Map<String, Object> withAge = new HashMap<>(second);
+        withAge.put("age", 18);
+
+        BoundSql a = sqlSource.getBoundSql(first);
+        BoundSql b = sqlSource.getBoundSql(second);
+        BoundSql c = sqlSource.getBoundSql(withAge);
+        BoundSql d = sqlSource.getBoundSql(new HashMap<>());
+        assertEquals("select * from t_user where 1 = 1 and id = ? and name = ? ", a.getParsedSql());
+        assertEquals(a.getParsedSql(), b.getParsedSql());
+        assertSame(a.getParamNames(), b.getParamNames());
+        assertEquals("select * from t_user where 1 = 1 and id = ? and name = ? and age = ? ", c.getParsedSql());
+        assertEquals("select * from t_user where 1 = 1 ", d.getParsedSql());
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(0.25, cache.getHitRatio(), 0.0001);
+
+        // ${} 的值直接拼进 SQL，不能按分支签名缓存
+        assertNull(new DynamicSqlSource(new TextSqlNode("select * from ${table}")).getShapeCache());
+    }
+
+    @Test
+    void renderingNormalizesWhitespaceInOnePass() {
+        String table = "t_user \n\t u";
+        SqlNode root = new MixedSqlNode(Arrays.asList(
+                new StaticTextSqlNode("select *\n    from"),
+                new TextSqlNode("${table}  where u.id =\t#{id}"),
+                new IfSqlNode("name != null", new StaticTextSqlNode("\n  and u.name = #{ name }  "))
+        ));
+        Map<String, Object> parameter = new HashMap<>();
+        parameter.put("table", table);
+        parameter.put("name", "jvyou");
+        BoundSql boundSql = new DynamicSqlSource(root).getBoundSql(parameter);
+
+        // 和改造前先拼接再用正则合并空白、最后解析 #{} 的结果相同
+        String expected = ("select *\n    from " + table + "  where u.id =\t#{id} " + "\n  and u.name = #{ name }   ")
+                .replaceAll("\\s+", " ");
+        assertEquals(new StaticSqlSource(expected).getParsedSql(), boundSql.getParsedSql());
+        assertEquals(Arrays.asList("id", " name "), boundSql.getParamNames());
+    }
+}
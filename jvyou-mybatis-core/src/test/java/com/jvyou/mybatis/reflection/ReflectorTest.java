@@ -0,0 +1,140 @@
+package com.jvyou.mybatis.reflection;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 14:50
+ * ---description
+ */
+class ReflectorTest {
+
+    @Test
+    void accessThroughGetterAndSetter() {
+        Reflector reflector = Reflector.forClass(Account.class);
+        assertSame(reflector, Reflector.forClass(Account.class));
+
+        Account account = (Account) reflector.newInstance();
+        reflector.getSetter("name").set(account, "jvyou");
+        reflector.getSetter("age").set(account, 18);
+        reflector.getSetter("active").set(account, true);
+
+        assertEquals("jvyou", reflector.getGetter("name").get(account));
+        assertEquals(18, reflector.getGetter("age").get(account));
+        assertEquals(true, reflector.getGetter("active").get(account));
+        assertEquals("age", reflector.findPropertyName("AGE"));
+    }
+
+    @Test
+    void accessPrivateFieldsWithoutAccessors() {
+        Reflector reflector = Reflector.forClass(FieldOnly.class);
+        Object obj = reflector.newInstance();
+        reflector.getSetter("id").set(obj, 7L);
+        assertEquals(7L, reflector.getGetter("id").get(obj));
+        assertFalse(reflector.hasSetter("version"));
+    }
+
+    @Test
+    void accessClassFromChildClassLoader() throws Exception {
+        Class<?> type = new ChildFirstClassLoader(Account.class.getName()).loadClass(Account.class.getName());
+        assertNotSame(Account.class, type);
+
+        Reflector reflector = Reflector.forClass(type);
+        Object account = reflector.newInstance();
+        assertSame(type, account.getClass());
+        reflector.getSetter("name").set(account, "jvyou");
+        reflector.getSetter("age").set(account, 18);
+        assertEquals("jvyou", reflector.getGetter("name").get(account));
+        assertEquals(18, reflector.getGetter("age").get(account));
+    }
+
+    @Test
+    void jdkClassesWithInaccessibleFields() {
+        // 高版本 JDK 中 java.lang、java.util 的私有字段不能设置可访问，这些属性没有访问器，但不影响解析
+        Reflector integer = assertDoesNotThrow(() -> Reflector.forClass(Integer.class));
+        assertTrue(integer.getPropertyNames().contains("value"));
+        assertEquals(int.class, integer.getPropertyType("value"));
+        Reflector list = assertDoesNotThrow(() -> Reflector.forClass(ArrayList.class));
+        assertTrue(list.newInstance() instanceof ArrayList);
+    }
+
+    /**
+     * 自己定义指定的类，其他类交给父加载器，模拟由插件或者容器的类加载器加载的实体类
+     */
+    private static class ChildFirstClassLoader extends ClassLoader {
+
+        private final String className;
+
+        ChildFirstClassLoader(String className) {
+            super(ReflectorTest.class.getClassLoader());
+            this.className = className;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(className)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[4096];
+                    for (int n; (n = in.read(buffer)) != -1; ) {
+                        out.write(buffer, 0, n);
+                    }
+                    byte[] bytes = out.toByteArray();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+
+    public static class Account {
+        private String name;
+        private int age;
+        private boolean active;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+    }
+
+    private static class FieldOnly {
+        private Long id;
+        private final int version = 1;
+    }
+}
@@ -0,0 +1,120 @@
+package com.jvyou.mybatis.xml;
+
+import com.jvyou.mybatis.mapping.BoundSql;
+import com.jvyou.mybatis.xml.expression.Expression;
+import com.jvyou.mybatis.xml.expression.ExpressionParser;
+import com.jvyou.mybatis.xml.tag.IfSqlNode;
+import com.jvyou.mybatis.xml.tag.MixedSqlNode;
+import com.jvyou.mybatis.xml.tag.SqlNode;
+import com.jvyou.mybatis.xml.tag.StaticTextSqlNode;
+import com.jvyou.mybatis.xml.tag.WhereSqlNode;
+import ognl.Ognl;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 18:30
+ * ---description 动态 SQL 渲染测试，内置表达式与 OGNL 的结果一致，预先解析表达式、按分支签名缓存和每次用 OGNL 解析 test 字符串渲染出相同的 SQL
+ */
+class DynamicSqlRenderTest {
+
+    @Test
+    void simpleExpressionsMatchOgnl() throws Exception {
+        Map<String, Object> bindings = new HashMap<>();
+        bindings.put("id", 3);
+        bindings.put("age", 18L);
+        bindings.put("score", 2.5);
+        bindings.put("name", "jvyou");
+        bindings.put("empty", "");
+        bindings.put("flag", true);
+        bindings.put("text", "abc");
+        bindings.put("user", bindings);
+        String[] expressions = {
+                "id != null", "id == null", "missing == null", "id>=1", "id > 3 || age >= 18", "id == 3 && name != null",
+                "name == 'jvyou'", "name != \"other\"", "!(id < 2)", "!flag", "score > 2", "score == 2.5",
+                "empty != ''", "user.name == 'jvyou'", "(id == 1 || id == 3) && age < 20", "id == '3'", "name.length() > 3",
+                "name", "id != null && name", "missing || id", "id < 10",
+                "!flag == false", "!flag == true", "!flag != flag", "!missing == true", "!(id == 3) == false",
+                "!!flag == true", "!name == null", "!missing == null", "!id != null", "id == 3 && !flag == false", "text.empty", "text.empty == false", "!text.empty"
+        };
+        for (String text : expressions) {
+            Expression expression = ExpressionParser.parse(text);
+            Object expected = Ognl.getValue(text, bindings);
+            assertEquals(expected, expression.getValue(bindings), text);
+            assertEquals(Expression.toBoolean(expected), expression.evaluateBoolean(bindings), text);
+        }
+    }
+
+    @Test
+    void parsedAndCachedRenderingMatchesOgnl() {
+        DynamicSqlSource ognl = new DynamicSqlSource(findOne(OgnlIfSqlNode::new));
+        SqlNode parsedRoot = findOne(IfSqlNode::new);
+        // 包装成默认不可缓存的节点，每次都完整渲染
+        DynamicSqlSource parsed = new DynamicSqlSource(context -> parsedRoot.apply(context));
+        DynamicSqlSource cached = new DynamicSqlSource(parsedRoot);
+        Object[][] cases = {{null, null}, {2, null}, {null, "jvyou"}, {2, "jvyou"}, {0, "jvyou"}, {2, "jvyou"}};
+        for (Object[] values : cases) {
+            Map<String, Object> parameter = new HashMap<>();
+            parameter.put("id", values[0]);
+            parameter.put("name", values[1]);
+            BoundSql expected = ognl.getBoundSql(parameter);
+            for (DynamicSqlSource sqlSource : Arrays.asList(parsed, cached)) {
+                BoundSql boundSql = sqlSource.getBoundSql(parameter);
+                assertEquals(expected.getParsedSql(), boundSql.getParsedSql(), Arrays.toString(values));
+                assertEquals(expected.getParamNames(), boundSql.getParamNames(), Arrays.toString(values));
+            }
+        }
+        // 最后一组参数和第四组的分支签名相同
+        assertTrue(cached.getShapeCache().getHitRatio() > 0);
+    }
+
+    /**
+     * 和示例 UserMapper.xml 中 findOne 相同的节点结构
+     */
+    private static SqlNode findOne(BiFunction<String, SqlNode, SqlNode> ifNode) {
+        return new MixedSqlNode(Arrays.asList(
+                new StaticTextSqlNode("select * from t_user"),
+                new WhereSqlNode(new MixedSqlNode(Arrays.asList(
+                        ifNode.apply("id != null", new MixedSqlNode(Arrays.asList(
+                                new StaticTextSqlNode("and id = #{id}"),
+                                ifNode.apply("id>=1", new StaticTextSqlNode("and id > 1"))
+                        ))),
+                        ifNode.apply("name != null", new StaticTextSqlNode("and name = #{name}"))
+                )))
+        ));
+    }
+
+    /**
+     * 改造前的 if 节点：每次渲染都把 test 字符串交给 OGNL 解析
+     */
+    private static class OgnlIfSqlNode implements SqlNode {
+
+        private final String test;
+
+        private final SqlNode sqlNode;
+
+        OgnlIfSqlNode(String test, SqlNode sqlNode) {
+            this.test = test;
+            this.sqlNode = sqlNode;
+        }
+
+        @Override
+        public void apply(DynamicContext context) {
+            try {
+                if ((Boolean) Ognl.getValue(test, context.getBindings())) {
+                    sqlNode.apply(context);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
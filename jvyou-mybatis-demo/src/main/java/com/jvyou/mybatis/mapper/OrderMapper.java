@@ -1,5 +1,6 @@
 package com.jvyou.mybatis.mapper;
 
+import com.jvyou.mybatis.annotations.Mapper;
 import com.jvyou.mybatis.annotations.Param;
 import com.jvyou.mybatis.entity.Order;
 
@@ -11,6 +12,7 @@ import java.util.List;
  * @since 2024/7/3 11:23
  * ---description
  */
+@Mapper
 public interface OrderMapper {
 
     List<Order> getList();
@@ -0,0 +1,392 @@
+package com.jvyou.mybatis.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 16:40
+ * ---description Mapper 接口实现类生成器
+ * 为方法上带有 Select、Insert、Update、Delete 注解或接口上带有 Mapper 注解的接口生成 接口名_Impl 实现类，
+ * 实现类继承 GeneratedMapper，每个方法按下标调用绑定好语句 id 的 MapperMethod，运行时不再需要动态代理。
+ * 注解处理器只通过全限定类名识别注解，不依赖核心模块
+ */
+public class MapperProcessor extends AbstractProcessor {
+
+    private static final String MAPPER = "com.jvyou.mybatis.annotations.Mapper";
+
+    private static final String PARAM = "com.jvyou.mybatis.annotations.Param";
+
+    private static final String CHUNKED = "com.jvyou.mybatis.annotations.Chunked";
+
+    private static final String RESULT_HANDLER = "com.jvyou.mybatis.session.ResultHandler";
+
+    private static final Set<String> STATEMENT_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            "com.jvyou.mybatis.annotations.Select",
+            "com.jvyou.mybatis.annotations.Insert",
+            "com.jvyou.mybatis.annotations.Update",
+            "com.jvyou.mybatis.annotations.Delete"
+    ));
+
+    private static final String GENERATED_MAPPER = "com.jvyou.mybatis.binding.GeneratedMapper";
+
+    private static final String GENERATED_MAPPER_FACTORY = "com.jvyou.mybatis.binding.GeneratedMapperFactory";
+
+    private static final String MAPPER_METHOD = "com.jvyou.mybatis.binding.MapperMethod";
+
+    private static final String SQL_SESSION = "com.jvyou.mybatis.session.SqlSession";
+
+    private static final String CONFIGURATION = "com.jvyou.mybatis.session.Configuration";
+
+    private Elements elements;
+
+    private Types types;
+
+    private Filer filer;
+
+    private Messager messager;
+
+    /**
+     * 已经生成过的接口，避免多轮处理时重复生成
+     */
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> annotationTypes = new HashSet<>(STATEMENT_ANNOTATIONS);
+        annotationTypes.add(MAPPER);
+        return annotationTypes;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> mappers = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                Element type = element.getKind() == ElementKind.METHOD ? element.getEnclosingElement() : element;
+                if (type.getKind() == ElementKind.INTERFACE) {
+                    mappers.add((TypeElement) type);
+                }
+            }
+        }
+        for (TypeElement mapper : mappers) {
+            String name = mapper.getQualifiedName().toString();
+            if (generated.add(name) && isGeneratable(mapper)) {
+                generate(mapper);
+            }
+        }
+        // 不独占注解，其他处理器仍然可以处理
+        return false;
+    }
+
+    /**
+     * 泛型接口和私有的嵌套接口不生成实现类，运行时使用动态代理
+     */
+    private boolean isGeneratable(TypeElement mapper) {
+        if (!mapper.getTypeParameters().isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "Generic mapper " + mapper + " is proxied at runtime", mapper);
+            return false;
+        }
+        for (Element e = mapper; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                messager.printMessage(Diagnostic.Kind.NOTE, "Private mapper " + mapper + " is proxied at runtime", mapper);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement mapper) {
+        String packageName = elements.getPackageOf(mapper).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(mapper).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + "_Impl";
+        String interfaceName = mapper.getQualifiedName().toString();
+
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(mapper))) {
+            if (method.getModifiers().contains(Modifier.ABSTRACT) && method.getEnclosingElement().getKind() == ElementKind.INTERFACE) {
+                methods.add(method);
+            }
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * 由 ").append(getClass().getName()).append(" 根据 ").append(interfaceName).append(" 生成，请勿修改\n")
+                .append(" */\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(simpleName).append(" extends ").append(GENERATED_MAPPER)
+                .append(" implements ").append(interfaceName).append(" {\n\n");
+
+        source.append("    public ").append(simpleName).append("(").append(SQL_SESSION).append(" sqlSession, ")
+                .append(MAPPER_METHOD).append("[] methods) {\n")
+                .append("        super(sqlSession, methods);\n")
+                .append("    }\n");
+
+        StringBuilder createMethod = new StringBuilder();
+        for (int index = 0; index < methods.size(); index++) {
+            ExecutableElement method = methods.get(index);
+            ExecutableType methodType = (ExecutableType) types.asMemberOf((DeclaredType) mapper.asType(), method);
+            appendMethod(source, index, method, methodType);
+            appendMethodCase(createMethod, index, mapper, method, methodType);
+        }
+
+        source.append("\n    @Override\n")
+                .append("    protected ").append(MAPPER_METHOD).append(" createMethod(int index) {\n")
+                .append("        ").append(CONFIGURATION).append(" configuration = sqlSession.getConfiguration();\n")
+                .append("        switch (index) {\n")
+                .append(createMethod)
+                .append("            default:\n")
+                .append("                throw new IndexOutOfBoundsException(String.valueOf(index));\n")
+                .append("        }\n")
+                .append("    }\n");
+
+        source.append("\n    public static final class Factory implements ").append(GENERATED_MAPPER_FACTORY)
+                .append("<").append(interfaceName).append("> {\n\n")
+                .append("        @Override\n")
+                .append("        public int getMethodCount() {\n")
+                .append("            return ").append(methods.size()).append(";\n")
+                .append("        }\n\n")
+                .append("        @Override\n")
+                .append("        public ").append(interfaceName).append(" newInstance(").append(SQL_SESSION).append(" sqlSession, ")
+                .append(MAPPER_METHOD).append("[] methods) {\n")
+                .append("            return new ").append(simpleName).append("(sqlSession, methods);\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (Writer writer = filer.createSourceFile(qualifiedName, mapper).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate " + qualifiedName + ": " + e, mapper);
+        }
+    }
+
+    /**
+     * 生成接口方法的实现：把参数放进数组，按下标调用 MapperMethod
+     */
+    private void appendMethod(StringBuilder source, int index, ExecutableElement method, ExecutableType methodType) {
+        TypeMirror returnType = methodType.getReturnType();
+        List<? extends VariableElement> parameters = method.getParameters();
+        List<? extends TypeMirror> parameterTypes = methodType.getParameterTypes();
+
+        source.append("\n    @Override\n    public ");
+        appendTypeParameters(source, method.getTypeParameters());
+        source.append(returnType).append(" ").append(method.getSimpleName()).append("(");
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                source.append(", ");
+            }
+            source.append(parameterTypes.get(i)).append(" ").append(parameters.get(i).getSimpleName());
+        }
+        source.append(")");
+        List<? extends TypeMirror> thrownTypes = methodType.getThrownTypes();
+        for (int i = 0; i < thrownTypes.size(); i++) {
+            source.append(i == 0 ? " throws " : ", ").append(thrownTypes.get(i));
+        }
+        source.append(" {\n        ");
+
+        StringBuilder call = new StringBuilder("execute(").append(index).append(", new Object[]{");
+        for (int i = 0; i < parameters.size(); i++) {
+            call.append(i > 0 ? ", " : "").append(parameters.get(i).getSimpleName());
+        }
+        call.append("})");
+
+        if (returnType.getKind() == TypeKind.VOID) {
+            source.append(call).append(";\n");
+        } else if (returnType.getKind().isPrimitive()) {
+            // 基本类型先转换为包装类型再自动拆箱
+            source.append("return (").append(types.boxedClass(types.getPrimitiveType(returnType.getKind())).getQualifiedName())
+                    .append(") ").append(call).append(";\n");
+        } else {
+            source.append("return (").append(returnType).append(") ").append(call).append(";\n");
+        }
+        source.append("    }\n");
+    }
+
+    /**
+     * 生成 createMethod 中的一个分支。所有参数都有 Param 注解时，语句 id、参数名称、结果处理器下标和返回值类型都在编译期确定；
+     * 有参数没有 Param 注解时，参数名称取决于编译时是否使用了 -parameters，注解处理器无法得知，
+     * 这时和动态代理一样通过反射读取接口方法创建 MapperMethod，两种方式解析出的参数名称相同
+     */
+    private void appendMethodCase(StringBuilder source, int index, TypeElement mapper, ExecutableElement method, ExecutableType methodType) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        List<? extends TypeMirror> parameterTypes = methodType.getParameterTypes();
+        TypeElement resultHandler = elements.getTypeElement(RESULT_HANDLER);
+        String interfaceName = mapper.getQualifiedName().toString();
+
+        source.append("            case ").append(index).append(":\n");
+        StringBuilder paramNames = new StringBuilder("new String[]{");
+        int resultHandlerIndex = -1;
+        for (int i = 0; i < parameters.size(); i++) {
+            paramNames.append(i > 0 ? ", " : "");
+            String paramName = getParamName(parameters.get(i));
+            if (resultHandler != null && types.isAssignable(types.erasure(parameterTypes.get(i)), types.erasure(resultHandler.asType()))) {
+                resultHandlerIndex = i;
+                paramNames.append("null");
+            } else if (paramName != null) {
+                paramNames.append(literal(paramName));
+            } else {
+                appendReflectiveCase(source, interfaceName, method);
+                return;
+            }
+        }
+        paramNames.append("}");
+
+        // 语句 id 和运行时一样使用 Class#getName，嵌套接口为 Outer$Inner
+        source.append("                return new ").append(MAPPER_METHOD).append("(configuration, ")
+                .append(literal(elements.getBinaryName(mapper) + "." + method.getSimpleName())).append(", ")
+                .append(paramNames).append(", ")
+                .append(resultHandlerIndex).append(", ")
+                .append(types.erasure(methodType.getReturnType())).append(".class");
+        AnnotationMirror chunked = findAnnotation(method, CHUNKED);
+        if (chunked != null) {
+            appendChunkArguments(source, chunked, parameters, parameterTypes);
+        }
+        source.append(");\n");
+    }
+
+    /**
+     * 生成通过反射读取接口方法创建 MapperMethod 的分支，参数类型使用方法声明擦除后的类型，和 Class#getMethod 一致
+     */
+    private void appendReflectiveCase(StringBuilder source, String interfaceName, ExecutableElement method) {
+        source.append("                return new ").append(MAPPER_METHOD).append("(configuration, ")
+                .append(interfaceName).append(".class, getMethod(").append(interfaceName).append(".class, ")
+                .append(literal(method.getSimpleName().toString()));
+        for (VariableElement parameter : method.getParameters()) {
+            source.append(", ").append(types.erasure(parameter.asType())).append(".class");
+        }
+        source.append("));\n");
+    }
+
+    /**
+     * Chunked 注解的每批大小和要拆分的参数下标，参数下标的规则和 MapperMethod 反射解析时相同
+     */
+    private void appendChunkArguments(StringBuilder source, AnnotationMirror chunked,
+                                      List<? extends VariableElement> parameters, List<? extends TypeMirror> parameterTypes) {
+        int size = 0;
+        String param = "";
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(chunked).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("size")) {
+                size = (Integer) entry.getValue().getValue();
+            } else if (entry.getKey().getSimpleName().contentEquals("param")) {
+                param = String.valueOf(entry.getValue().getValue());
+            }
+        }
+        TypeElement collectionType = elements.getTypeElement("java.util.Collection");
+        int chunkIndex = -1;
+        for (int i = 0; i < parameters.size() && chunkIndex < 0; i++) {
+            TypeMirror type = parameterTypes.get(i);
+            boolean collection = type.getKind() == TypeKind.ARRAY
+                    || types.isAssignable(types.erasure(type), types.erasure(collectionType.asType()));
+            if (collection && (param.isEmpty() || param.equals(getParamName(parameters.get(i))))) {
+                chunkIndex = i;
+            }
+        }
+        source.append(", ").append(size).append(", ").append(chunkIndex);
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 参数名称：Param 注解的值，没有注解时返回 null
+     */
+    private String getParamName(VariableElement parameter) {
+        for (AnnotationMirror annotation : parameter.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(PARAM)) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                    if (entry.getKey().getSimpleName().contentEquals("value")) {
+                        return String.valueOf(entry.getValue().getValue());
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private void appendTypeParameters(StringBuilder source, List<? extends TypeParameterElement> typeParameters) {
+        if (typeParameters.isEmpty()) {
+            return;
+        }
+        source.append("<");
+        for (int i = 0; i < typeParameters.size(); i++) {
+            TypeParameterElement typeParameter = typeParameters.get(i);
+            source.append(i > 0 ? ", " : "").append(typeParameter.getSimpleName());
+            List<? extends TypeMirror> bounds = typeParameter.getBounds();
+            for (int j = 0; j < bounds.size(); j++) {
+                if (j == 0 && bounds.size() == 1 && bounds.get(0).toString().equals(Object.class.getName())) {
+                    break;
+                }
+                source.append(j == 0 ? " extends " : " & ").append(bounds.get(j));
+            }
+        }
+        source.append("> ");
+    }
+
+    private static String literal(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\');
+            }
+            builder.append(c);
+        }
+        return builder.append('"').toString();
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.jvyou.mybatis.processor;
+
+import com.jvyou.mybatis.binding.GeneratedMapper;
+import com.jvyou.mybatis.binding.MapperProxyFactory;
+import com.jvyou.mybatis.mapping.MappedStatement;
+import com.jvyou.mybatis.mapping.SqlCommandType;
+import com.jvyou.mybatis.session.Configuration;
+import com.jvyou.mybatis.session.ResultHandler;
+import com.jvyou.mybatis.session.SqlSession;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author 橘柚
+ * @version 1.0-SNAPSHOT
+ * @since 2026/10/17 17:00
+ * ---description
+ */
+class MapperProcessorTest {
+
+    private static final String MAPPER_SOURCE = "package demo;\n"
+            + "import com.jvyou.mybatis.annotations.*;\n"
+            + "import com.jvyou.mybatis.session.ResultHandler;\n"
+            + "import java.util.List;\n"
+            + "public interface DemoMapper {\n"
+            + "    @Select(\"select name from t_user where id = #{id}\")\n"
+            + "    String getName(@Param(\"id\") Integer id);\n"
+            + "    @Select(\"select name from t_user\")\n"
+            + "    List<String> getNames();\n"
+            + "    @Select(\"select name from t_user\")\n"
+            + "    void scanNames(ResultHandler<String> handler);\n"
+            + "    @Delete(\"delete from t_user where id = #{id}\")\n"
+            + "    boolean delete(@Param(\"id\") int id);\n"
+            + "    @Chunked(size = 2)\n"
+            + "    @Delete(\"delete from t_user where id in (${ids})\")\n"
+            + "    int deleteAll(@Param(\"ids\") List<Integer> ids);\n"
+            + "    @Select(\"select name from t_user where name = #{arg0}\")\n"
+            + "    String findByName(String name);\n"
+            + "    interface Nested {\n"
+            + "        @Select(\"select name from t_user where id = #{id}\")\n"
+            + "        String getName(@Param(\"id\") Integer id);\n"
+            + "    }\n"
+            + "}\n";
+
+    @Test
+    void generatedMapperReplacesProxy() throws Exception {
+        Path output = Files.createTempDirectory("mapper-processor");
+        compile(output);
+        assertTrue(Files.exists(output.resolve("demo/DemoMapper_Impl.class")));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> mapperClass = loader.loadClass("demo.DemoMapper");
+            Configuration configuration = new Configuration();
+            addStatement(configuration, mapperClass, "getName", SqlCommandType.SELECT, false);
+            addStatement(configuration, mapperClass, "getNames", SqlCommandType.SELECT, true);
+            addStatement(configuration, mapperClass, "scanNames", SqlCommandType.SELECT, false);
+            addStatement(configuration, mapperClass, "delete", SqlCommandType.DELETE, false);
+            addStatement(configuration, mapperClass, "deleteAll", SqlCommandType.DELETE, false);
+            addStatement(configuration, mapperClass, "findByName", SqlCommandType.SELECT, false);
+            Class<?> nestedClass = loader.loadClass("demo.DemoMapper$Nested");
+            addStatement(configuration, nestedClass, "getName", SqlCommandType.SELECT, false);
+            configuration.getMappedStatement(mapperClass.getName() + ".delete").setResultType(boolean.class);
+
+            Map<String, Object> calls = new HashMap<>();
+            SqlSession sqlSession = (SqlSession) Proxy.newProxyInstance(SqlSession.class.getClassLoader(), new Class[]{SqlSession.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("getConfiguration")) {
+                            return configuration;
+                        }
+                        if (method.getName().equals("reuseStatements")) {
+                            return ((Supplier<?>) args[0]).get();
+                        }
+                        calls.put(method.getName(), args[1]);
+                        switch (method.getName()) {
+                            case "selectOne":
+                                return "jvyou";
+                            case "selectList":
+                                return Arrays.asList("a", "b");
+                            case "delete":
+                                return 1;
+                            default:
+                                return null;
+                        }
+                    });
+
+            Object mapper = configuration.getMapper(mapperClass, sqlSession);
+            assertTrue(mapper instanceof GeneratedMapper);
+            assertEquals(MapperProxyFactory.getGeneratedClassName(mapperClass), mapper.getClass().getName());
+
+            assertEquals("jvyou", invoke(mapper, "getName", new Class[]{Integer.class}, 1));
+            assertEquals(Collections.singletonMap("id", 1), calls.get("selectOne"));
+            assertEquals(Arrays.asList("a", "b"), invoke(mapper, "getNames", new Class[0]));
+            assertEquals(true, invoke(mapper, "delete", new Class[]{int.class}, 3));
+            assertEquals(Collections.singletonMap("id", 3), calls.get("delete"));
+            // 分批执行，影响行数累加
+            assertEquals(3, invoke(mapper, "deleteAll", new Class[]{List.class}, Arrays.asList(1, 2, 3, 4, 5)));
+            assertEquals(Collections.singletonMap("ids", Collections.singletonList(5)), calls.get("delete"));
+            invoke(mapper, "scanNames", new Class[]{ResultHandler.class}, (Object) null);
+            assertEquals(Collections.emptyMap(), calls.get("select"));
+
+            // 没有 Param 注解的参数和动态代理一样在运行时解析名称，没有 -parameters 时为 arg0
+            assertEquals("jvyou", invoke(mapper, "findByName", new Class[]{String.class}, "a"));
+            assertEquals(Collections.singletonMap("arg0", "a"), calls.get("selectOne"));
+
+            // 嵌套接口的语句 id 使用 Class#getName
+            Object nested = configuration.getMapper(nestedClass, sqlSession);
+            assertTrue(nested instanceof GeneratedMapper);
+            assertEquals("jvyou", invoke(nested, "getName", new Class[]{Integer.class}, 2));
+            assertEquals(Collections.singletonMap("id", 2), calls.get("selectOne"));
+
+            // 关闭生成的实现类后使用动态代理
+            assertFalse(new MapperProxyFactory<>(mapperClass, false).isGenerated());
+        }
+    }
+
+    private static Object invoke(Object mapper, String name, Class<?>[] parameterTypes, Object... args) throws Exception {
+        Method method = mapper.getClass().getMethod(name, parameterTypes);
+        return method.invoke(mapper, args);
+    }
+
+    private static void addStatement(Configuration configuration, Class<?> mapperClass, String method, SqlCommandType type, boolean many) {
+        configuration.addMappedStatement(MappedStatement.builder()
+                .id(mapperClass.getName() + "." + method)
+                .resultType(String.class)
+                .isSelectMany(many)
+                .sqlCommandType(type)
+                .build());
+    }
+
+    private static void compile(Path output) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            // 核心模块的类所在的目录或 jar
+            String coreClasses = new File(Configuration.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+            JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///demo/DemoMapper.java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return MAPPER_SOURCE;
+                }
+            };
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    Arrays.asList("-classpath", coreClasses, "-d", output.toString()),
+                    null, Collections.singletonList(source));
+            task.setProcessors(Collections.singletonList(new MapperProcessor()));
+            assertTrue(task.call());
+        }
+    }
+}